@@ -0,0 +1,40 @@
+package suitebot.benchmark;
+
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import suitebot.game.GameState;
+import suitebot.game.GameStateFactory;
+import suitebot.game.GameStateGenerator;
+import suitebot.json.JsonUtil;
+
+/**
+ * Square board of the given size with the given share of obstacles and four bots,
+ * in all the forms the benchmarks start from.
+ */
+@State(Scope.Benchmark)
+public class BoardState
+{
+	public static final int BOT_COUNT = 4;
+	public static final int BOT_ID = 1;
+	public static final long SEED = 20_240_601L;
+
+	@Param({"20", "100", "300", "1000"})
+	public int size;
+
+	@Param({"0.0", "0.2", "0.5"})
+	public double fillRatio;
+
+	public GameState gameState;
+	public String planAsString;
+	public String moveRequest;
+
+	@Setup
+	public void setUp()
+	{
+		gameState = GameStateGenerator.generate(size, size, BOT_COUNT, fillRatio, SEED);
+		planAsString = String.join("\n", GameStateFactory.toPlanRows(gameState));
+		moveRequest = JsonUtil.serializeMoveRequest(BOT_ID, gameState);
+	}
+}
@@ -0,0 +1,37 @@
+package suitebot.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import suitebot.game.GameState;
+import suitebot.game.GameStateFactory;
+import suitebot.json.JsonUtil;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of decoding a move request and of building a game state from its plan.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ParsingBenchmark
+{
+	@Benchmark
+	public GameState jsonDeserializeGameState(BoardState board)
+	{
+		return JsonUtil.deserializeGameState(board.moveRequest);
+	}
+
+	@Benchmark
+	public int jsonDeserializeYourBotId(BoardState board)
+	{
+		return JsonUtil.deserializeYourBotId(board.moveRequest);
+	}
+
+	@Benchmark
+	public GameState gameStateFactoryCreateFromString(BoardState board)
+	{
+		return GameStateFactory.createFromString(board.planAsString);
+	}
+}
@@ -0,0 +1,72 @@
+package suitebot.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import suitebot.game.Direction;
+import suitebot.game.Point;
+import suitebot.game.StateTransition;
+import suitebot.strategies.BoardGraph;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rollouts per millisecond on one core: one walk at a time on the junction graph against
+ * {@link BoardGraph.RolloutBatch#LANES} walks in lockstep cell by cell. The walks are truncated after
+ * {@link #ROLLOUT_PREFIX} steps and the rest is estimated, as the bot plays them.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Dsuitebot.log.level=WARN")
+@OperationsPerInvocation(BoardGraph.RolloutBatch.LANES)
+public class RolloutBenchmark
+{
+	public static final int ROLLOUT_DEPTH = 30;
+	public static final int ROLLOUT_PREFIX = 16;
+
+	@State(Scope.Thread)
+	public static class Rollouts
+	{
+		public BoardGraph.Walker walker;
+		public BoardGraph.RolloutBatch batch;
+		public int start;
+		public final Random random = new Random(BoardState.SEED);
+		public final int[] scores = new int[BoardGraph.RolloutBatch.LANES];
+
+		@Setup
+		public void setUp(BoardState board)
+		{
+			BoardGraph graph = BoardGraph.of(board.gameState);
+			walker = graph.newWalker();
+			batch = graph.newRolloutBatch();
+
+			Point head = board.gameState.getBotLocation(BoardState.BOT_ID);
+			start = graph.cellOf(head);
+			for (Direction direction : Direction.values())
+			{
+				int cell = graph.cellOf(StateTransition.wrap(direction.from(head), board.size, board.size));
+				if (graph.isFree(cell))
+				{
+					start = cell;
+					break;
+				}
+			}
+		}
+	}
+
+	@Benchmark
+	public void scalarRollouts(Rollouts rollouts, Blackhole blackhole)
+	{
+		for (int i = 0; i < BoardGraph.RolloutBatch.LANES; i++)
+			blackhole.consume(rollouts.walker.rollout(rollouts.start, ROLLOUT_DEPTH, ROLLOUT_PREFIX, rollouts.random));
+	}
+
+	@Benchmark
+	public int[] batchedRollouts(Rollouts rollouts)
+	{
+		rollouts.batch.rollout(rollouts.start, ROLLOUT_DEPTH, ROLLOUT_PREFIX, BoardGraph.RolloutBatch.LANES, rollouts.random, rollouts.scores);
+		return rollouts.scores;
+	}
+}
@@ -0,0 +1,52 @@
+package suitebot.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import suitebot.ai.Call;
+import suitebot.game.Direction;
+import suitebot.strategies.AStarHeuristic;
+import suitebot.strategies.FloodFillHeuristic;
+import suitebot.strategies.MonteCarloTreeSearch;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of one evaluation of each strategy and of a whole {@link Call#getDirection} decision.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Dsuitebot.log.level=WARN")
+public class StrategyBenchmark
+{
+	public static final int MCTS_DEPTH = 30;
+	public static final int MCTS_ITERATIONS = 100;
+	public static final int HEURISTIC_DEPTH = 50;
+
+	@Benchmark
+	public Map<Direction, Integer> monteCarloTreeSearch(BoardState board)
+	{
+		return MonteCarloTreeSearch.evaluateMoves(BoardState.BOT_ID, board.gameState, MCTS_DEPTH, MCTS_ITERATIONS);
+	}
+
+	@Benchmark
+	public Map<Direction, Integer> floodFillHeuristic(BoardState board)
+	{
+		return FloodFillHeuristic.evaluateMoves(BoardState.BOT_ID, board.gameState, HEURISTIC_DEPTH);
+	}
+
+	@Benchmark
+	public Map<Direction, Integer> aStarHeuristic(BoardState board)
+	{
+		return AStarHeuristic.evaluateMoves(BoardState.BOT_ID, board.gameState, HEURISTIC_DEPTH);
+	}
+
+	@Benchmark
+	@Warmup(iterations = 1, time = 5)
+	@Measurement(iterations = 3, time = 5)
+	public Direction callGetDirection(BoardState board)
+	{
+		return Call.getDirection(BoardState.BOT_ID, board.gameState);
+	}
+}
@@ -1,33 +1,71 @@
 package suitebot;
 
+import com.google.gson.JsonObject;
 import suitebot.ai.BotAi;
+import suitebot.ai.Ponderer;
 import suitebot.game.Direction;
 import suitebot.game.GameState;
 import suitebot.game.Move;
+import suitebot.jfr.MoveRequestEvent;
 import suitebot.json.JsonUtil;
+import suitebot.json.RequestFingerprint;
+import suitebot.log.Level;
+import suitebot.log.Log;
+import suitebot.record.DecisionRecorder;
 import suitebot.server.SimpleRequestHandler;
+import suitebot.session.GameSession;
+import suitebot.session.SessionRegistry;
+import suitebot.stats.SearchStats;
 
 public class BotRequestHandler implements SimpleRequestHandler
 {
 	public static final String NAME_REQUEST = "NAME";
+	public static final String LOG_LEVEL_REQUEST = "LOGLEVEL";
+	public static final String STATS_REQUEST = "STATS";
 
 	private final BotAi botAi;
+	private final SessionRegistry sessionRegistry;
+	private final Ponderer ponderer;
+	private final DecisionCache decisionCache;
+	private final DecisionRecorder recorder;
+
+	private final ThreadLocal<Runnable> pendingPonder = new ThreadLocal<>();
 
 	public BotRequestHandler(BotAi botAi)
 	{
-		this.botAi = botAi;
+		this(builder(botAi));
+	}
+
+	private BotRequestHandler(Builder builder)
+	{
+		this.botAi = builder.botAi;
+		this.sessionRegistry = builder.sessionRegistry;
+		this.ponderer = builder.ponderer;
+		this.decisionCache = builder.decisionCache;
+		this.recorder = builder.recorder;
+	}
+
+	/**
+	 * Returns a builder of a handler with a default session registry and decision cache, without pondering
+	 * and without recording.
+	 */
+	public static Builder builder(BotAi botAi)
+	{
+		return new Builder(botAi);
 	}
 
 	@Override
 	public String processRequest(String request)
 	{
+		pendingPonder.remove();
+
 		try
 		{
 			return processRequestInternal(request);
 		}
 		catch (Exception e)
 		{
-			e.printStackTrace();
+			Log.error("request.failed").error(e).log();
 			return e.toString();
 		}
 	}
@@ -37,27 +75,172 @@ public class BotRequestHandler implements SimpleRequestHandler
 		if (NAME_REQUEST.equals(request))
 			return botAi.getName();
 
+		if (request.startsWith(LOG_LEVEL_REQUEST))
+			return processLogLevelRequest(request);
+
+		if (request.startsWith(STATS_REQUEST))
+			return processStatsRequest(request);
+
 		return processMoveRequest(request);
 	}
 
+	/**
+	 * {@code LOGLEVEL} returns the current log level, {@code LOGLEVEL <level>} changes it.
+	 */
+	private String processLogLevelRequest(String request)
+	{
+		String level = request.substring(LOG_LEVEL_REQUEST.length()).trim();
+		if (!level.isEmpty())
+			Log.setLevel(Level.valueOf(level.toUpperCase()));
+
+		return Log.getLevel().name();
+	}
+
+	/**
+	 * {@code STATS} returns the search counters totalled over all moves so far, {@code STATS RESET} also resets them.
+	 */
+	private String processStatsRequest(String request)
+	{
+		String stats = SearchStats.totals().toString();
+		if (decisionCache != null)
+			stats += " decisionCacheHits=" + decisionCache.getHits() + " decisionCacheMisses=" + decisionCache.getMisses();
+
+		if ("RESET".equalsIgnoreCase(request.substring(STATS_REQUEST.length()).trim()))
+			SearchStats.resetTotals();
+
+		return stats;
+	}
+
 	private String processMoveRequest(String request)
 	{
-		int botId = JsonUtil.deserializeYourBotId(request);
-		GameState gameState = JsonUtil.deserializeGameState(request);
+		if (recorder == null)
+			return decideMove(request);
+
+		long startTime = System.nanoTime();
+		SearchStats stats = SearchStats.begin();
+		String response = decideMove(request);
+		recorder.record(request, response, System.nanoTime() - startTime, stats);
+		return response;
+	}
+
+	private String decideMove(String request)
+	{
+		MoveRequestEvent event = new MoveRequestEvent();
+		event.begin();
+
+		// A repeated request is answered before decoding it, and without disturbing the pondering it started
+		long fingerprint = decisionCache != null ? RequestFingerprint.of(request) : RequestFingerprint.NONE;
+		if (decisionCache != null)
+		{
+			Move cachedMove = decisionCache.get(fingerprint);
+			if (cachedMove != null)
+			{
+				if (event.shouldCommit())
+				{
+					event.setCached(true);
+					event.setDirection(cachedMove.step1);
+					event.commit();
+				}
+				return cachedMove.toString();
+			}
+		}
+
+		if (ponderer != null)
+			ponderer.cancel();
+
+		JsonObject json = JsonUtil.parseRequest(request);
+		int botId = JsonUtil.deserializeYourBotId(json);
+		GameState gameState = JsonUtil.deserializeGameState(json);
 
 		if (isBotDead(botId, gameState)) {
 			return null;
 		}
 
-		Direction direction = botAi.makeMove(botId, gameState);
+		GameSession session = sessionRegistry.sessionFor(botId, gameState, JsonUtil.deserializeGameId(json));
+		Direction direction = botAi.makeMove(botId, gameState, session);
+		if (event.shouldCommit())
+		{
+			event.describe(botId, gameState);
+			event.setDirection(direction);
+			event.commit();
+		}
 		if (direction == null) {
 			return null;
 		}
-		return new Move(direction).toString();
+
+		if (ponderer != null)
+			pendingPonder.set(() -> ponderer.start(cancelled -> botAi.ponder(botId, gameState, direction, session, cancelled)));
+
+		Move move = new Move(direction);
+		if (decisionCache != null)
+			decisionCache.put(fingerprint, move);
+
+		return move.toString();
+	}
+
+	@Override
+	public void onResponseSent()
+	{
+		Runnable ponder = pendingPonder.get();
+		pendingPonder.remove();
+		if (ponder != null)
+			ponder.run();
 	}
 
 	private boolean isBotDead(int botId, GameState gameState)
 	{
 		return !gameState.getLiveBotIds().contains(botId);
 	}
+
+	public static class Builder
+	{
+		private final BotAi botAi;
+		private SessionRegistry sessionRegistry = new SessionRegistry();
+		private Ponderer ponderer;
+		private DecisionCache decisionCache = new DecisionCache();
+		private DecisionRecorder recorder;
+
+		private Builder(BotAi botAi)
+		{
+			this.botAi = botAi;
+		}
+
+		public Builder setSessionRegistry(SessionRegistry sessionRegistry)
+		{
+			this.sessionRegistry = sessionRegistry;
+			return this;
+		}
+
+		/**
+		 * @param ponderer runs {@link BotAi#ponder} between requests, or null to disable pondering
+		 */
+		public Builder setPonderer(Ponderer ponderer)
+		{
+			this.ponderer = ponderer;
+			return this;
+		}
+
+		/**
+		 * @param decisionCache answers repeated requests, or null to disable caching
+		 */
+		public Builder setDecisionCache(DecisionCache decisionCache)
+		{
+			this.decisionCache = decisionCache;
+			return this;
+		}
+
+		/**
+		 * @param recorder records every move request with its decision, or null to disable recording
+		 */
+		public Builder setRecorder(DecisionRecorder recorder)
+		{
+			this.recorder = recorder;
+			return this;
+		}
+
+		public BotRequestHandler build()
+		{
+			return new BotRequestHandler(this);
+		}
+	}
 }
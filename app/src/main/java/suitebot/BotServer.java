@@ -1,21 +1,88 @@
 package suitebot;
 
 import suitebot.ai.BotAi;
+import suitebot.ai.Ponderer;
 import suitebot.ai.SampleBotAi;
+import suitebot.book.OpeningBook;
+import suitebot.log.Log;
+import suitebot.record.DecisionRecorder;
 import suitebot.server.SimpleServer;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
 public class BotServer
 {
 	public static final int DEFAULT_PORT = 9501;
+	public static final String PONDER_PROPERTY = "suitebot.ponder";
+	public static final String OPENING_BOOK_PROPERTY = "suitebot.book";
+	public static final String DEFAULT_OPENING_BOOK = "opening-book.bin";
+	public static final String WORKERS_PROPERTY = "suitebot.workers";
+	public static final String KEEP_ALIVE_PROPERTY = "suitebot.keepAlive";
+	public static final String RECORDER_PROPERTY = "suitebot.recorder";
+	public static final String RECORDER_SEGMENT_BYTES_PROPERTY = "suitebot.recorder.segmentBytes";
 
 	public static void main(String[] args)
 	{
-		BotAi botAi = new SampleBotAi(); // replace with your own AI
+		BotAi botAi = new SampleBotAi(openOpeningBook()); // replace with your own AI
+		Ponderer ponderer = Boolean.parseBoolean(System.getProperty(PONDER_PROPERTY, "true")) ? new Ponderer() : null;
 
 		int port = determinePort(args);
 
-		System.out.println("listening on port " + port);
-		new SimpleServer(port, new BotRequestHandler(botAi)).run();
+		Log.info("server.listening").with("port", port).log();
+		int workerCount = Integer.getInteger(WORKERS_PROPERTY, 1);
+		boolean keepAlive = Boolean.getBoolean(KEEP_ALIVE_PROPERTY);
+
+		BotRequestHandler requestHandler = BotRequestHandler.builder(botAi)
+				.setPonderer(ponderer)
+				.setRecorder(openRecorder())
+				.build();
+		new SimpleServer(port, requestHandler, workerCount, keepAlive).run();
+	}
+
+	private static OpeningBook openOpeningBook()
+	{
+		Path path = Paths.get(System.getProperty(OPENING_BOOK_PROPERTY, DEFAULT_OPENING_BOOK));
+		if (!Files.isRegularFile(path))
+			return null;
+
+		try
+		{
+			OpeningBook openingBook = OpeningBook.open(path);
+			Log.info("book.opened").with("path", path.toString()).with("positions", openingBook.size()).log();
+			return openingBook;
+		}
+		catch (IOException | OpeningBook.InvalidBookException e)
+		{
+			Log.warn("book.failed").with("path", path.toString()).error(e).log();
+			return null;
+		}
+	}
+
+	/**
+	 * Opens the decision recorder if a directory is configured for it.
+	 */
+	private static DecisionRecorder openRecorder()
+	{
+		String directory = System.getProperty(RECORDER_PROPERTY);
+		if (directory == null)
+			return null;
+
+		try
+		{
+			DecisionRecorder recorder = DecisionRecorder.open(Paths.get(directory),
+					Integer.getInteger(RECORDER_SEGMENT_BYTES_PROPERTY, DecisionRecorder.DEFAULT_SEGMENT_BYTES));
+			Runtime.getRuntime().addShutdownHook(new Thread(recorder::close));
+			Log.info("recorder.opened").with("directory", directory).log();
+			return recorder;
+		}
+		catch (IOException e)
+		{
+			Log.warn("recorder.failed").with("directory", directory).error(e).log();
+			return null;
+		}
 	}
 
 	private static int determinePort(String[] args)
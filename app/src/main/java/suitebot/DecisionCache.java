@@ -0,0 +1,88 @@
+package suitebot;
+
+import suitebot.game.Move;
+import suitebot.json.RequestFingerprint;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Moves chosen for recent requests, keyed by the {@link RequestFingerprint} of the request,
+ * so that retried or replayed requests are answered without decoding and searching again.
+ * The least recently used entries are evicted once the cache holds {@code maxEntries} moves.
+ */
+public class DecisionCache
+{
+	public static final int DEFAULT_MAX_ENTRIES = 1024;
+
+	private final Map<Long, Move> moves;
+	private final LongAdder hits = new LongAdder();
+	private final LongAdder misses = new LongAdder();
+
+	public DecisionCache()
+	{
+		this(DEFAULT_MAX_ENTRIES);
+	}
+
+	public DecisionCache(int maxEntries)
+	{
+		this.moves = new LinkedHashMap<>(16, 0.75f, true)
+		{
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<Long, Move> eldest)
+			{
+				return size() > maxEntries;
+			}
+		};
+	}
+
+	/**
+	 * Returns the move chosen for the request with the given fingerprint.
+	 *
+	 * @return the move or null if the request has not been answered recently
+	 */
+	public Move get(long fingerprint)
+	{
+		Move move = null;
+		if (fingerprint != RequestFingerprint.NONE)
+		{
+			synchronized (moves)
+			{
+				move = moves.get(fingerprint);
+			}
+		}
+
+		(move != null ? hits : misses).increment();
+		return move;
+	}
+
+	public void put(long fingerprint, Move move)
+	{
+		if (fingerprint == RequestFingerprint.NONE)
+			return;
+
+		synchronized (moves)
+		{
+			moves.put(fingerprint, move);
+		}
+	}
+
+	public long getHits()
+	{
+		return hits.sum();
+	}
+
+	public long getMisses()
+	{
+		return misses.sum();
+	}
+
+	public int size()
+	{
+		synchronized (moves)
+		{
+			return moves.size();
+		}
+	}
+}
@@ -0,0 +1,40 @@
+package suitebot.ai;
+
+import suitebot.game.GameState;
+import suitebot.session.SessionComponent;
+import suitebot.strategies.BoardGraph;
+
+/**
+ * Junction graph of the last position decided in a game, advanced turn by turn as the trails grow.
+ *
+ * Graphs handed out are never changed afterwards: advancing works on a copy, so a search still walking
+ * the graph of an earlier position, e.g. while pondering, is not disturbed.
+ */
+class BoardGraphCache implements SessionComponent {
+
+    private BoardGraph graph;
+
+    /**
+     * Returns the graph of the position to decide and keeps it for the next turn.
+     */
+    synchronized BoardGraph advance(GameState gameState) {
+        graph = graphFor(gameState);
+        return graph;
+    }
+
+    /**
+     * Returns the graph of a position that may follow the last decided one, without keeping it.
+     */
+    synchronized BoardGraph graphFor(GameState gameState) {
+        if (graph != null) {
+            BoardGraph next = graph.copy();
+            if (next.advance(gameState)) return next;
+        }
+        return BoardGraph.of(gameState);
+    }
+
+    @Override
+    public synchronized long estimatedBytes() {
+        return graph == null ? 0 : graph.estimatedBytes();
+    }
+}
@@ -2,6 +2,9 @@ package suitebot.ai;
 
 import suitebot.game.Direction;
 import suitebot.game.GameState;
+import suitebot.session.GameSession;
+
+import java.util.function.BooleanSupplier;
 
 
 public interface BotAi
@@ -15,6 +18,34 @@ public interface BotAi
 	 */
 	Direction makeMove(int botId, GameState gameState);
 
+	/**
+	 * Returns the move that the AI intends to play, with access to the state kept for the game between turns.
+	 * AIs that do not keep any per-game state can rely on the default implementation.
+	 *
+	 * @param botId ID of the bot operated by the AI
+	 * @param gameState current game state
+	 * @param session state of the game kept between turns
+	 * @return the move that the AI intends to play
+	 */
+	default Direction makeMove(int botId, GameState gameState, GameSession session)
+	{
+		return makeMove(botId, gameState);
+	}
+
+	/**
+	 * Keeps searching in the background after the move has been sent, so that the next move can reuse the work.
+	 * Implementations must return as soon as {@code cancelled} returns true. By default the AI does not ponder.
+	 *
+	 * @param botId ID of the bot operated by the AI
+	 * @param gameState game state the move was made in
+	 * @param move the move that has been sent
+	 * @param session state of the game kept between turns
+	 * @param cancelled tells whether the pondering should stop
+	 */
+	default void ponder(int botId, GameState gameState, Direction move, GameSession session, BooleanSupplier cancelled)
+	{
+	}
+
 	/**
 	 * Returns the name of the bot.
 	 *
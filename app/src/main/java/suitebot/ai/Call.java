@@ -2,10 +2,33 @@ package suitebot.ai;
 
 import suitebot.game.Direction;
 import suitebot.game.GameState;
+import suitebot.game.GameStateHash;
 import suitebot.game.Point;
-import suitebot.strategies.MonteCarloTreeSearch;
+import suitebot.game.StateTransition;
+import suitebot.jfr.DecisionEvent;
+import suitebot.log.Log;
+import suitebot.session.GameSession;
+import suitebot.session.SessionKey;
+import suitebot.stats.Counter;
+import suitebot.stats.Phase;
+import suitebot.stats.SearchStats;
+import suitebot.strategies.AlphaBetaEvaluator;
+import suitebot.strategies.BoardGraph;
+import suitebot.strategies.DecoupledUctEvaluator;
+import suitebot.strategies.FloodFillEvaluator;
+import suitebot.strategies.MonteCarloEvaluator;
+import suitebot.strategies.NodeArena;
+import suitebot.strategies.PortfolioRunner;
+import suitebot.strategies.TimeBudget;
+import suitebot.strategies.TurnContext;
 
 import java.util.*;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
 
 /**
  * Call class that integrates the Monte Carlo Tree Search algorithm
@@ -13,9 +36,20 @@ import java.util.*;
  */
 public class Call {
 
-    private static final int SIMULATION_DEPTH = 25; // Number of steps ahead Monte Carlo should simulate
-    private static final int SIMULATION_ITERATIONS = 120; // How many simulations are ran to evaluate every move
     private static final double ENEMY_AVOIDANCE_WEIGHT = 1; // Higher values prioritize avoiding other snakes
+    private static final int MAX_PONDERED_SUCCESSORS = 4; // How many predicted next positions are searched between turns
+    private static final double MCTS_WEIGHT = 1;
+    private static final double FLOOD_FILL_WEIGHT = 0.5; // How far the free space extends, next to the best rollout
+    private static final int ROLLOUT_PREFIX = 16; // Steps a simulation walks before the free space left is counted instead
+    private static final double DUCT_WEIGHT = 1; // Search of the joint moves, where the other bots are alive
+    private static final double ALPHA_BETA_WEIGHT = 2; // Search of a duel in a shared region, in place of DUCT
+    private static final int DUEL_SEARCH_DEPTH = 8; // Turns the duel search deepens to at most, e.g. while pondering
+    static final String SEED_PROPERTY = "suitebot.seed"; // System property with the seed of the random generators of a game
+    static final long DEFAULT_SEED = 123;
+
+    // Shared by all games; evaluators of one move run side by side on it
+    private static final ExecutorService EVALUATORS = Executors.newFixedThreadPool(
+            Runtime.getRuntime().availableProcessors(), new EvaluatorThreadFactory());
 
     /**
      * We use Monte Carlo Tree Search to determine the best direction for the bot to move
@@ -23,32 +57,96 @@ public class Call {
      *
      */
     public static Direction getDirection(int botId ,GameState gameState) {
+        return getDirection(botId, gameState, new GameSession(SessionKey.of(botId, gameState, null)));
+    }
 
-        int totalTiles = gameState.getPlanWidth() * gameState.getPlanHeight();
-        int adaptiveIterations = Math.max(200, totalTiles / 5);
-        int dynamicDepth = Math.min(90, totalTiles / 10);
-
+    /**
+     * Same as {@link #getDirection(int, GameState)}, but keeps the random generator of the search
+     * in the session of the game, so that concurrent games do not share any mutable state. Every game starts
+     * the generator from the same seed.
+     * If the position was searched while pondering after the previous move, those scores are reused.
+     * The counters of the searches are logged as one {@code search.stats} record per move.
+     * The effort of the search is steered by the {@link SearchBudget} of the session.
+     * Positions the {@link Triage} can answer on its own are not searched at all.
+     * The triage, the searches and the adjustments of their scores share one {@link TurnContext} of the position.
+     */
+    public static Direction getDirection(int botId, GameState gameState, GameSession session) {
+        DecisionEvent event = new DecisionEvent();
+        event.begin();
+        SearchStats stats = SearchStats.begin();
+        long startTime = System.nanoTime();
+        try {
+            Direction direction = getDirection(botId, gameState, session, stats);
+            if (stats.get(Counter.PONDER_MISSES) > 0) {
+                session.getComponent(SearchBudget.class, SearchBudget::new)
+                        .record(System.nanoTime() - startTime, stats.getNanos(Phase.MCTS), stats.get(Counter.ROLLOUTS));
+            }
+            if (event.shouldCommit()) {
+                event.describe(botId, gameState);
+                event.setDirection(direction);
+                event.setRollouts(stats.get(Counter.ROLLOUTS));
+                event.setPonderHit(stats.get(Counter.PONDER_HITS) > 0);
+                event.commit();
+            }
+            return direction;
+        } finally {
+            Log.info("search.stats")
+                    .with("bot", botId)
+                    .with("ponderHit", stats.get(Counter.PONDER_HITS))
+                    .with("rollouts", stats.get(Counter.ROLLOUTS))
+                    .with("avgRolloutLength", stats.averageRolloutLength())
+                    .with("cellsVisited", stats.get(Counter.CELLS_VISITED))
+                    .with("mctsMs", stats.getMillis(Phase.MCTS))
+                    .with("adjustmentMs", stats.getMillis(Phase.ADJUSTMENT))
+                    .log();
+            stats.finish();
+        }
+    }
 
-        // Evaluate all possible moves using MCTS
-        Map<Direction, Integer> moveScores = MonteCarloTreeSearch.evaluateMoves(
-                botId,
-                gameState,
-                adaptiveIterations,
-                dynamicDepth
-        );
+    private static Direction getDirection(int botId, GameState gameState, GameSession session, SearchStats stats) {
+        Random random = session.getComponent(Random.class, Call::newRandom);
+        stats.count(Counter.MOVES, 1);
+
+        // Forced moves and lost positions need no search
+        BoardGraph graph = session.getComponent(BoardGraphCache.class, BoardGraphCache::new).advance(gameState);
+        TurnContext context = TurnContext.of(botId, gameState, graph);
+        Triage triage = Triage.of(context);
+        if (triage.isDecided()) {
+            stats.count(Counter.TRIAGED, 1);
+            return triage.getDecision();
+        }
+        List<Direction> candidates = triage.getCandidates();
+
+        // Reuse the scores pondered for this position, or evaluate all possible moves using MCTS
+        Map<Direction, Integer> moveScores = session.getComponent(PonderCache.class, PonderCache::new)
+                .take(GameStateHash.of(gameState));
+        if (moveScores == null) {
+            stats.count(Counter.PONDER_MISSES, 1);
+            SearchBudget budget = session.getComponent(SearchBudget.class, SearchBudget::new);
+            NodeArena tree = session.getComponent(SearchTrees.class, SearchTrees::new).forDecision();
+            moveScores = evaluateMoves(context, tree, budget, random, TimeBudget.ofNanos(budget.hardLimitNanos()));
+        } else {
+            stats.count(Counter.PONDER_HITS, 1);
+        }
 
         // Apply additional strategic considerations for multi-snake games
-        moveScores = applyMultiSnakeStrategy(moveScores, botId, gameState);
+        long adjustmentStart = System.nanoTime();
+        moveScores = applyMultiSnakeStrategy(moveScores, context);
+        stats.time(Phase.ADJUSTMENT, System.nanoTime() - adjustmentStart);
 
         // Log the scores for debugging
-        System.out.println("Bot " + botId + " MCTS Move Scores:");
-        for (Direction dir : Direction.values()) {
-            System.out.println(" - " + dir + ": " + moveScores.getOrDefault(dir, 0));
-        }
-
-        // Find the direction with the highest score
+        Log.debug("mcts.scores")
+                .with("bot", botId)
+                .with("up", moveScores.getOrDefault(Direction.UP, 0))
+                .with("down", moveScores.getOrDefault(Direction.DOWN, 0))
+                .with("left", moveScores.getOrDefault(Direction.LEFT, 0))
+                .with("right", moveScores.getOrDefault(Direction.RIGHT, 0))
+                .log();
+
+        // Find the candidate direction with the highest score
         Optional<Direction> bestDirection = moveScores.entrySet().stream()
                 .filter(entry -> entry.getValue() > 0) // Only consider valid moves
+                .filter(entry -> candidates.contains(entry.getKey()))
                 .max(Map.Entry.comparingByValue())
                 .map(Map.Entry::getKey);
 
@@ -56,139 +154,172 @@ public class Call {
         if (bestDirection.isPresent()) {
             return bestDirection.get();
         } else {
-            // Try to find any valid move if all scored 0
-            List<Direction> validMoves = getValidMoves(botId, gameState);
-            if (!validMoves.isEmpty()) {
-                return validMoves.get(new Random().nextInt(validMoves.size()));
-            }
-            return Direction.DOWN; // Last resort
+            // Pick any candidate if all scored 0
+            return candidates.get(random.nextInt(candidates.size()));
         }
     }
 
     /**
-     * Apply additional strategic considerations for multi-snake games.
-     * This adjusts the MCTS scores based on proximity to other snakes and available space.
+     * Search the positions most likely to follow our move while waiting for the next request, so that
+     * {@link #getDirection(int, GameState, GameSession)} can reuse the scores if one of them is played.
+     * Opponents are expected to prefer moves into open space; the most likely position is searched first.
      */
-    private static Map<Direction, Integer> applyMultiSnakeStrategy(
-            Map<Direction, Integer> baseScores, int botId, GameState gameState) {
-
-        Map<Direction, Integer> adjustedScores = new HashMap<>(baseScores);
-        Point currentPos = gameState.getBotLocation(botId);
-
-        // For each direction, evaluate proximity to other snakes
-        for (Direction dir : Direction.values()) {
-            if (adjustedScores.getOrDefault(dir, 0) <= 0) continue;
-
-            Point nextPos = dir.from(currentPos);
-            nextPos = wrapAround(nextPos, gameState.getPlanWidth(), gameState.getPlanHeight());
-
-            // Calculate distance to nearest enemy snake
-            int minDistanceToEnemy = Integer.MAX_VALUE;
-            // Updated to use getLiveBotIds() instead of getBotIds()
-            for (int enemyId : gameState.getLiveBotIds()) {
-                if (enemyId == botId) continue;
-
-                Point enemyPos = gameState.getBotLocation(enemyId);
-                if (enemyPos != null) {
-                    int distance = manhattanDistance(nextPos, enemyPos, gameState.getPlanWidth(), gameState.getPlanHeight());
-                    minDistanceToEnemy = Math.min(minDistanceToEnemy, distance);
-                }
+    static void ponder(int botId, GameState gameState, Direction move, GameSession session, BooleanSupplier cancelled) {
+        PonderCache ponderCache = session.getComponent(PonderCache.class, PonderCache::new);
+        SearchBudget budget = session.getComponent(SearchBudget.class, SearchBudget::new);
+        BoardGraphCache graphs = session.getComponent(BoardGraphCache.class, BoardGraphCache::new);
+        NodeArena tree = session.getComponent(SearchTrees.class, SearchTrees::new).forPondering();
+        Random random = newRandom();
+        SearchStats stats = SearchStats.begin();
+        long startTime = System.nanoTime();
+
+        try {
+            for (GameState successor : predictSuccessors(botId, gameState, move)) {
+                if (cancelled.getAsBoolean()) return;
+                TurnContext context = TurnContext.of(botId, successor, graphs.graphFor(successor));
+                ponderCache.put(GameStateHash.of(successor), evaluateMoves(context, tree, budget, random,
+                        TimeBudget.unlimited().withCancellation(cancelled)));
+                stats.count(Counter.PONDERED_POSITIONS, 1);
             }
-
-            if (minDistanceToEnemy < Integer.MAX_VALUE) {
-                // Adjust score based on distance to enemies
-                // Closer enemies result in lower scores
-                int avoidanceBonus = (int)(minDistanceToEnemy * ENEMY_AVOIDANCE_WEIGHT);
-                adjustedScores.put(dir, adjustedScores.get(dir) + avoidanceBonus);
-            }
-
-            // Also consider open space in each direction (using a simple flood fill)
-            int openSpace = calculateOpenSpace(nextPos, gameState, 8); // Check up to 8 steps ahead
-            adjustedScores.put(dir, adjustedScores.get(dir) + openSpace);
+        } catch (CancellationException e) {
+            // the next request has arrived
+        } finally {
+            stats.time(Phase.PONDER, System.nanoTime() - startTime);
+            stats.finish();
         }
-
-        return adjustedScores;
     }
 
     /**
-     * Calculate open space available from a given position using a limited-depth flood fill
+     * Run MCTS and the cheap flood fill side by side on the junction graph of the position and combine their scores;
+     * with other bots alive, the decoupled UCT search of everybody's moves runs next to them, going on with the tree
+     * it left in the arena where the position follows on. A duel in a shared region is searched by alpha-beta instead,
+     * which outweighs the rollouts. The searches are left out if they do not finish in time.
      */
-    private static int calculateOpenSpace(Point start, GameState gameState, int maxDepth) {
-        Set<Point> visited = new HashSet<>();
-        Queue<Point> queue = new LinkedList<>();
-        Map<Point, Integer> distances = new HashMap<>();
+    private static Map<Direction, Integer> evaluateMoves(TurnContext context, NodeArena tree, SearchBudget budget, Random random,
+                                                         TimeBudget timeBudget) {
+        GameState gameState = context.getGameState();
+        int depth = budget.depth(gameState);
+        int freeDirections = context.getValidMoves().size();
+        int iterations = budget.iterations(freeDirections);
+
+        PortfolioRunner portfolio = new PortfolioRunner(EVALUATORS)
+                .add(new MonteCarloEvaluator(depth, iterations, random, ROLLOUT_PREFIX), MCTS_WEIGHT)
+                .add(new FloodFillEvaluator(depth), FLOOD_FILL_WEIGHT);
+        if (isSharedDuel(context)) {
+            portfolio.add(new AlphaBetaEvaluator(depth, DUEL_SEARCH_DEPTH), ALPHA_BETA_WEIGHT);
+        } else if (gameState.getLiveBotIds().size() > 1) {
+            // as many simulations as MCTS runs for all moves together; each one moves every bot
+            Random ductRandom = new Random(random.nextLong());
+            portfolio.add(new DecoupledUctEvaluator(depth, iterations * freeDirections, ductRandom, tree), DUCT_WEIGHT);
+        }
+        return portfolio.evaluate(context, timeBudget);
+    }
 
-        queue.add(start);
-        visited.add(start);
-        distances.put(start, 0);
+    /**
+     * Whether a single opponent is left and it can still reach our bot
+     */
+    private static boolean isSharedDuel(TurnContext context) {
+        GameState gameState = context.getGameState();
+        int botId = context.getBotId();
+        if (gameState.getLiveBotIds().size() != 2) return false;
+        BoardGraph graph = context.getGraph();
+        BoardGraph.Walker walker = graph.newWalker();
+        walker.space(graph.cellOf(gameState.getBotLocation(botId)), graph.getCellCount());
+        for (int enemyId : gameState.getLiveBotIds()) {
+            if (enemyId != botId && !walker.isInLastSpace(graph.cellOf(gameState.getBotLocation(enemyId)))) return false;
+        }
+        return true;
+    }
 
-        Set<Point> obstacles = gameState.getObstacleLocations();
+    /**
+     * Predict the next positions after our move, most likely first: every opponent plays its most likely move,
+     * then, for the opponents closest to us first, each of their alternative moves in turn.
+     */
+    private static List<GameState> predictSuccessors(int botId, GameState gameState, Direction move) {
         int width = gameState.getPlanWidth();
         int height = gameState.getPlanHeight();
+        Point ourDestination = StateTransition.wrap(move.from(gameState.getBotLocation(botId)), width, height);
+
+        List<Integer> opponents = new ArrayList<>(gameState.getLiveBotIds());
+        opponents.remove(Integer.valueOf(botId));
+        opponents.sort(Comparator.comparingInt(
+                enemyId -> manhattanDistance(ourDestination, gameState.getBotLocation(enemyId), width, height)));
+
+        Map<Integer, List<Direction>> likelyMoves = new HashMap<>();
+        Map<Integer, Direction> jointMove = new HashMap<>();
+        jointMove.put(botId, move);
+        for (int enemyId : opponents) {
+            List<Direction> moves = OpponentModel.likelyMoves(enemyId, gameState);
+            likelyMoves.put(enemyId, moves);
+            if (!moves.isEmpty()) jointMove.put(enemyId, moves.get(0));
+        }
 
-        while (!queue.isEmpty()) {
-            Point current = queue.poll();
-            int currentDepth = distances.get(current);
-
-            if (currentDepth >= maxDepth) continue;
-
-            for (Direction dir : Direction.values()) {
-                Point next = dir.from(current);
-                next = wrapAround(next, width, height);
-
-                if (!visited.contains(next) && !obstacles.contains(next)) {
-                    visited.add(next);
-                    queue.add(next);
-                    distances.put(next, currentDepth + 1);
-                }
+        List<Map<Integer, Direction>> jointMoves = new ArrayList<>();
+        jointMoves.add(jointMove);
+        for (int enemyId : opponents) {
+            List<Direction> moves = likelyMoves.get(enemyId);
+            for (int i = 1; i < moves.size() && jointMoves.size() < MAX_PONDERED_SUCCESSORS; i++) {
+                Map<Integer, Direction> alternative = new HashMap<>(jointMove);
+                alternative.put(enemyId, moves.get(i));
+                jointMoves.add(alternative);
             }
         }
 
-        int deadEnds = countDeadEnds(visited, gameState);
-        return visited.size() - deadEnds;
-    }
-
-    private static int countDeadEnds(Set<Point> region, GameState gameState) {
-        int count = 0;
-        int width = gameState.getPlanWidth();
-        int height = gameState.getPlanHeight();
-        Set<Point> obstacles = gameState.getObstacleLocations();
-
-        for (Point point : region) {
-            int freeNeighbors = 0;
-            for (Direction dir : Direction.values()) {
-                Point neighbor = wrapAround(dir.from(point), width, height);
-                if (region.contains(neighbor) && !obstacles.contains(neighbor)) {
-                    freeNeighbors++;
-                }
+        List<GameState> successors = new ArrayList<>();
+        for (Map<Integer, Direction> moves : jointMoves) {
+            GameState successor = StateTransition.apply(gameState, moves);
+            if (successor.getLiveBotIds().contains(botId)) {
+                successors.add(successor);
             }
-            if (freeNeighbors <= 1) count++; // dead end
         }
-
-        return count;
+        return successors;
     }
 
-
     /**
-     * Get all valid moves from the current position
+     * Apply additional strategic considerations for multi-snake games.
+     * This adjusts the MCTS scores based on proximity to other snakes and available space.
+     * Proximity is the number of turns the nearest snake needs to reach the cell, read from the danger map of the context;
+     * a cell no snake can reach counts as far as the region behind it lasts, the bot heads being walls, up to
+     * the farthest cell on the plan.
      */
-    private static List<Direction> getValidMoves(int botId, GameState gameState) {
-        List<Direction> validMoves = new ArrayList<>();
-        Point currentPos = gameState.getBotLocation(botId);
-        Set<Point> obstacles = gameState.getObstacleLocations();
-        int width = gameState.getPlanWidth();
-        int height = gameState.getPlanHeight();
+    private static Map<Direction, Integer> applyMultiSnakeStrategy(Map<Direction, Integer> baseScores, TurnContext context) {
 
+        // EnumMap keeps the tie-breaking between equal scores independent of identity hash codes
+        Map<Direction, Integer> adjustedScores = new EnumMap<>(Direction.class);
+        adjustedScores.putAll(baseScores);
+        GameState gameState = context.getGameState();
+        boolean enemiesAlive = gameState.getLiveBotIds().size() > 1;
+        int farthestDistance = gameState.getPlanWidth() / 2 + gameState.getPlanHeight() / 2;
+
+        // For each direction, evaluate proximity to other snakes
         for (Direction dir : Direction.values()) {
-            Point nextPos = dir.from(currentPos);
-            nextPos = wrapAround(nextPos, width, height);
+            if (adjustedScores.getOrDefault(dir, 0) <= 0) continue;
 
-            if (!obstacles.contains(nextPos) && !gameState.getBotLocations().contains(nextPos)) {
-                validMoves.add(dir);
+            // Distance to nearest enemy snake
+            if (enemiesAlive) {
+                int arrival = context.getEnemyArrival(context.destination(dir));
+                int minDistanceToEnemy = arrival == TurnContext.UNREACHABLE
+                        ? Math.min(context.getRegionSize(dir), farthestDistance)
+                        : Math.min(arrival, farthestDistance);
+                // Adjust score based on distance to enemies
+                // Closer enemies result in lower scores
+                int avoidanceBonus = (int)(minDistanceToEnemy * ENEMY_AVOIDANCE_WEIGHT);
+                adjustedScores.put(dir, adjustedScores.get(dir) + avoidanceBonus);
             }
+
+            // Also consider open space in each direction (using a simple flood fill up to 8 steps ahead)
+            int openSpace = context.getOpenSpace(dir);
+            adjustedScores.put(dir, adjustedScores.get(dir) + openSpace);
         }
 
-        return validMoves;
+        return adjustedScores;
+    }
+
+    /**
+     * A random generator seeded from {@link #SEED_PROPERTY}, or with {@link #DEFAULT_SEED}, so that a game can be replayed
+     */
+    private static Random newRandom() {
+        return new Random(Long.getLong(SEED_PROPERTY, DEFAULT_SEED));
     }
 
     /**
@@ -206,13 +337,14 @@ public class Call {
         return xDist + yDist;
     }
 
-    /**
-     * Handle wrapping around the game board
-     */
-    private static Point wrapAround(Point point, int width, int height) {
-        int x = (point.x + width) % width;
-        int y = (point.y + height) % height;
-        return new Point(x, y);
-    }
+    private static class EvaluatorThreadFactory implements ThreadFactory {
+        private final AtomicInteger threadCount = new AtomicInteger();
 
+        @Override
+        public Thread newThread(Runnable task) {
+            Thread thread = new Thread(task, "evaluator-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
 }
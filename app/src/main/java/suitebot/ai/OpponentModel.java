@@ -0,0 +1,45 @@
+package suitebot.ai;
+
+import suitebot.game.Direction;
+import suitebot.game.GameState;
+import suitebot.game.Point;
+import suitebot.game.StateTransition;
+
+import java.util.*;
+
+/**
+ * Simple model of how the other bots move: they avoid obstacles and bot heads
+ * and prefer the moves that leave them the most free neighbouring cells.
+ */
+public class OpponentModel {
+
+    /**
+     * Returns the moves of the bot that do not run into an obstacle or a bot head, most likely first.
+     */
+    public static List<Direction> likelyMoves(int botId, GameState gameState) {
+        Point head = gameState.getBotLocation(botId);
+        Set<Point> obstacles = gameState.getObstacleLocations();
+        Set<Point> heads = gameState.getBotLocations();
+        int width = gameState.getPlanWidth();
+        int height = gameState.getPlanHeight();
+
+        Map<Direction, Integer> freeNeighbors = new EnumMap<>(Direction.class);
+        for (Direction dir : Direction.values()) {
+            Point next = StateTransition.wrap(dir.from(head), width, height);
+            if (obstacles.contains(next) || heads.contains(next)) continue;
+
+            int free = 0;
+            for (Direction nextDir : Direction.values()) {
+                Point neighbor = StateTransition.wrap(nextDir.from(next), width, height);
+                if (!neighbor.equals(head) && !obstacles.contains(neighbor) && !heads.contains(neighbor)) {
+                    free++;
+                }
+            }
+            freeNeighbors.put(dir, free);
+        }
+
+        List<Direction> moves = new ArrayList<>(freeNeighbors.keySet());
+        moves.sort(Comparator.comparing(freeNeighbors::get).reversed());
+        return moves;
+    }
+}
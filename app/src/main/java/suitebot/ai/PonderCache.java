@@ -0,0 +1,37 @@
+package suitebot.ai;
+
+import suitebot.game.Direction;
+import suitebot.session.SessionComponent;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Move scores searched while pondering, keyed by the hash of the position they were searched for.
+ */
+class PonderCache implements SessionComponent {
+
+    private static final long BYTES_PER_ENTRY = 256;
+
+    private final Map<Long, Map<Direction, Integer>> scoresByState = new ConcurrentHashMap<>();
+
+    void put(long stateHash, Map<Direction, Integer> moveScores) {
+        scoresByState.put(stateHash, moveScores);
+    }
+
+    /**
+     * Returns the scores pondered for the position and discards the ones of all other positions.
+     *
+     * @return the pondered scores or null if the position was not pondered
+     */
+    Map<Direction, Integer> take(long stateHash) {
+        Map<Direction, Integer> moveScores = scoresByState.get(stateHash);
+        scoresByState.clear();
+        return moveScores;
+    }
+
+    @Override
+    public long estimatedBytes() {
+        return scoresByState.size() * BYTES_PER_ENTRY;
+    }
+}
@@ -0,0 +1,54 @@
+package suitebot.ai;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+
+/**
+ * Runs pondering work on a background thread while the bot waits for the next request.
+ *
+ * Only one piece of work is active at a time: starting new work or calling {@link #cancel()} raises
+ * the cancellation flag of the current one, which is expected to stop as soon as it notices.
+ * Cancelling never waits for the work to stop, so it adds no latency to the request that triggered it.
+ */
+public class Ponderer
+{
+	private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+		Thread thread = new Thread(runnable, "ponderer");
+		thread.setDaemon(true);
+		thread.setPriority(Thread.MIN_PRIORITY);
+		return thread;
+	});
+
+	private volatile AtomicBoolean currentCancelled = new AtomicBoolean(true);
+
+	/**
+	 * Cancels the current work and schedules the given one.
+	 *
+	 * @param work the work to run; it receives a flag telling it when to stop
+	 */
+	public synchronized void start(Consumer<BooleanSupplier> work)
+	{
+		cancel();
+
+		AtomicBoolean cancelled = new AtomicBoolean(false);
+		currentCancelled = cancelled;
+		executor.execute(() -> {
+			if (!cancelled.get())
+				work.accept(cancelled::get);
+		});
+	}
+
+	public void cancel()
+	{
+		currentCancelled.set(true);
+	}
+
+	public void shutdown()
+	{
+		cancel();
+		executor.shutdownNow();
+	}
+}
@@ -1,11 +1,12 @@
 package suitebot.ai;
+import suitebot.book.OpeningBook;
 import suitebot.game.Direction;
 import suitebot.game.GameState;
-import suitebot.game.Point;
+import suitebot.log.Log;
+import suitebot.session.GameSession;
+import suitebot.session.SessionKey;
 
-
-
-import java.util.function.Predicate;
+import java.util.function.BooleanSupplier;
 
 
 /**
@@ -14,19 +15,19 @@ import java.util.function.Predicate;
 public class SampleBotAi implements BotAi
 {
 	/**
-	 * Your bot id
-	 */
-	private int botId;
-	/**
-	 * The data of the game on the basis of which you choose your move
+	 * Precomputed first moves, or null if there is no opening book
 	 */
-	private GameState gameState;
-	static int i = 0;
+	private final OpeningBook openingBook;
 
-	private final Predicate<Direction> isSafeDirection = direction -> (
-			!gameState.getObstacleLocations().contains(destination(direction)) &&
-					!gameState.getBotLocations().contains(destination(direction))
-	);
+	public SampleBotAi()
+	{
+		this(null);
+	}
+
+	public SampleBotAi(OpeningBook openingBook)
+	{
+		this.openingBook = openingBook;
+	}
 
 	/**
 	 * If a random safe move can be made (one that avoids any obstacles), do it;
@@ -34,9 +35,16 @@ public class SampleBotAi implements BotAi
 	 */
 	@Override
 	public Direction makeMove(int botId, GameState gameState) {
-		this.botId = botId;
-		this.gameState = gameState;
+		return makeMove(botId, gameState, new GameSession(SessionKey.of(botId, gameState, null)));
+	}
 
+	@Override
+	public Direction makeMove(int botId, GameState gameState, GameSession session) {
+		if (openingBook != null && session.getTurn() <= openingBook.getPlies()) {
+			Direction bookedMove = openingBook.lookup(botId, gameState);
+			if (bookedMove != null)
+				return bookedMove;
+		}
 
 		//Available directions - based on game plan orientation, not the bot actual direction
 
@@ -53,10 +61,6 @@ public class SampleBotAi implements BotAi
 		//    .findFirst()
 		//    .orElse(Direction.DOWN);
 		long startTime = System.nanoTime();
-
-		long duration = System.nanoTime() - startTime;
-		double durationMs = duration / 1_000_000.0;
-		System.out.printf("Bot %d [%s] decision time: %.2f ms\n", botId, getName(), durationMs);
 //		Direction d= Call2.getDirection(botId,gameState);
 //
 //		if (d!=null){
@@ -65,45 +69,22 @@ public class SampleBotAi implements BotAi
 //		}
 //		else
 //			return Call.getDirection(botId,gameState);
-		System.out.println("Number of calls" + i++);
+		Direction direction = Call.getDirection(botId, gameState, session);
 
-		return Call.getDirection(botId, gameState);
+		Log.info("move.decided")
+				.with("bot", botId)
+				.with("turn", session.getTurn())
+				.with("direction", direction)
+				.with("ms", (System.nanoTime() - startTime) / 1_000_000.0)
+				.log();
+
+		return direction;
 	}
 
-	private Point destination(Direction direction)
+	@Override
+	public void ponder(int botId, GameState gameState, Direction move, GameSession session, BooleanSupplier cancelled)
 	{
-		int maxWidth = gameState.getPlanWidth() - 1;
-		int maxHeight = gameState.getPlanHeight() - 1;
-
-		Point botLocation = gameState.getBotLocation(botId);
-
-		System.out.println("Bot location" + botLocation);
-		System.out.println("Bot Id: " + botId);
-		System.out.println("Board Height: " + gameState.getPlanHeight());
-		System.out.println("Board Width: " + gameState.getPlanWidth());
-		System.out.println("Direction: " + direction);
-
-		Point stepDestination = direction.from(botLocation);
-		int new_x = stepDestination.x;
-		int new_y = stepDestination.y;
-
-		if(stepDestination.x == maxWidth){
-			new_x = 0;
-		} else if (stepDestination.x < 0) {
-			new_x = maxWidth;
-		}
-
-		if (stepDestination.y == maxHeight){
-			new_y = 0;
-		} else if (stepDestination.y < 0) {
-			new_y = maxHeight;
-		}
-
-		Point final_point = new Point(new_x, new_y);
-
-		System.out.println("Step destination: " + stepDestination);
-
-		return final_point;
+		Call.ponder(botId, gameState, move, session, cancelled);
 	}
 
 	@Override
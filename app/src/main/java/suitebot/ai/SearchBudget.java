@@ -0,0 +1,127 @@
+package suitebot.ai;
+
+import suitebot.game.GameState;
+import suitebot.session.SessionComponent;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Feedback controller of the search effort of one game.
+ *
+ * The number of rollouts follows the rollout throughput measured on the previous moves, so that the search
+ * fills the target share of the server's deadline on this host. A correction factor then steers the
+ * {@link #TARGET_PERCENTILE}th percentile of the recent move latencies onto the target: it shrinks when
+ * moves are slower than the target and grows when they are faster. The rollout depth follows the free
+ * space left on the plan.
+ *
+ * The deadline is read from the {@code suitebot.deadlineMillis} system property.
+ */
+class SearchBudget implements SessionComponent {
+
+    static final String DEADLINE_PROPERTY = "suitebot.deadlineMillis";
+    static final long DEFAULT_DEADLINE_MILLIS = 1000;
+    static final double TARGET_SHARE = 0.5; // share of the deadline the target percentile of the move latency should use
+    static final double TARGET_PERCENTILE = 90;
+    static final double HARD_LIMIT_SHARE = 0.8; // share of the deadline after which searches are cancelled
+
+    static final int INITIAL_ITERATIONS = 90; // what the fixed settings amounted to on most boards
+    static final int MIN_ITERATIONS = 10;
+    static final int MAX_ITERATIONS = 20_000;
+    static final int MAX_DEPTH = 90;
+
+    private static final int WINDOW = 16; // recent moves considered for the latency percentile
+    private static final int MIN_SAMPLES = 4;
+    private static final double SMOOTHING = 0.3;
+    private static final double MIN_CORRECTION = 0.25;
+    private static final double MAX_CORRECTION = 4;
+
+    private final long deadlineNanos;
+    private final long targetNanos;
+    private final long[] latencies = new long[WINDOW];
+    private int moveCount;
+    private double rolloutsPerSecond; // 0 until measured
+    private double overheadNanos;
+    private double correction = 1;
+
+    SearchBudget() {
+        this(TimeUnit.MILLISECONDS.toNanos(Long.getLong(DEADLINE_PROPERTY, DEFAULT_DEADLINE_MILLIS)));
+    }
+
+    SearchBudget(long deadlineNanos) {
+        this.deadlineNanos = deadlineNanos;
+        this.targetNanos = (long) (deadlineNanos * TARGET_SHARE);
+    }
+
+    /**
+     * @return the time after which a search has to be cut short to answer before the deadline
+     */
+    long hardLimitNanos() {
+        return (long) (deadlineNanos * HARD_LIMIT_SHARE);
+    }
+
+    /**
+     * @param searchedDirections number of moves the search will run rollouts for
+     * @return the number of rollouts to run for each move
+     */
+    synchronized int iterations(int searchedDirections) {
+        if (rolloutsPerSecond == 0) {
+            return INITIAL_ITERATIONS;
+        }
+
+        double searchSeconds = Math.max(0, targetNanos - overheadNanos) / (double) TimeUnit.SECONDS.toNanos(1);
+        double rollouts = rolloutsPerSecond * searchSeconds * correction / Math.max(1, searchedDirections);
+        return (int) Math.max(MIN_ITERATIONS, Math.min(MAX_ITERATIONS, rollouts));
+    }
+
+    /**
+     * @return the maximum length of a rollout: a tenth of the free cells, as no rollout can be longer than those
+     */
+    int depth(GameState gameState) {
+        int freeCells = gameState.getPlanWidth() * gameState.getPlanHeight() - gameState.getObstacleLocations().size();
+        return Math.max(1, Math.min(MAX_DEPTH, freeCells / 10));
+    }
+
+    /**
+     * Records a searched move.
+     *
+     * @param latencyNanos time taken to decide the move
+     * @param searchNanos part of it spent in rollouts
+     * @param rollouts rollouts run
+     */
+    synchronized void record(long latencyNanos, long searchNanos, long rollouts) {
+        if (rollouts > 0 && searchNanos > 0) {
+            double rate = rollouts / (searchNanos / (double) TimeUnit.SECONDS.toNanos(1));
+            rolloutsPerSecond = rolloutsPerSecond == 0 ? rate : smooth(rolloutsPerSecond, rate);
+            overheadNanos = smooth(overheadNanos, Math.max(0, latencyNanos - searchNanos));
+        }
+
+        latencies[moveCount % WINDOW] = latencyNanos;
+        moveCount++;
+
+        if (moveCount >= MIN_SAMPLES) {
+            long percentile = recentLatencyPercentile();
+            if (percentile > 0) {
+                // square root: move only part of the way, as the throughput estimate adapts as well
+                correction *= Math.sqrt(targetNanos / (double) percentile);
+                correction = Math.max(MIN_CORRECTION, Math.min(MAX_CORRECTION, correction));
+            }
+        }
+    }
+
+    private long recentLatencyPercentile() {
+        long[] recent = Arrays.copyOf(latencies, Math.min(moveCount, WINDOW));
+        Arrays.sort(recent);
+        int index = (int) Math.ceil(TARGET_PERCENTILE / 100 * recent.length) - 1;
+        return recent[Math.max(0, index)];
+    }
+
+    private static double smooth(double average, double sample) {
+        return average + SMOOTHING * (sample - average);
+    }
+
+    @Override
+    public long estimatedBytes() {
+        return 64 + WINDOW * Long.BYTES;
+    }
+}
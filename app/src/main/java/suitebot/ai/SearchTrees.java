@@ -0,0 +1,29 @@
+package suitebot.ai;
+
+import suitebot.session.SessionComponent;
+import suitebot.strategies.NodeArena;
+
+/**
+ * Node arenas of the decoupled UCT trees of a game: one for the searches of the moves to decide, whose tree is carried
+ * over from turn to turn, and one for the searches made while pondering, so that a late ponder never disturbs it.
+ */
+class SearchTrees implements SessionComponent {
+
+    static final long MAX_BYTES_PER_TREE = 8L * 1024 * 1024;
+
+    private final NodeArena decisionTree = new NodeArena(MAX_BYTES_PER_TREE);
+    private final NodeArena ponderTree = new NodeArena(MAX_BYTES_PER_TREE);
+
+    NodeArena forDecision() {
+        return decisionTree;
+    }
+
+    NodeArena forPondering() {
+        return ponderTree;
+    }
+
+    @Override
+    public long estimatedBytes() {
+        return decisionTree.estimatedBytes() + ponderTree.estimatedBytes();
+    }
+}
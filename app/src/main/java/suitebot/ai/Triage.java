@@ -0,0 +1,72 @@
+package suitebot.ai;
+
+import suitebot.game.Direction;
+import suitebot.game.GameState;
+import suitebot.strategies.TurnContext;
+
+import java.util.*;
+
+/**
+ * First stage of the move decision, run before any search: answers the positions that do not need one and
+ * tells the search which moves are worth comparing at all.
+ *
+ * A move is a candidate if it does not run into an obstacle or a bot head. A candidate is dropped as dominated
+ * if it leads into a sealed region several times smaller than the region another candidate leads into,
+ * e.g. a one-cell pocket next to open space. The decision is forced if at most one candidate is left.
+ */
+class Triage {
+
+    static final int OPEN_REGION = TurnContext.OPEN_REGION; // Region size from which a move counts as leading into open space
+    static final int DOMINANCE_FACTOR = 4; // How many times larger the other region has to be
+
+    private final List<Direction> candidates;
+
+    private Triage(List<Direction> candidates) {
+        this.candidates = candidates;
+    }
+
+    static Triage of(int botId, GameState gameState) {
+        return of(TurnContext.of(botId, gameState));
+    }
+
+    static Triage of(TurnContext context) {
+        Map<Direction, Integer> regionSizes = new EnumMap<>(Direction.class);
+        int largestRegion = 0;
+        for (Direction dir : context.getValidMoves()) {
+            if (context.isBotHead(context.destination(dir))) continue;
+
+            int regionSize = context.getRegionSize(dir);
+            regionSizes.put(dir, regionSize);
+            largestRegion = Math.max(largestRegion, regionSize);
+        }
+
+        List<Direction> candidates = new ArrayList<>();
+        for (Map.Entry<Direction, Integer> entry : regionSizes.entrySet()) {
+            int regionSize = entry.getValue();
+            boolean dominated = regionSize < OPEN_REGION && regionSize * DOMINANCE_FACTOR <= largestRegion;
+            if (!dominated) candidates.add(entry.getKey());
+        }
+        return new Triage(candidates);
+    }
+
+    /**
+     * Whether the move is decided without a search: there is a single candidate, or none at all.
+     */
+    boolean isDecided() {
+        return candidates.size() <= 1;
+    }
+
+    /**
+     * The forced move; when every move is lost, the bot goes down as it would after a search.
+     */
+    Direction getDecision() {
+        return candidates.isEmpty() ? Direction.DOWN : candidates.get(0);
+    }
+
+    /**
+     * The moves left for the search to compare, in the order of {@link Direction#values()}.
+     */
+    List<Direction> getCandidates() {
+        return candidates;
+    }
+}
@@ -0,0 +1,166 @@
+package suitebot.arena;
+
+import suitebot.ai.BotAi;
+import suitebot.game.GameState;
+import suitebot.game.GameStateGenerator;
+import suitebot.log.Level;
+import suitebot.log.Log;
+import suitebot.tools.CommandLine;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+
+/**
+ * Self-play arena: plays many games between AIs on seeded random boards, in parallel on all cores,
+ * and reports the win rate and the move latencies of each AI.
+ *
+ * The AIs take turns in the seats of the board from game to game, so that no AI profits from a starting
+ * location. Games with the same seed are played on the same boards.
+ *
+ * <pre>
+ * Arena --games=1000 --size=30 --fill=0.05 --bots=2 --seed=1 suitebot.ai.SampleBotAi com.example.OtherBotAi
+ * </pre>
+ *
+ * AIs are given as class names with a public no-argument constructor; a new instance plays every game.
+ * AIs that adapt their search to the deadline take it from {@code -Dsuitebot.deadlineMillis}, so lower it to play faster.
+ */
+public class Arena
+{
+	private final int width;
+	private final int height;
+	private final int botCount;
+	private final double fillRatio;
+	private final int threadCount;
+
+	public Arena(int width, int height, int botCount, double fillRatio, int threadCount)
+	{
+		this.width = width;
+		this.height = height;
+		this.botCount = botCount;
+		this.fillRatio = fillRatio;
+		this.threadCount = threadCount;
+	}
+
+	public static void main(String[] args) throws Exception
+	{
+		CommandLine commandLine = new CommandLine(args);
+		Log.setLevel(Level.valueOf(commandLine.get("logLevel", Level.WARN.name()).toUpperCase()));
+
+		List<String> classNames = commandLine.getArguments().isEmpty()
+				? List.of("suitebot.ai.SampleBotAi", "suitebot.ai.SampleBotAi")
+				: commandLine.getArguments();
+
+		List<Entrant> entrants = new ArrayList<>();
+		for (String className : classNames)
+			entrants.add(Entrant.of(className));
+
+		int size = commandLine.getInt("size", 30);
+		Arena arena = new Arena(size, size, commandLine.getInt("bots", entrants.size()), commandLine.getDouble("fill", 0.05),
+		                        commandLine.getInt("threads", Runtime.getRuntime().availableProcessors()));
+
+		System.out.println(arena.run(entrants, commandLine.getInt("games", 100), commandLine.getLong("seed", 1)));
+	}
+
+	/**
+	 * Plays the given number of games; game {@code i} is played on the board generated from {@code seed + i}.
+	 */
+	public ArenaReport run(List<Entrant> entrants, int games, long seed) throws InterruptedException
+	{
+		ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+		try
+		{
+			List<Future<GameRecord>> records = new ArrayList<>();
+			List<Map<Integer, Integer>> seatings = new ArrayList<>();
+			for (int game = 0; game < games; game++)
+			{
+				GameState board = GameStateGenerator.generate(width, height, botCount, fillRatio, seed + game);
+				Map<Integer, Integer> seating = seating(board, entrants.size(), game);
+				Map<Integer, BotAi> players = new HashMap<>();
+				seating.forEach((botId, entrant) -> players.put(botId, entrants.get(entrant).newAi()));
+
+				seatings.add(seating);
+				records.add(executor.submit(() -> new Referee().play(board, players)));
+			}
+
+			ArenaReport report = new ArenaReport(entrants);
+			for (int game = 0; game < games; game++)
+				report.add(records.get(game).get(), seatings.get(game));
+			return report;
+		}
+		catch (ExecutionException e)
+		{
+			throw new IllegalStateException("game failed", e.getCause());
+		}
+		finally
+		{
+			executor.shutdownNow();
+		}
+	}
+
+	/**
+	 * Seats the entrants round robin, shifted by one seat every game.
+	 *
+	 * @return the index of the entrant playing each bot, by bot ID
+	 */
+	private static Map<Integer, Integer> seating(GameState board, int entrantCount, int game)
+	{
+		Map<Integer, Integer> seating = new HashMap<>();
+		List<Integer> botIds = board.getAllBotIds();
+		for (int seat = 0; seat < botIds.size(); seat++)
+			seating.put(botIds.get(seat), (seat + game) % entrantCount);
+		return seating;
+	}
+
+	/**
+	 * An AI taking part in the arena.
+	 */
+	public static class Entrant
+	{
+		private final String name;
+		private final Supplier<BotAi> factory;
+
+		/**
+		 * @param name name of the entrant in the report
+		 * @param factory creates the AI for each game
+		 */
+		public Entrant(String name, Supplier<BotAi> factory)
+		{
+			this.name = name;
+			this.factory = factory;
+		}
+
+		static Entrant of(String className) throws ReflectiveOperationException
+		{
+			Class<? extends BotAi> type = Class.forName(className).asSubclass(BotAi.class);
+			type.getConstructor(); // fail early if the class cannot be instantiated
+
+			return new Entrant(type.getSimpleName(), () -> {
+				try
+				{
+					return type.getConstructor().newInstance();
+				}
+				catch (ReflectiveOperationException e)
+				{
+					throw new IllegalStateException("cannot create " + className, e);
+				}
+			});
+		}
+
+		public String getName()
+		{
+			return name;
+		}
+
+		BotAi newAi()
+		{
+			return factory.get();
+		}
+	}
+}
@@ -0,0 +1,111 @@
+package suitebot.arena;
+
+import suitebot.tools.LatencySummary;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Results of the games played in the {@link Arena}, per entrant.
+ */
+public class ArenaReport
+{
+	/** z-score of the two-sided 95% confidence interval */
+	private static final double Z_95 = 1.96;
+
+	private final List<Arena.Entrant> entrants;
+	private final long[] seats;
+	private final long[] wins;
+	private final long[] draws;
+	private final List<List<long[]>> latencies = new ArrayList<>();
+	private long games;
+	private long turns;
+	private long errors;
+
+	ArenaReport(List<Arena.Entrant> entrants)
+	{
+		this.entrants = entrants;
+		this.seats = new long[entrants.size()];
+		this.wins = new long[entrants.size()];
+		this.draws = new long[entrants.size()];
+		for (int i = 0; i < entrants.size(); i++)
+			latencies.add(new ArrayList<>());
+	}
+
+	void add(GameRecord record, Map<Integer, Integer> seating)
+	{
+		games++;
+		turns += record.getTurns();
+		errors += record.getErrors();
+
+		seating.forEach((botId, entrant) -> {
+			seats[entrant]++;
+			if (record.getWinnerId() == botId)
+				wins[entrant]++;
+			else if (record.getWinnerId() == Referee.DRAW)
+				draws[entrant]++;
+			latencies.get(entrant).add(record.getMoveLatencies(botId));
+		});
+	}
+
+	public long getGames()
+	{
+		return games;
+	}
+
+	/**
+	 * @return the share of its seats the entrant won
+	 */
+	public double winRate(int entrant)
+	{
+		return seats[entrant] == 0 ? 0 : wins[entrant] / (double) seats[entrant];
+	}
+
+	/**
+	 * Wilson score interval of the win rate at 95% confidence.
+	 *
+	 * @return the lower and the upper bound of the interval
+	 */
+	public double[] winRateInterval(int entrant)
+	{
+		double n = seats[entrant];
+		if (n == 0)
+			return new double[] {0, 1};
+
+		double p = winRate(entrant);
+		double z2 = Z_95 * Z_95;
+		double center = (p + z2 / (2 * n)) / (1 + z2 / n);
+		double halfWidth = Z_95 / (1 + z2 / n) * Math.sqrt(p * (1 - p) / n + z2 / (4 * n * n));
+		return new double[] {Math.max(0, center - halfWidth), Math.min(1, center + halfWidth)};
+	}
+
+	public LatencySummary moveLatency(int entrant)
+	{
+		List<long[]> perGame = latencies.get(entrant);
+		long[] all = new long[perGame.stream().mapToInt(l -> l.length).sum()];
+		int offset = 0;
+		for (long[] gameLatencies : perGame)
+		{
+			System.arraycopy(gameLatencies, 0, all, offset, gameLatencies.length);
+			offset += gameLatencies.length;
+		}
+		return new LatencySummary(all);
+	}
+
+	@Override
+	public String toString()
+	{
+		StringBuilder report = new StringBuilder();
+		report.append(String.format("games=%d avgTurns=%.1f errors=%d%n", games, games == 0 ? 0 : turns / (double) games, errors));
+		for (int i = 0; i < entrants.size(); i++)
+		{
+			double[] interval = winRateInterval(i);
+			LatencySummary latency = moveLatency(i);
+			report.append(String.format("#%d %s: seats=%d wins=%d draws=%d winRate=%.3f [%.3f, %.3f] moves=%d %s%n",
+			                            i, entrants.get(i).getName(), seats[i], wins[i], draws[i], winRate(i),
+			                            interval[0], interval[1], latency.count(), latency));
+		}
+		return report.toString();
+	}
+}
@@ -0,0 +1,52 @@
+package suitebot.arena;
+
+import java.util.Map;
+
+/**
+ * Outcome of one game played by the {@link Referee}.
+ */
+public class GameRecord
+{
+	private final int winnerId;
+	private final int turns;
+	private final Map<Integer, long[]> moveLatencies;
+	private final int errors;
+
+	GameRecord(int winnerId, int turns, Map<Integer, long[]> moveLatencies, int errors)
+	{
+		this.winnerId = winnerId;
+		this.turns = turns;
+		this.moveLatencies = moveLatencies;
+		this.errors = errors;
+	}
+
+	/**
+	 * @return the ID of the last surviving bot or {@link Referee#DRAW} if the last bots died in the same turn
+	 */
+	public int getWinnerId()
+	{
+		return winnerId;
+	}
+
+	public int getTurns()
+	{
+		return turns;
+	}
+
+	/**
+	 * @param botId ID of a bot of the game
+	 * @return the time the bot took for each of its moves, in nanoseconds
+	 */
+	public long[] getMoveLatencies(int botId)
+	{
+		return moveLatencies.get(botId);
+	}
+
+	/**
+	 * @return the number of moves for which an AI threw an exception
+	 */
+	public int getErrors()
+	{
+		return errors;
+	}
+}
@@ -0,0 +1,87 @@
+package suitebot.arena;
+
+import suitebot.ai.BotAi;
+import suitebot.game.Direction;
+import suitebot.game.GameState;
+import suitebot.game.StateTransition;
+import suitebot.session.SessionRegistry;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Plays a game between AIs in-process by the rules of {@link StateTransition}: all live bots move at once
+ * on a wrapping plan, their trails become obstacles and bots moving onto the same cell die.
+ *
+ * Every turn turns at least one free cell into an obstacle, so a game always ends.
+ * An AI that throws an exception or returns no move dies.
+ */
+public class Referee
+{
+	public static final int DRAW = 0;
+
+	/**
+	 * @param initialState the starting position
+	 * @param players the AI playing each bot of the starting position, by bot ID
+	 * @return the outcome of the game
+	 */
+	public GameRecord play(GameState initialState, Map<Integer, BotAi> players)
+	{
+		// each game keeps its own sessions, so that AIs see consecutive turns of the same game
+		SessionRegistry sessionRegistry = new SessionRegistry();
+		Map<Integer, long[]> latencies = new HashMap<>();
+		Map<Integer, Integer> moveCounts = new HashMap<>();
+		int errors = 0;
+
+		GameState gameState = initialState;
+		int turns = 0;
+
+		while (gameState.getLiveBotIds().size() > 1)
+		{
+			Map<Integer, Direction> moves = new HashMap<>();
+			for (int botId : gameState.getLiveBotIds())
+			{
+				long startTime = System.nanoTime();
+				Direction move;
+				try
+				{
+					move = players.get(botId).makeMove(botId, gameState, sessionRegistry.sessionFor(botId, gameState, null));
+				}
+				catch (RuntimeException e)
+				{
+					move = null;
+					errors++;
+				}
+				record(latencies, moveCounts, botId, System.nanoTime() - startTime);
+
+				if (move != null)
+					moves.put(botId, move);
+			}
+
+			gameState = StateTransition.apply(gameState, moves);
+			turns++;
+		}
+
+		int winnerId = gameState.getLiveBotIds().size() == 1 ? gameState.getLiveBotIds().iterator().next() : DRAW;
+
+		Map<Integer, long[]> moveLatencies = new HashMap<>();
+		for (int botId : initialState.getAllBotIds())
+			moveLatencies.put(botId, Arrays.copyOf(latencies.getOrDefault(botId, new long[0]), moveCounts.getOrDefault(botId, 0)));
+
+		return new GameRecord(winnerId, turns, moveLatencies, errors);
+	}
+
+	private static void record(Map<Integer, long[]> latencies, Map<Integer, Integer> moveCounts, int botId, long latency)
+	{
+		int count = moveCounts.getOrDefault(botId, 0);
+		long[] botLatencies = latencies.get(botId);
+		if (botLatencies == null || botLatencies.length == count)
+		{
+			botLatencies = botLatencies == null ? new long[64] : Arrays.copyOf(botLatencies, count * 2);
+			latencies.put(botId, botLatencies);
+		}
+		botLatencies[count] = latency;
+		moveCounts.put(botId, count + 1);
+	}
+}
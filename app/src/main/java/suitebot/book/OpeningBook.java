@@ -0,0 +1,115 @@
+package suitebot.book;
+
+import suitebot.game.Direction;
+import suitebot.game.GameState;
+import suitebot.game.GameStateHash;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Precomputed decisions for the first moves of a game, read from a memory-mapped file.
+ *
+ * The file is an open-addressing hash table: a header followed by {@code capacity} slots of
+ * a position key (8 bytes, 0 marks an empty slot) and the ordinal of the booked direction (1 byte).
+ * The key combines the {@link GameStateHash} of the position with the ID of the bot to move.
+ * Lookups probe the mapped file directly, so the book is never copied onto the heap.
+ *
+ * @see OpeningBookWriter
+ */
+public class OpeningBook
+{
+	static final int MAGIC = 0x53424F42; // "SBOB"
+	static final int VERSION = 1;
+	static final int HEADER_BYTES = 5 * Integer.BYTES;
+	static final int SLOT_BYTES = Long.BYTES + 1;
+	static final long EMPTY_KEY = 0;
+
+	private static final Direction[] DIRECTIONS = Direction.values();
+
+	private final ByteBuffer table;
+	private final int plies;
+	private final int capacity;
+	private final int entryCount;
+
+	private OpeningBook(ByteBuffer table)
+	{
+		if (table.getInt(0) != MAGIC)
+			throw new InvalidBookException("not an opening book");
+		if (table.getInt(4) != VERSION)
+			throw new InvalidBookException("unsupported opening book version: " + table.getInt(4));
+
+		this.table = table;
+		this.plies = table.getInt(8);
+		this.capacity = table.getInt(12);
+		this.entryCount = table.getInt(16);
+
+		if (Integer.bitCount(capacity) != 1 || table.capacity() < HEADER_BYTES + (long) capacity * SLOT_BYTES)
+			throw new InvalidBookException("truncated or corrupt opening book");
+	}
+
+	/**
+	 * Memory-maps the opening book stored in the given file.
+	 */
+	public static OpeningBook open(Path path) throws IOException
+	{
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ))
+		{
+			return new OpeningBook(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+		}
+	}
+
+	/**
+	 * Returns the booked move for the bot in the given position.
+	 *
+	 * @param botId ID of the bot to move
+	 * @param gameState current game state
+	 * @return the booked move or null if the position is not in the book
+	 */
+	public Direction lookup(int botId, GameState gameState)
+	{
+		long key = key(botId, GameStateHash.of(gameState));
+		int mask = capacity - 1;
+
+		for (int slot = (int) key & mask, probes = 0; probes < capacity; slot = (slot + 1) & mask, probes++)
+		{
+			int offset = HEADER_BYTES + slot * SLOT_BYTES;
+			long slotKey = table.getLong(offset);
+			if (slotKey == key)
+				return DIRECTIONS[table.get(offset + Long.BYTES)];
+			if (slotKey == EMPTY_KEY)
+				return null;
+		}
+		return null;
+	}
+
+	/**
+	 * Returns the number of moves the book covers from the start of a game.
+	 */
+	public int getPlies()
+	{
+		return plies;
+	}
+
+	public int size()
+	{
+		return entryCount;
+	}
+
+	static long key(int botId, long stateHash)
+	{
+		long key = GameStateHash.mix(stateHash ^ ((long) botId * 0x9E3779B97F4A7C15L));
+		return key == EMPTY_KEY ? 1 : key;
+	}
+
+	public static class InvalidBookException extends RuntimeException
+	{
+		public InvalidBookException(String message)
+		{
+			super(message);
+		}
+	}
+}
@@ -0,0 +1,141 @@
+package suitebot.book;
+
+import suitebot.ai.Call;
+import suitebot.ai.OpponentModel;
+import suitebot.game.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.*;
+
+/**
+ * Offline generator of the {@link OpeningBook}.
+ *
+ * Starting from the given boards, it plays out every combination of the most likely moves of all bots
+ * for the requested number of plies and books the move {@link Call} chooses for every bot in every position.
+ */
+public class OpeningBookGenerator
+{
+	public static final int DEFAULT_BRANCHING = 2;
+
+	private final int plies;
+	private final int branching;
+
+	public OpeningBookGenerator(int plies, int branching)
+	{
+		this.plies = plies;
+		this.branching = branching;
+	}
+
+	public static void main(String[] args) throws IOException
+	{
+		if (args.length < 3)
+		{
+			System.err.println("usage: OpeningBookGenerator <output-file> <plies> <board>...");
+			System.err.println("  <board> is a file with a game plan in the GameStateFactory format,");
+			System.err.println("  or WIDTHxHEIGHT:BOTS for an empty plan with the bots spread along its diagonal");
+			System.exit(1);
+		}
+
+		Path output = Paths.get(args[0]);
+		int plies = Integer.parseInt(args[1]);
+
+		List<GameState> startingPositions = new ArrayList<>();
+		for (int i = 2; i < args.length; i++)
+			startingPositions.add(readBoard(args[i]));
+
+		OpeningBookWriter writer = new OpeningBookGenerator(plies, DEFAULT_BRANCHING).generate(startingPositions);
+		writer.write(output);
+		System.out.println("booked " + writer.size() + " positions into " + output);
+	}
+
+	public OpeningBookWriter generate(List<GameState> startingPositions)
+	{
+		OpeningBookWriter writer = new OpeningBookWriter(plies);
+		List<GameState> positions = new ArrayList<>(startingPositions);
+
+		for (int ply = 0; ply < plies && !positions.isEmpty(); ply++)
+		{
+			positions.parallelStream().forEach(position -> {
+				for (int botId : position.getLiveBotIds())
+					writer.add(botId, position, Call.getDirection(botId, position));
+			});
+
+			if (ply + 1 < plies)
+				positions = successors(positions);
+		}
+		return writer;
+	}
+
+	private List<GameState> successors(List<GameState> positions)
+	{
+		Map<Long, GameState> successors = new LinkedHashMap<>();
+		for (GameState position : positions)
+		{
+			for (Map<Integer, Direction> jointMove : jointMoves(position))
+			{
+				GameState successor = StateTransition.apply(position, jointMove);
+				if (!successor.getLiveBotIds().isEmpty())
+					successors.putIfAbsent(GameStateHash.of(successor), successor);
+			}
+		}
+		return new ArrayList<>(successors.values());
+	}
+
+	private List<Map<Integer, Direction>> jointMoves(GameState position)
+	{
+		List<Map<Integer, Direction>> jointMoves = new ArrayList<>();
+		jointMoves.add(new HashMap<>());
+
+		for (int botId : position.getLiveBotIds())
+		{
+			List<Direction> moves = OpponentModel.likelyMoves(botId, position);
+			if (moves.isEmpty())
+				continue;
+
+			List<Map<Integer, Direction>> extended = new ArrayList<>();
+			for (Map<Integer, Direction> jointMove : jointMoves)
+			{
+				for (Direction move : moves.subList(0, Math.min(branching, moves.size())))
+				{
+					Map<Integer, Direction> next = new HashMap<>(jointMove);
+					next.put(botId, move);
+					extended.add(next);
+				}
+			}
+			jointMoves = extended;
+		}
+		return jointMoves;
+	}
+
+	private static GameState readBoard(String board) throws IOException
+	{
+		if (board.matches("\\d+x\\d+:\\d+"))
+		{
+			String[] parts = board.split("[x:]");
+			return emptyPlan(Integer.parseInt(parts[0]), Integer.parseInt(parts[1]), Integer.parseInt(parts[2]));
+		}
+		return GameStateFactory.createFromString(Files.readString(Paths.get(board)));
+	}
+
+	static GameState emptyPlan(int width, int height, int botCount)
+	{
+		List<Integer> botIds = new ArrayList<>();
+		Map<Integer, Point> botLocations = new HashMap<>();
+		for (int i = 0; i < botCount; i++)
+		{
+			int botId = i + 1;
+			botIds.add(botId);
+			botLocations.put(botId, new Point((2 * i + 1) * width / (2 * botCount), (2 * i + 1) * height / (2 * botCount)));
+		}
+
+		return ImmutableGameState.builder()
+				.setPlanWidth(width)
+				.setPlanHeight(height)
+				.setBotIds(botIds)
+				.setBotLocationMap(botLocations)
+				.build();
+	}
+}
@@ -0,0 +1,75 @@
+package suitebot.book;
+
+import suitebot.game.Direction;
+import suitebot.game.GameState;
+import suitebot.game.GameStateHash;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Collects booked moves and writes them in the format read by {@link OpeningBook}.
+ */
+public class OpeningBookWriter
+{
+	private final int plies;
+	private final Map<Long, Direction> moves = new HashMap<>();
+
+	/**
+	 * @param plies number of moves from the start of a game the book covers
+	 */
+	public OpeningBookWriter(int plies)
+	{
+		this.plies = plies;
+	}
+
+	public synchronized OpeningBookWriter add(int botId, GameState gameState, Direction move)
+	{
+		moves.put(OpeningBook.key(botId, GameStateHash.of(gameState)), move);
+		return this;
+	}
+
+	public synchronized int size()
+	{
+		return moves.size();
+	}
+
+	public synchronized void write(Path path) throws IOException
+	{
+		int capacity = Integer.highestOneBit(Math.max(1, moves.size()) * 2 - 1) << 1;
+		ByteBuffer buffer = ByteBuffer.allocate(OpeningBook.HEADER_BYTES + capacity * OpeningBook.SLOT_BYTES)
+				.order(ByteOrder.BIG_ENDIAN);
+
+		buffer.putInt(0, OpeningBook.MAGIC);
+		buffer.putInt(4, OpeningBook.VERSION);
+		buffer.putInt(8, plies);
+		buffer.putInt(12, capacity);
+		buffer.putInt(16, moves.size());
+
+		int mask = capacity - 1;
+		for (Map.Entry<Long, Direction> entry : moves.entrySet())
+		{
+			long key = entry.getKey();
+			int slot = (int) key & mask;
+			while (buffer.getLong(OpeningBook.HEADER_BYTES + slot * OpeningBook.SLOT_BYTES) != OpeningBook.EMPTY_KEY)
+				slot = (slot + 1) & mask;
+
+			int offset = OpeningBook.HEADER_BYTES + slot * OpeningBook.SLOT_BYTES;
+			buffer.putLong(offset, key);
+			buffer.put(offset + Long.BYTES, (byte) entry.getValue().ordinal());
+		}
+
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+		                                            StandardOpenOption.TRUNCATE_EXISTING))
+		{
+			while (buffer.hasRemaining())
+				channel.write(buffer);
+		}
+	}
+}
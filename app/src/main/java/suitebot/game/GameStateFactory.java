@@ -65,6 +65,37 @@ public class GameStateFactory
 				.build();
 	}
 
+	/**
+	 * Returns the rows of the game plan in the format read by {@link #createFromString(String)}.
+	 * Bot IDs are written as single digits, so only bots with IDs 0-9 can be represented.
+	 */
+	public static List<String> toPlanRows(GameState gameState)
+	{
+		int width = gameState.getPlanWidth();
+		int height = gameState.getPlanHeight();
+
+		char[][] plan = new char[height][width];
+		for (char[] row : plan)
+			Arrays.fill(row, EMPTY);
+
+		for (Point obstacle : gameState.getObstacleLocations())
+			plan[obstacle.y][obstacle.x] = OBSTACLE;
+
+		for (int botId : gameState.getLiveBotIds())
+		{
+			if (botId < 0 || botId > 9)
+				throw new GameStateCreationException("bot ID cannot be written as a digit: " + botId);
+
+			Point location = gameState.getBotLocation(botId);
+			plan[location.y][location.x] = Character.forDigit(botId, 10);
+		}
+
+		List<String> rows = new ArrayList<>(height);
+		for (char[] row : plan)
+			rows.add(new String(row));
+		return rows;
+	}
+
 	private static void assertRectangularPlan(String[] lines)
 	{
 		int width = lines[0].length();
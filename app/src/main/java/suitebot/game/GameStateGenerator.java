@@ -0,0 +1,65 @@
+package suitebot.game;
+
+import java.util.*;
+
+/**
+ * Generates reproducible random game states: obstacles scattered over the plan with the given
+ * probability and the bots placed on random free locations.
+ */
+public class GameStateGenerator
+{
+	public static final int MAX_BOTS = 9;
+
+	/**
+	 * @param width width of the plan
+	 * @param height height of the plan
+	 * @param botCount number of bots, with IDs 1 to {@code botCount}
+	 * @param fillRatio probability of a location being an obstacle, from 0 to 1
+	 * @param seed seed of the random generator; equal arguments give equal states
+	 * @return the generated game state
+	 */
+	public static GameState generate(int width, int height, int botCount, double fillRatio, long seed)
+	{
+		if (botCount < 1 || botCount > MAX_BOTS)
+			throw new IllegalArgumentException("botCount must be between 1 and " + MAX_BOTS);
+		if (fillRatio < 0 || fillRatio >= 1)
+			throw new IllegalArgumentException("fillRatio must be at least 0 and less than 1");
+
+		Random random = new Random(seed);
+		List<Point> obstacles = new ArrayList<>();
+		List<Point> freeLocations = new ArrayList<>();
+
+		for (int y = 0; y < height; y++)
+		{
+			for (int x = 0; x < width; x++)
+			{
+				if (random.nextDouble() < fillRatio)
+					obstacles.add(new Point(x, y));
+				else
+					freeLocations.add(new Point(x, y));
+			}
+		}
+
+		if (freeLocations.size() < botCount)
+			throw new IllegalArgumentException("not enough free locations for " + botCount + " bots");
+
+		List<Integer> botIds = new ArrayList<>();
+		Map<Integer, Point> botLocations = new HashMap<>();
+		for (int botId = 1; botId <= botCount; botId++)
+		{
+			int index = random.nextInt(freeLocations.size());
+			botIds.add(botId);
+			botLocations.put(botId, freeLocations.get(index));
+			freeLocations.set(index, freeLocations.get(freeLocations.size() - 1));
+			freeLocations.remove(freeLocations.size() - 1);
+		}
+
+		return ImmutableGameState.builder()
+				.setPlanWidth(width)
+				.setPlanHeight(height)
+				.setBotIds(botIds)
+				.setBotLocationMap(botLocations)
+				.setObstacles(obstacles)
+				.build();
+	}
+}
@@ -0,0 +1,42 @@
+package suitebot.game;
+
+/**
+ * 64-bit fingerprint of a game state: the plan size, the obstacles and the heads of the live bots.
+ *
+ * The contributions of the individual locations are combined by addition, so the hash does not depend
+ * on the iteration order of the sets it is computed from.
+ */
+public class GameStateHash
+{
+	private static final long OBSTACLE_SALT = 0x632BE59BD9B4E019L;
+	private static final long HEAD_SALT = 0x9E3779B97F4A7C15L;
+
+	public static long of(GameState gameState)
+	{
+		int width = gameState.getPlanWidth();
+		long hash = mix(((long) width << 32) | gameState.getPlanHeight());
+
+		for (Point obstacle : gameState.getObstacleLocations())
+			hash += mix(OBSTACLE_SALT + cellIndex(obstacle, width));
+
+		for (int botId : gameState.getLiveBotIds())
+			hash += mix(HEAD_SALT ^ ((long) botId << 40) ^ cellIndex(gameState.getBotLocation(botId), width));
+
+		return mix(hash);
+	}
+
+	/**
+	 * SplitMix64 finalizer.
+	 */
+	public static long mix(long z)
+	{
+		z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+		z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+		return z ^ (z >>> 31);
+	}
+
+	private static long cellIndex(Point location, int width)
+	{
+		return (long) location.y * width + location.x;
+	}
+}
@@ -0,0 +1,71 @@
+package suitebot.game;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Rules of the game as the bots assume them: the plan wraps around at its edges, all live bots move
+ * at once, the cell a bot leaves becomes part of its trail (an obstacle), and a bot dies when it moves
+ * onto an obstacle or when several bots move onto the same cell (head-on collision).
+ */
+public class StateTransition
+{
+	/**
+	 * Returns the state after all live bots have made the given moves.
+	 * A live bot without a move is considered dead.
+	 *
+	 * @param gameState current game state
+	 * @param moves moves of the live bots by bot ID
+	 * @return the next game state
+	 */
+	public static GameState apply(GameState gameState, Map<Integer, Direction> moves)
+	{
+		int width = gameState.getPlanWidth();
+		int height = gameState.getPlanHeight();
+
+		Set<Point> obstacles = new HashSet<>(gameState.getObstacleLocations());
+		Map<Integer, Point> destinations = new HashMap<>();
+		Map<Point, Integer> arrivals = new HashMap<>();
+
+		for (int botId : gameState.getLiveBotIds())
+		{
+			Point head = gameState.getBotLocation(botId);
+			obstacles.add(head);
+
+			Direction move = moves.get(botId);
+			if (move == null)
+				continue;
+
+			Point destination = wrap(move.from(head), width, height);
+			destinations.put(botId, destination);
+			arrivals.merge(destination, 1, Integer::sum);
+		}
+
+		Map<Integer, Point> survivors = new HashMap<>();
+		for (Map.Entry<Integer, Point> entry : destinations.entrySet())
+		{
+			Point destination = entry.getValue();
+			if (!obstacles.contains(destination) && arrivals.get(destination) == 1)
+				survivors.put(entry.getKey(), destination);
+		}
+
+		return ImmutableGameState.builder()
+				.setPlanWidth(width)
+				.setPlanHeight(height)
+				.setBotIds(gameState.getAllBotIds())
+				.setLiveBotIds(survivors.keySet())
+				.setBotLocationMap(survivors)
+				.setObstacles(obstacles)
+				.build();
+	}
+
+	/**
+	 * Maps a location that may lie outside the plan back onto the plan.
+	 */
+	public static Point wrap(Point location, int width, int height)
+	{
+		return new Point(Math.floorMod(location.x, width), Math.floorMod(location.y, height));
+	}
+}
@@ -0,0 +1,42 @@
+package suitebot.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import suitebot.game.GameState;
+
+/**
+ * Flight recorder event describing the board a decision was made on, so that slow decisions
+ * in a recording can be tied to board characteristics.
+ *
+ * Events are used like {@code begin(); ...; if (shouldCommit()) { describe(...); ...; commit(); }},
+ * so that nothing but the allocation (usually eliminated by escape analysis) is done while
+ * recording is off.
+ */
+@Category("Suitebot")
+abstract class BoardEvent extends Event
+{
+	@Label("Bot ID")
+	int botId;
+
+	@Label("Plan Width")
+	int planWidth;
+
+	@Label("Plan Height")
+	int planHeight;
+
+	@Label("Live Bots")
+	int liveBots;
+
+	@Label("Obstacles")
+	int obstacles;
+
+	public void describe(int botId, GameState gameState)
+	{
+		this.botId = botId;
+		this.planWidth = gameState.getPlanWidth();
+		this.planHeight = gameState.getPlanHeight();
+		this.liveBots = gameState.getLiveBotIds().size();
+		this.obstacles = gameState.getObstacleLocations().size();
+	}
+}
@@ -0,0 +1,39 @@
+package suitebot.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import suitebot.game.Direction;
+
+/**
+ * A move decided by the search, including the adjustment of the search scores.
+ */
+@Name("suitebot.Decision")
+@Label("Decision")
+@Description("Move decided by the search")
+public class DecisionEvent extends BoardEvent
+{
+	@Label("Direction")
+	String direction;
+
+	@Label("Rollouts")
+	long rollouts;
+
+	@Label("Ponder Hit")
+	boolean ponderHit;
+
+	public void setDirection(Direction direction)
+	{
+		this.direction = direction != null ? direction.name() : null;
+	}
+
+	public void setRollouts(long rollouts)
+	{
+		this.rollouts = rollouts;
+	}
+
+	public void setPonderHit(boolean ponderHit)
+	{
+		this.ponderHit = ponderHit;
+	}
+}
@@ -0,0 +1,32 @@
+package suitebot.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import suitebot.game.Direction;
+
+/**
+ * A move request processed by the bot server, from receiving the request to the response.
+ * The board is not described if the request was answered from the decision cache without decoding it.
+ */
+@Name("suitebot.MoveRequest")
+@Label("Move Request")
+@Description("Move request processed by the bot server")
+public class MoveRequestEvent extends BoardEvent
+{
+	@Label("Direction")
+	String direction;
+
+	@Label("Cached")
+	boolean cached;
+
+	public void setDirection(Direction direction)
+	{
+		this.direction = direction != null ? direction.name() : null;
+	}
+
+	public void setCached(boolean cached)
+	{
+		this.cached = cached;
+	}
+}
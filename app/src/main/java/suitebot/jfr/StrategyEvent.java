@@ -0,0 +1,61 @@
+package suitebot.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import suitebot.game.Direction;
+
+import java.util.Map;
+
+/**
+ * One evaluation of the possible moves by a strategy. The iterations are the units of work of
+ * the strategy: rollouts, expanded nodes or visited cells.
+ */
+@Name("suitebot.Strategy")
+@Label("Strategy Evaluation")
+@Description("Evaluation of the possible moves by one strategy")
+public class StrategyEvent extends BoardEvent
+{
+	@Label("Strategy")
+	String strategy;
+
+	@Label("Max Depth")
+	int maxDepth;
+
+	@Label("Iterations")
+	long iterations;
+
+	@Label("Best Direction")
+	String bestDirection;
+
+	public StrategyEvent(String strategy)
+	{
+		this.strategy = strategy;
+	}
+
+	public void setMaxDepth(int maxDepth)
+	{
+		this.maxDepth = maxDepth;
+	}
+
+	public void setIterations(long iterations)
+	{
+		this.iterations = iterations;
+	}
+
+	/**
+	 * Records the direction with the highest positive score, if any.
+	 */
+	public void setScores(Map<Direction, Integer> moveScores)
+	{
+		int bestScore = 0;
+		for (Map.Entry<Direction, Integer> entry : moveScores.entrySet())
+		{
+			if (entry.getValue() > bestScore)
+			{
+				bestScore = entry.getValue();
+				bestDirection = entry.getKey().name();
+			}
+		}
+	}
+}
@@ -0,0 +1,24 @@
+package suitebot.json;
+
+import com.google.gson.JsonDeserializationContext;
+import com.google.gson.JsonDeserializer;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+
+import java.lang.reflect.Type;
+
+public class GameIdDeserializer implements JsonDeserializer<String>
+{
+	public static final String GAME_ID = "gameId";
+
+	@Override
+	public String deserialize(JsonElement jsonElement, Type type, JsonDeserializationContext jsonDeserializationContext) throws JsonParseException
+	{
+		JsonObject jsonObject = jsonElement.getAsJsonObject();
+		if (!jsonObject.has(GAME_ID) || jsonObject.get(GAME_ID).isJsonNull())
+			return null;
+
+		return jsonObject.get(GAME_ID).getAsString();
+	}
+}
@@ -1,23 +1,89 @@
 package suitebot.json;
 
 import com.google.gson.GsonBuilder;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
 import suitebot.game.GameState;
+import suitebot.game.GameStateFactory;
 
 public class JsonUtil
 {
+	/**
+	 * Parses a move request once, so that its parts can be read from the parsed request without parsing it again.
+	 */
+	public static JsonObject parseRequest(String json)
+	{
+		return JsonParser.parseString(json).getAsJsonObject();
+	}
+
 	public static GameState deserializeGameState(String json)
+	{
+		return deserializeGameState(parseRequest(json));
+	}
+
+	public static GameState deserializeGameState(JsonObject request)
 	{
 		return new GsonBuilder()
 				.registerTypeAdapter(GameState.class, new GameStateDeserializer())
 				.create()
-				.fromJson(json, GameState.class);
+				.fromJson(request, GameState.class);
 	}
 
 	public static int deserializeYourBotId(String json)
+	{
+		return deserializeYourBotId(parseRequest(json));
+	}
+
+	public static int deserializeYourBotId(JsonObject request)
 	{
 		return new GsonBuilder()
 				.registerTypeAdapter(Integer.class, new YourBotIdDeserializer())
 				.create()
-				.fromJson(json, Integer.class);
+				.fromJson(request, Integer.class);
+	}
+
+	/**
+	 * Returns the explicit ID of the game if the request carries one.
+	 *
+	 * @param json the move request
+	 * @return the game ID or null if the request does not have one
+	 */
+	public static String deserializeGameId(String json)
+	{
+		return deserializeGameId(parseRequest(json));
+	}
+
+	/**
+	 * Same as {@link #deserializeGameId(String)}, reading the parsed request.
+	 */
+	public static String deserializeGameId(JsonObject request)
+	{
+		return new GsonBuilder()
+				.registerTypeAdapter(String.class, new GameIdDeserializer())
+				.create()
+				.fromJson(request, String.class);
+	}
+
+	/**
+	 * Writes a move request in the format sent by the game server.
+	 *
+	 * @param yourBotId ID of the bot that should move
+	 * @param gameState current game state
+	 * @return the move request
+	 */
+	public static String serializeMoveRequest(int yourBotId, GameState gameState)
+	{
+		JsonArray gamePlan = new JsonArray();
+		GameStateFactory.toPlanRows(gameState).forEach(gamePlan::add);
+
+		JsonArray botIds = new JsonArray();
+		gameState.getAllBotIds().forEach(botIds::add);
+
+		JsonObject request = new JsonObject();
+		request.addProperty("yourBotId", yourBotId);
+		request.add("gamePlan", gamePlan);
+		request.add("botIds", botIds);
+		return request.toString();
 	}
 }
@@ -0,0 +1,95 @@
+package suitebot.json;
+
+/**
+ * Fast 64-bit fingerprint of a move request computed from the raw JSON text of the
+ * {@code yourBotId}, {@code gamePlan} and {@code botIds} values, without decoding the request.
+ *
+ * Two requests get the same fingerprint when these values are written identically,
+ * which is the case for retried and replayed requests.
+ */
+public class RequestFingerprint
+{
+	/**
+	 * Fingerprint of requests that do not have all the fields; such requests should not be cached.
+	 */
+	public static final long NONE = 0;
+
+	private static final String[] FIELDS = {"yourBotId", "gamePlan", "botIds"};
+	private static final long FNV_OFFSET_BASIS = 0xCBF29CE484222325L;
+	private static final long FNV_PRIME = 0x100000001B3L;
+
+	public static long of(String json)
+	{
+		long hash = FNV_OFFSET_BASIS;
+
+		for (String field : FIELDS)
+		{
+			int start = valueStart(json, field);
+			if (start < 0)
+				return NONE;
+
+			int end = valueEnd(json, start);
+			for (int i = start; i < end; i++)
+				hash = (hash ^ json.charAt(i)) * FNV_PRIME;
+			hash = (hash ^ '|') * FNV_PRIME;
+		}
+
+		return hash == NONE ? 1 : hash;
+	}
+
+	private static int valueStart(String json, String field)
+	{
+		int keyIndex = json.indexOf('"' + field + '"');
+		if (keyIndex < 0)
+			return -1;
+
+		int i = json.indexOf(':', keyIndex + field.length() + 2);
+		if (i < 0)
+			return -1;
+
+		i++;
+		while (i < json.length() && Character.isWhitespace(json.charAt(i)))
+			i++;
+		return i < json.length() ? i : -1;
+	}
+
+	/**
+	 * Returns the index just past the JSON value starting at {@code start}.
+	 */
+	private static int valueEnd(String json, int start)
+	{
+		int depth = 0;
+		boolean inString = false;
+
+		for (int i = start; i < json.length(); i++)
+		{
+			char ch = json.charAt(i);
+
+			if (inString)
+			{
+				if (ch == '\\')
+					i++;
+				else if (ch == '"')
+				{
+					inString = false;
+					if (depth == 0)
+						return i + 1;
+				}
+			}
+			else if (ch == '"')
+				inString = true;
+			else if (ch == '[' || ch == '{')
+				depth++;
+			else if (ch == ']' || ch == '}')
+			{
+				if (depth == 0)
+					return i;
+				if (--depth == 0)
+					return i + 1;
+			}
+			else if (ch == ',' && depth == 0)
+				return i;
+		}
+		return json.length();
+	}
+}
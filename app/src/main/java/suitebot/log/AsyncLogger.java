@@ -0,0 +1,197 @@
+package suitebot.log;
+
+import java.io.PrintStream;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Logger that never blocks the threads that log.
+ *
+ * Events are written into a preallocated ring buffer of reusable {@link LogEvent} slots and a background
+ * thread formats and prints them. When the writer cannot keep up (e.g. stdout is a slow pipe), new events
+ * are dropped and counted instead of waiting for a free slot. Events below the current level are not
+ * recorded at all; the level can be changed at any time.
+ *
+ * An event claimed but not logged within a second is skipped. Its slot is replaced by a new
+ * one, so that the thread still holding the old slot cannot write into the event of the next thread to claim it;
+ * the old slot is marked abandoned and ignores whatever is still written into it.
+ */
+public class AsyncLogger
+{
+	public static final int DEFAULT_CAPACITY = 8192;
+
+	private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+	private static final long ABANDONED_EVENT_NANOS = TimeUnit.SECONDS.toNanos(1);
+	private static final int MAX_SPINS = 100; // Busy waits for an unfinished event before parking between looks
+	private static final long WAIT_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+
+	private final LogEvent[] ring;
+	private final int mask;
+	private final PrintStream out;
+	private final AtomicLong claimed = new AtomicLong();
+	private final AtomicLong dropped = new AtomicLong();
+
+	private volatile long consumed;
+	private volatile Level level;
+
+	public AsyncLogger(PrintStream out, Level level)
+	{
+		this(out, level, DEFAULT_CAPACITY);
+	}
+
+	/**
+	 * @param capacity number of events the ring buffer holds; rounded up to a power of two
+	 */
+	public AsyncLogger(PrintStream out, Level level, int capacity)
+	{
+		int size = Integer.highestOneBit(Math.max(2, capacity) * 2 - 1);
+		this.ring = new LogEvent[size];
+		for (int i = 0; i < size; i++)
+			ring[i] = new LogEvent();
+
+		this.mask = size - 1;
+		this.out = out;
+		this.level = level;
+
+		Thread writer = new Thread(this::drain, "log-writer");
+		writer.setDaemon(true);
+		writer.start();
+	}
+
+	public boolean isEnabled(Level eventLevel)
+	{
+		return eventLevel != Level.OFF && eventLevel.compareTo(level) >= 0;
+	}
+
+	public Level getLevel()
+	{
+		return level;
+	}
+
+	public void setLevel(Level level)
+	{
+		this.level = level;
+	}
+
+	/**
+	 * Returns the number of events dropped because the ring buffer was full.
+	 */
+	public long getDroppedCount()
+	{
+		return dropped.get();
+	}
+
+	/**
+	 * Starts a new event. The event is discarded if the level is disabled or the ring buffer is full.
+	 *
+	 * @param eventLevel level of the event
+	 * @param name name of the event, e.g. {@code "move.decided"}
+	 * @return the event to fill in and {@link LogEvent#log()}
+	 */
+	public LogEvent event(Level eventLevel, String name)
+	{
+		if (!isEnabled(eventLevel))
+			return LogEvent.DISABLED;
+
+		long sequence;
+		do
+		{
+			sequence = claimed.get();
+			if (sequence - consumed >= ring.length)
+			{
+				dropped.incrementAndGet();
+				return LogEvent.DISABLED;
+			}
+		}
+		while (!claimed.compareAndSet(sequence, sequence + 1));
+
+		LogEvent event = ring[(int) sequence & mask];
+		event.sequence = sequence;
+		event.level = eventLevel;
+		event.timestampMillis = System.currentTimeMillis();
+		event.threadName = Thread.currentThread().getName();
+		event.name = name;
+		return event;
+	}
+
+	/**
+	 * Waits until the events logged so far have been written.
+	 *
+	 * @return false if the events were not written in time
+	 */
+	public boolean flush(long timeoutMillis)
+	{
+		long target = claimed.get();
+		long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+
+		while (consumed < target)
+		{
+			if (System.nanoTime() > deadline)
+				return false;
+			LockSupport.parkNanos(IDLE_PARK_NANOS / 10);
+		}
+		out.flush();
+		return true;
+	}
+
+	private void drain()
+	{
+		StringBuilder line = new StringBuilder(256);
+		long reportedDropped = 0;
+		long waitingSince = 0;
+		int spins = 0;
+
+		while (true)
+		{
+			long sequence = consumed;
+			LogEvent event = ring[(int) sequence & mask];
+
+			if (event.publishedSequence != sequence)
+			{
+				if (sequence == claimed.get())
+				{
+					waitingSince = 0;
+					spins = 0;
+					LockSupport.parkNanos(IDLE_PARK_NANOS);
+					continue;
+				}
+
+				// claimed but not logged yet, e.g. its thread was descheduled; skip it if it is never finished
+				if (waitingSince == 0)
+					waitingSince = System.nanoTime();
+				if (System.nanoTime() - waitingSince < ABANDONED_EVENT_NANOS)
+				{
+					if (spins++ < MAX_SPINS)
+						Thread.onSpinWait();
+					else
+						LockSupport.parkNanos(WAIT_PARK_NANOS);
+					continue;
+				}
+				event.abandon();
+				ring[(int) sequence & mask] = new LogEvent();
+				dropped.incrementAndGet();
+			}
+			else
+			{
+				line.setLength(0);
+				event.appendTo(line);
+				out.println(line);
+				if (event.throwable != null)
+					event.throwable.printStackTrace(out);
+				event.clear();
+			}
+
+			waitingSince = 0;
+			spins = 0;
+			consumed = sequence + 1;
+
+			long droppedNow = dropped.get();
+			if (droppedNow != reportedDropped)
+			{
+				out.println("log.dropped count=" + (droppedNow - reportedDropped));
+				reportedDropped = droppedNow;
+			}
+		}
+	}
+}
@@ -0,0 +1,11 @@
+package suitebot.log;
+
+public enum Level
+{
+	TRACE,
+	DEBUG,
+	INFO,
+	WARN,
+	ERROR,
+	OFF
+}
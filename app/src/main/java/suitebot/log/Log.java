@@ -0,0 +1,88 @@
+package suitebot.log;
+
+/**
+ * Application-wide structured logging to stdout through an {@link AsyncLogger}.
+ *
+ * <pre>
+ * Log.debug("mcts.scores").with("bot", botId).with("up", upScore).log();
+ * </pre>
+ *
+ * The initial level is read from the {@code suitebot.log.level} system property (INFO by default).
+ */
+public final class Log
+{
+	public static final String LEVEL_PROPERTY = "suitebot.log.level";
+
+	private static final AsyncLogger LOGGER = new AsyncLogger(System.out, initialLevel());
+
+	static
+	{
+		Runtime.getRuntime().addShutdownHook(new Thread(() -> LOGGER.flush(1000)));
+	}
+
+	private Log()
+	{
+	}
+
+	public static boolean isEnabled(Level level)
+	{
+		return LOGGER.isEnabled(level);
+	}
+
+	public static Level getLevel()
+	{
+		return LOGGER.getLevel();
+	}
+
+	public static void setLevel(Level level)
+	{
+		LOGGER.setLevel(level);
+	}
+
+	public static long getDroppedCount()
+	{
+		return LOGGER.getDroppedCount();
+	}
+
+	public static boolean flush(long timeoutMillis)
+	{
+		return LOGGER.flush(timeoutMillis);
+	}
+
+	public static LogEvent trace(String name)
+	{
+		return LOGGER.event(Level.TRACE, name);
+	}
+
+	public static LogEvent debug(String name)
+	{
+		return LOGGER.event(Level.DEBUG, name);
+	}
+
+	public static LogEvent info(String name)
+	{
+		return LOGGER.event(Level.INFO, name);
+	}
+
+	public static LogEvent warn(String name)
+	{
+		return LOGGER.event(Level.WARN, name);
+	}
+
+	public static LogEvent error(String name)
+	{
+		return LOGGER.event(Level.ERROR, name);
+	}
+
+	private static Level initialLevel()
+	{
+		try
+		{
+			return Level.valueOf(System.getProperty(LEVEL_PROPERTY, Level.INFO.name()).toUpperCase());
+		}
+		catch (IllegalArgumentException e)
+		{
+			return Level.INFO;
+		}
+	}
+}
@@ -0,0 +1,156 @@
+package suitebot.log;
+
+import java.time.Instant;
+
+/**
+ * A structured log event: a name and up to {@link #MAX_FIELDS} key-value fields.
+ *
+ * Events are slots of the preallocated ring buffer of an {@link AsyncLogger} and are reused,
+ * so filling one in does not allocate. Primitive values are stored unboxed; object values must be
+ * immutable (strings, enums, ...) because they are formatted later by the writer thread.
+ * An event must be finished with {@link #log()}, after which it must not be touched.
+ * An event the writer has given up waiting for is abandoned: what is still written into it is dropped.
+ */
+public class LogEvent
+{
+	public static final int MAX_FIELDS = 8;
+
+	static final LogEvent DISABLED = new LogEvent()
+	{
+		@Override
+		public LogEvent with(String key, long value)
+		{
+			return this;
+		}
+
+		@Override
+		public LogEvent with(String key, double value)
+		{
+			return this;
+		}
+
+		@Override
+		public LogEvent with(String key, Object value)
+		{
+			return this;
+		}
+
+		@Override
+		public LogEvent error(Throwable throwable)
+		{
+			return this;
+		}
+
+		@Override
+		public void log()
+		{
+		}
+	};
+
+	Level level;
+	long timestampMillis;
+	String threadName;
+	String name;
+	Throwable throwable;
+	int fieldCount;
+	final String[] keys = new String[MAX_FIELDS];
+	final long[] longValues = new long[MAX_FIELDS];
+	final double[] doubleValues = new double[MAX_FIELDS];
+	final Object[] objectValues = new Object[MAX_FIELDS];
+	final byte[] types = new byte[MAX_FIELDS];
+
+	static final long ABANDONED = -2;
+
+	volatile long sequence; // of the claim that owns the slot, ABANDONED once the writer has skipped it
+	volatile long publishedSequence = -1;
+
+	static final byte LONG = 0;
+	static final byte DOUBLE = 1;
+	static final byte OBJECT = 2;
+
+	public LogEvent with(String key, long value)
+	{
+		int i = nextField(key, LONG);
+		if (i >= 0)
+			longValues[i] = value;
+		return this;
+	}
+
+	public LogEvent with(String key, double value)
+	{
+		int i = nextField(key, DOUBLE);
+		if (i >= 0)
+			doubleValues[i] = value;
+		return this;
+	}
+
+	public LogEvent with(String key, Object value)
+	{
+		int i = nextField(key, OBJECT);
+		if (i >= 0)
+			objectValues[i] = value;
+		return this;
+	}
+
+	public LogEvent error(Throwable throwable)
+	{
+		this.throwable = throwable;
+		return this;
+	}
+
+	/**
+	 * Hands the event over to the writer thread.
+	 */
+	public void log()
+	{
+		long owner = sequence;
+		if (owner != ABANDONED)
+			publishedSequence = owner;
+	}
+
+	void abandon()
+	{
+		sequence = ABANDONED;
+	}
+
+	private int nextField(String key, byte type)
+	{
+		if (sequence == ABANDONED || fieldCount >= MAX_FIELDS)
+			return -1;
+
+		keys[fieldCount] = key;
+		types[fieldCount] = type;
+		return fieldCount++;
+	}
+
+	void clear()
+	{
+		for (int i = 0; i < fieldCount; i++)
+		{
+			keys[i] = null;
+			objectValues[i] = null;
+		}
+		fieldCount = 0;
+		name = null;
+		throwable = null;
+	}
+
+	void appendTo(StringBuilder out)
+	{
+		out.append(Instant.ofEpochMilli(timestampMillis))
+				.append(' ').append(level)
+				.append(" [").append(threadName).append("] ")
+				.append(name);
+
+		for (int i = 0; i < fieldCount; i++)
+		{
+			out.append(' ').append(keys[i]).append('=');
+			if (types[i] == LONG)
+				out.append(longValues[i]);
+			else if (types[i] == DOUBLE)
+				out.append(String.format("%.3f", doubleValues[i]));
+			else
+				out.append(objectValues[i]);
+		}
+	}
+}
@@ -0,0 +1,116 @@
+package suitebot.record;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Reads the logs written by a {@link DecisionRecorder} and dumps them as JSON, one record per line.
+ *
+ * <pre>
+ * DecisionLogReader &lt;segment-file-or-directory&gt;...
+ * </pre>
+ */
+public class DecisionLogReader
+{
+	public static void main(String[] args) throws IOException
+	{
+		if (args.length == 0)
+		{
+			System.err.println("usage: DecisionLogReader <segment-file-or-directory>...");
+			System.exit(1);
+		}
+
+		for (String arg : args)
+		{
+			for (Path segment : segments(Paths.get(arg)))
+			{
+				for (DecisionRecord record : read(segment))
+					System.out.println(record.toJson());
+			}
+		}
+	}
+
+	/**
+	 * @return the segment files in the given directory in the order they were written, or the given file itself
+	 */
+	public static List<Path> segments(Path path) throws IOException
+	{
+		if (!Files.isDirectory(path))
+			return List.of(path);
+
+		try (Stream<Path> files = Files.list(path))
+		{
+			return files.filter(file -> file.getFileName().toString().startsWith(DecisionRecorder.SEGMENT_PREFIX))
+					.sorted()
+					.collect(Collectors.toList());
+		}
+	}
+
+	/**
+	 * Reads the committed records of a segment, up to the first one that has not been committed.
+	 */
+	public static List<DecisionRecord> read(Path segment) throws IOException
+	{
+		MappedByteBuffer buffer;
+		try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ))
+		{
+			buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+		}
+
+		if (buffer.limit() < DecisionRecorder.HEADER_BYTES || buffer.getInt(0) != DecisionRecorder.MAGIC)
+			throw new IOException(segment + " is not a decision log");
+		if (buffer.getInt(Integer.BYTES) != DecisionRecorder.VERSION)
+			throw new IOException(segment + " has unsupported version " + buffer.getInt(Integer.BYTES));
+
+		List<DecisionRecord> records = new ArrayList<>();
+		int position = DecisionRecorder.HEADER_BYTES;
+		while (position + Integer.BYTES <= buffer.limit())
+		{
+			int length = buffer.getInt(position);
+			if (length <= 0 || position + Integer.BYTES + length > buffer.limit())
+				break; // end of the segment, or a record still being written
+
+			records.add(readRecord(buffer.slice(position + Integer.BYTES, length)));
+			position += DecisionRecorder.align(Integer.BYTES + length);
+		}
+		return records;
+	}
+
+	private static DecisionRecord readRecord(ByteBuffer buffer)
+	{
+		long timestampMillis = buffer.getLong();
+		long elapsedNanos = buffer.getLong();
+
+		long[] counts = new long[buffer.get()];
+		for (int i = 0; i < counts.length; i++)
+			counts[i] = buffer.getLong();
+
+		long[] phaseNanos = new long[buffer.get()];
+		for (int i = 0; i < phaseNanos.length; i++)
+			phaseNanos[i] = buffer.getLong();
+
+		int responseLength = buffer.getInt();
+		String response = responseLength >= 0 ? readString(buffer, responseLength) : null;
+		String request = readString(buffer, buffer.getInt());
+
+		return new DecisionRecord(timestampMillis, elapsedNanos, counts, phaseNanos, response, request);
+	}
+
+	private static String readString(ByteBuffer buffer, int length)
+	{
+		byte[] bytes = new byte[length];
+		buffer.get(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+}
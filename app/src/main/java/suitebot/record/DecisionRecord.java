@@ -0,0 +1,63 @@
+package suitebot.record;
+
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+import suitebot.stats.Counter;
+import suitebot.stats.Phase;
+
+/**
+ * A move request and its decision as read back from the log of a {@link DecisionRecorder}.
+ */
+public class DecisionRecord
+{
+	public final long timestampMillis;
+	public final long elapsedNanos;
+	/** search counters by {@link Counter} ordinal; logs written by older versions may have fewer */
+	public final long[] counts;
+	/** phase times in nanoseconds by {@link Phase} ordinal; logs written by older versions may have fewer */
+	public final long[] phaseNanos;
+	public final String response;
+	public final String request;
+
+	DecisionRecord(long timestampMillis, long elapsedNanos, long[] counts, long[] phaseNanos, String response, String request)
+	{
+		this.timestampMillis = timestampMillis;
+		this.elapsedNanos = elapsedNanos;
+		this.counts = counts;
+		this.phaseNanos = phaseNanos;
+		this.response = response;
+		this.request = request;
+	}
+
+	/**
+	 * Converts the record to JSON; the request is embedded as a JSON object if it is one.
+	 */
+	public JsonObject toJson()
+	{
+		JsonObject json = new JsonObject();
+		json.addProperty("timestamp", timestampMillis);
+		json.addProperty("elapsedMs", elapsedNanos / 1e6);
+		json.addProperty("response", response);
+
+		JsonObject stats = new JsonObject();
+		for (int i = 0; i < counts.length && i < Counter.values().length; i++)
+			stats.addProperty(Counter.values()[i].name(), counts[i]);
+		json.add("stats", stats);
+
+		JsonObject phases = new JsonObject();
+		for (int i = 0; i < phaseNanos.length && i < Phase.values().length; i++)
+			phases.addProperty(Phase.values()[i].name(), phaseNanos[i] / 1e6);
+		json.add("phasesMs", phases);
+
+		try
+		{
+			json.add("request", JsonParser.parseString(request));
+		}
+		catch (JsonParseException e)
+		{
+			json.addProperty("request", request);
+		}
+		return json;
+	}
+}
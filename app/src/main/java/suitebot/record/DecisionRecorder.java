@@ -0,0 +1,276 @@
+package suitebot.record;
+
+import suitebot.log.Log;
+import suitebot.stats.Counter;
+import suitebot.stats.Phase;
+import suitebot.stats.SearchStats;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+/**
+ * Append-only log of the move requests and the decisions made for them, for diagnosing slow or bad moves
+ * after the fact.
+ *
+ * The log is a sequence of memory-mapped segment files of a fixed size in one directory. A segment starts
+ * with a header ({@link #MAGIC}, {@link #VERSION}) followed by records, each prefixed with its length:
+ *
+ * <pre>
+ * int   length of the rest of the record (0: not written yet, -1: end of segment)
+ * long  timestamp in milliseconds
+ * long  time taken to answer the request in nanoseconds
+ * byte  number of counters, followed by a long per {@link Counter}
+ * byte  number of phases, followed by a long of nanoseconds per {@link Phase}
+ * int   length of the response in bytes (-1: no response), followed by the UTF-8 response
+ * int   length of the request in bytes, followed by the UTF-8 request
+ * </pre>
+ *
+ * Records are padded to a multiple of {@link #RECORD_ALIGNMENT} bytes.
+ *
+ * Writers do not lock: a writer reserves space by advancing the cursor of the segment, fills in its record
+ * and commits it by writing the length last. The writer whose reservation crosses the end of a segment
+ * marks the end and maps the next segment; writers reserving behind it wait until the next segment is there.
+ * A record that does not fit into an empty segment is dropped.
+ */
+public class DecisionRecorder implements Closeable
+{
+	public static final int DEFAULT_SEGMENT_BYTES = 64 * 1024 * 1024;
+
+	static final int MAGIC = 0x53424452;
+	static final int VERSION = 1;
+	static final int HEADER_BYTES = 8;
+	static final int END_OF_SEGMENT = -1;
+	static final int RECORD_ALIGNMENT = 8;
+	static final String SEGMENT_PREFIX = "decisions-";
+	static final String SEGMENT_SUFFIX = ".log";
+
+	private static final VarHandle INT_VIEW = MethodHandles.byteBufferViewVarHandle(int[].class, ByteOrder.BIG_ENDIAN);
+
+	private final Path directory;
+	private final int segmentBytes;
+	private final AtomicReference<Segment> current = new AtomicReference<>();
+	private final LongAdder dropped = new LongAdder();
+
+	private DecisionRecorder(Path directory, int segmentBytes)
+	{
+		this.directory = directory;
+		this.segmentBytes = segmentBytes;
+	}
+
+	/**
+	 * Opens a recorder appending new segments to the given directory, after any segments already there.
+	 */
+	public static DecisionRecorder open(Path directory, int segmentBytes) throws IOException
+	{
+		if (segmentBytes <= HEADER_BYTES)
+			throw new IllegalArgumentException("segmentBytes must be larger than the header");
+
+		Files.createDirectories(directory);
+		DecisionRecorder recorder = new DecisionRecorder(directory, segmentBytes);
+		recorder.current.set(recorder.mapSegment(lastSegmentIndex(directory) + 1));
+		return recorder;
+	}
+
+	/**
+	 * Records a move request.
+	 *
+	 * @param request the raw request
+	 * @param response the response sent, or null if there was none
+	 * @param elapsedNanos time taken to answer the request
+	 * @param stats statistics of the searches made for the request, or null if there were none
+	 */
+	public void record(String request, String response, long elapsedNanos, SearchStats stats)
+	{
+		byte[] requestBytes = request.getBytes(StandardCharsets.UTF_8);
+		byte[] responseBytes = response != null ? response.getBytes(StandardCharsets.UTF_8) : null;
+		int length = Long.BYTES * 2
+				+ 1 + Long.BYTES * Counter.values().length
+				+ 1 + Long.BYTES * Phase.values().length
+				+ Integer.BYTES + (responseBytes != null ? responseBytes.length : 0)
+				+ Integer.BYTES + requestBytes.length;
+		int recordBytes = align(Integer.BYTES + length);
+
+		if (recordBytes > segmentBytes - HEADER_BYTES)
+		{
+			dropped.increment();
+			return;
+		}
+
+		while (true)
+		{
+			Segment segment = current.get();
+			if (segment == null)
+			{
+				dropped.increment(); // closed, or the next segment could not be created
+				return;
+			}
+
+			long position = segment.cursor.getAndAdd(recordBytes);
+			if (position + recordBytes <= segmentBytes)
+			{
+				write(segment.buffer, (int) position, length, elapsedNanos, stats, responseBytes, requestBytes);
+				return;
+			}
+
+			if (position <= segmentBytes)
+				roll(segment, (int) position);
+			else
+				awaitNextSegment(segment);
+		}
+	}
+
+	/**
+	 * @return the number of records dropped because they were too large or the recorder was not available
+	 */
+	public long getDroppedCount()
+	{
+		return dropped.sum();
+	}
+
+	@Override
+	public void close()
+	{
+		Segment segment = current.getAndSet(null);
+		if (segment != null)
+			segment.buffer.force();
+	}
+
+	private static void write(MappedByteBuffer buffer, int position, int length, long elapsedNanos, SearchStats stats,
+	                          byte[] responseBytes, byte[] requestBytes)
+	{
+		int offset = position + Integer.BYTES;
+
+		buffer.putLong(offset, System.currentTimeMillis());
+		offset += Long.BYTES;
+		buffer.putLong(offset, elapsedNanos);
+		offset += Long.BYTES;
+
+		buffer.put(offset++, (byte) Counter.values().length);
+		for (Counter counter : Counter.values())
+		{
+			buffer.putLong(offset, stats != null ? stats.get(counter) : 0);
+			offset += Long.BYTES;
+		}
+
+		buffer.put(offset++, (byte) Phase.values().length);
+		for (Phase phase : Phase.values())
+		{
+			buffer.putLong(offset, stats != null ? stats.getNanos(phase) : 0);
+			offset += Long.BYTES;
+		}
+
+		buffer.putInt(offset, responseBytes != null ? responseBytes.length : -1);
+		offset += Integer.BYTES;
+		if (responseBytes != null)
+		{
+			buffer.put(offset, responseBytes);
+			offset += responseBytes.length;
+		}
+
+		buffer.putInt(offset, requestBytes.length);
+		offset += Integer.BYTES;
+		buffer.put(offset, requestBytes);
+
+		// commit: readers treat a record as present once its length is
+		INT_VIEW.setRelease(buffer, position, length);
+	}
+
+	private void roll(Segment segment, int position)
+	{
+		if (position + Integer.BYTES <= segmentBytes)
+			INT_VIEW.setRelease(segment.buffer, position, END_OF_SEGMENT);
+
+		Segment next;
+		try
+		{
+			next = mapSegment(segment.index + 1);
+		}
+		catch (IOException e)
+		{
+			Log.error("recorder.failed").with("segment", segment.index + 1).error(e).log();
+			next = null;
+		}
+		current.compareAndSet(segment, next);
+	}
+
+	private void awaitNextSegment(Segment segment)
+	{
+		while (current.get() == segment)
+			Thread.onSpinWait();
+	}
+
+	private Segment mapSegment(int index) throws IOException
+	{
+		Path file = directory.resolve(segmentName(index));
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE))
+		{
+			MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentBytes);
+			buffer.putInt(0, MAGIC);
+			buffer.putInt(Integer.BYTES, VERSION);
+			return new Segment(index, buffer);
+		}
+	}
+
+	/**
+	 * Records are padded to a multiple of 8 bytes, so that their lengths can be written with release semantics.
+	 */
+	static int align(int recordBytes)
+	{
+		return (recordBytes + RECORD_ALIGNMENT - 1) & -RECORD_ALIGNMENT;
+	}
+
+	static String segmentName(int index)
+	{
+		return String.format("%s%06d%s", SEGMENT_PREFIX, index, SEGMENT_SUFFIX);
+	}
+
+	private static int lastSegmentIndex(Path directory) throws IOException
+	{
+		try (Stream<Path> files = Files.list(directory))
+		{
+			return files.map(file -> file.getFileName().toString())
+					.filter(name -> name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX))
+					.mapToInt(DecisionRecorder::parseIndex)
+					.max()
+					.orElse(-1);
+		}
+	}
+
+	private static int parseIndex(String segmentName)
+	{
+		try
+		{
+			return Integer.parseInt(segmentName.substring(SEGMENT_PREFIX.length(), segmentName.length() - SEGMENT_SUFFIX.length()));
+		}
+		catch (NumberFormatException e)
+		{
+			return -1;
+		}
+	}
+
+	private static class Segment
+	{
+		final int index;
+		final MappedByteBuffer buffer;
+		final AtomicLong cursor = new AtomicLong(HEADER_BYTES);
+
+		Segment(int index, MappedByteBuffer buffer)
+		{
+			this.index = index;
+			this.buffer = buffer;
+		}
+	}
+}
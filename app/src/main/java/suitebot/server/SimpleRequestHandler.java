@@ -3,4 +3,11 @@ package suitebot.server;
 public interface SimpleRequestHandler
 {
 	String processRequest(String request);
+
+	/**
+	 * Called after the response to the last request has been sent, while the server waits for the next one.
+	 */
+	default void onResponseSent()
+	{
+	}
 }
@@ -6,6 +6,9 @@ import java.io.InputStreamReader;
 import java.io.PrintWriter;
 import java.net.ServerSocket;
 import java.net.Socket;
+import java.net.SocketException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 public class SimpleServer implements Runnable
 {
@@ -14,14 +17,33 @@ public class SimpleServer implements Runnable
 
 	private final int port;
 	private final SimpleRequestHandler requestHandler;
+	private final int workerCount;
+	private final boolean keepAlive;
 
-	private boolean shouldShutDown = false;
+	private volatile boolean shouldShutDown = false;
+	private volatile ServerSocket listener;
 	private long startTimestamp;
 
 	public SimpleServer(int port, SimpleRequestHandler requestHandler)
 	{
+		this(port, requestHandler, 1, false);
+	}
+
+	/**
+	 * @param workerCount number of connections served at once; with a single worker, connections are
+	 *                    served one after another on the thread running the server
+	 * @param keepAlive whether a connection stays open for further requests after a response,
+	 *                  until the client closes it; otherwise each connection serves a single request
+	 */
+	public SimpleServer(int port, SimpleRequestHandler requestHandler, int workerCount, boolean keepAlive)
+	{
+		if (workerCount < 1)
+			throw new IllegalArgumentException("workerCount must be positive");
+
 		this.port = port;
 		this.requestHandler = requestHandler;
+		this.workerCount = workerCount;
+		this.keepAlive = keepAlive;
 	}
 
 	public void run()
@@ -38,53 +60,85 @@ public class SimpleServer implements Runnable
 
 	private void runInternal() throws IOException
 	{
-		ServerSocket listener = null;
-		Socket socket = null;
+		ExecutorService workers = workerCount > 1 ? Executors.newFixedThreadPool(workerCount) : null;
 		startTimestamp = System.currentTimeMillis();
 
-		try
+		try (ServerSocket listener = new ServerSocket(port))
 		{
-			listener = new ServerSocket(port);
+			this.listener = listener;
 
 			while (!shouldShutDown)
 			{
+				Socket socket;
 				try
 				{
 					socket = listener.accept();
-					handleRequest(socket);
 				}
-				finally
+				catch (SocketException e)
 				{
-					if (socket != null)
-						socket.close();
+					if (shouldShutDown)
+						break; // the listener was closed by a shutdown request
+					throw e;
 				}
+
+				if (workers == null)
+					serveConnection(socket);
+				else
+					workers.execute(() -> serveConnection(socket));
 			}
 		}
 		finally
 		{
-			if (listener != null)
-				listener.close();
+			if (workers != null)
+				workers.shutdownNow();
 		}
 	}
 
-	private void handleRequest(Socket socket) throws IOException
+	private void serveConnection(Socket socket)
 	{
-		BufferedReader inputReader = new BufferedReader(new InputStreamReader(socket.getInputStream()));
-		PrintWriter outputWriter = new PrintWriter(socket.getOutputStream(), true);
+		try (socket)
+		{
+			BufferedReader inputReader = new BufferedReader(new InputStreamReader(socket.getInputStream()));
+			PrintWriter outputWriter = new PrintWriter(socket.getOutputStream(), true);
 
-		String request = inputReader.readLine();
-		if (request == null)
-			return;
+			String request;
+			do
+			{
+				request = inputReader.readLine();
+			}
+			while (request != null && handleRequest(request, outputWriter) && keepAlive && !shouldShutDown);
+		}
+		catch (IOException e)
+		{
+			// the client has gone away; nothing to answer
+		}
+	}
 
+	/**
+	 * @return false if the server is shutting down
+	 */
+	private boolean handleRequest(String request, PrintWriter outputWriter) throws IOException
+	{
 		if (SHUTDOWN_REQUEST.equals(request))
 		{
-			shouldShutDown = true;
-			return;
+			shutDown();
+			return false;
 		}
 
 		if (UPTIME_REQUEST.equals(request))
 			outputWriter.println((System.currentTimeMillis() - startTimestamp) / 1000);
 		else
+		{
 			outputWriter.println(requestHandler.processRequest(request));
+			requestHandler.onResponseSent();
+		}
+		return true;
+	}
+
+	private void shutDown() throws IOException
+	{
+		shouldShutDown = true;
+		if (listener != null)
+			listener.close();
 	}
 }
@@ -0,0 +1,132 @@
+package suitebot.session;
+
+import suitebot.game.GameState;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * State of one game kept between turns: the current and the previous game state
+ * and any per-game caches, search trees or incremental board analysis stored as components.
+ *
+ * A session is owned by a single game. Components are keyed by their type, so each
+ * kind of per-game state exists at most once per session.
+ */
+public class GameSession
+{
+	private static final long BASE_BYTES = 512;
+	private static final long BYTES_PER_LOCATION = 48;
+
+	private final SessionKey key;
+	private final Map<Class<?>, Object> components = new ConcurrentHashMap<>();
+
+	private volatile GameState previousState;
+	private volatile GameState currentState;
+	private volatile int turn;
+
+	public GameSession(SessionKey key)
+	{
+		this.key = key;
+	}
+
+	public SessionKey getKey()
+	{
+		return key;
+	}
+
+	/**
+	 * Returns the number of turns seen in this game, the current one included.
+	 *
+	 * @return the number of turns seen
+	 */
+	public int getTurn()
+	{
+		return turn;
+	}
+
+	public GameState getCurrentState()
+	{
+		return currentState;
+	}
+
+	/**
+	 * Returns the game state of the previous turn.
+	 *
+	 * @return the previous game state or null on the first turn
+	 */
+	public GameState getPreviousState()
+	{
+		return previousState;
+	}
+
+	/**
+	 * Returns the component of the given type, creating it on first use.
+	 *
+	 * @param type type of the component
+	 * @param factory creates the component if the session does not have one yet
+	 * @return the component of the given type
+	 */
+	public <T> T getComponent(Class<T> type, Supplier<? extends T> factory)
+	{
+		return type.cast(components.computeIfAbsent(type, t -> factory.get()));
+	}
+
+	/**
+	 * Returns the component of the given type if the session has one.
+	 *
+	 * @param type type of the component
+	 * @return the component or null if there is none
+	 */
+	public <T> T findComponent(Class<T> type)
+	{
+		return type.cast(components.get(type));
+	}
+
+	/**
+	 * Returns a rough estimate of the heap retained by the session.
+	 *
+	 * @return the estimated size in bytes
+	 */
+	public long estimatedBytes()
+	{
+		long bytes = BASE_BYTES + estimatedBytes(currentState) + estimatedBytes(previousState);
+		for (Object component : components.values())
+		{
+			if (component instanceof SessionComponent)
+				bytes += ((SessionComponent) component).estimatedBytes();
+		}
+		return bytes;
+	}
+
+	/**
+	 * Checks whether the given state can follow the current one in the same game:
+	 * the plan has the same size and no obstacle has disappeared.
+	 */
+	boolean isContinuedBy(GameState gameState)
+	{
+		GameState current = currentState;
+		if (current == null)
+			return true;
+
+		return current.getPlanWidth() == gameState.getPlanWidth() &&
+				current.getPlanHeight() == gameState.getPlanHeight() &&
+				current.getObstacleLocations().size() <= gameState.getObstacleLocations().size() &&
+				gameState.getObstacleLocations().containsAll(current.getObstacleLocations());
+	}
+
+	void advance(GameState gameState)
+	{
+		previousState = currentState;
+		currentState = gameState;
+		turn++;
+	}
+
+	private static long estimatedBytes(GameState gameState)
+	{
+		if (gameState == null)
+			return 0;
+
+		return (gameState.getObstacleLocations().size() + gameState.getAllBotIds().size()) * BYTES_PER_LOCATION;
+	}
+}
@@ -0,0 +1,15 @@
+package suitebot.session;
+
+/**
+ * Per-game state kept in a {@link GameSession} that reports its own memory footprint,
+ * so that the {@link SessionRegistry} can enforce its memory cap.
+ */
+public interface SessionComponent
+{
+	/**
+	 * Returns a rough estimate of the heap retained by the component.
+	 *
+	 * @return the estimated size in bytes
+	 */
+	long estimatedBytes();
+}
@@ -0,0 +1,91 @@
+package suitebot.session;
+
+import com.google.common.collect.ImmutableList;
+import suitebot.game.GameState;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Identity of a game as seen from one of our bots.
+ *
+ * If the request carries an explicit game ID, it is used together with the bot ID. Otherwise the game is
+ * identified by the bot ID plus a fingerprint of the board that does not change between turns: the plan
+ * dimensions and the IDs of all bots (including the dead ones).
+ */
+public final class SessionKey
+{
+	private final String gameId;
+	private final int botId;
+	private final int planWidth;
+	private final int planHeight;
+	private final List<Integer> allBotIds;
+
+	private SessionKey(String gameId, int botId, int planWidth, int planHeight, List<Integer> allBotIds)
+	{
+		this.gameId = gameId;
+		this.botId = botId;
+		this.planWidth = planWidth;
+		this.planHeight = planHeight;
+		this.allBotIds = allBotIds;
+	}
+
+	/**
+	 * Creates the key of the game the given state belongs to.
+	 *
+	 * @param botId ID of the bot operated by the AI
+	 * @param gameState current game state
+	 * @param gameId explicit game ID sent by the server or null if there is none
+	 * @return the key of the game
+	 */
+	public static SessionKey of(int botId, GameState gameState, String gameId)
+	{
+		if (gameId != null)
+			return new SessionKey(gameId, botId, 0, 0, ImmutableList.of());
+
+		return new SessionKey(null, botId, gameState.getPlanWidth(), gameState.getPlanHeight(),
+		                      ImmutableList.sortedCopyOf(gameState.getAllBotIds()));
+	}
+
+	public int getBotId()
+	{
+		return botId;
+	}
+
+	public boolean hasExplicitGameId()
+	{
+		return gameId != null;
+	}
+
+	@Override
+	public boolean equals(Object o)
+	{
+		if (this == o) return true;
+		if (o == null || getClass() != o.getClass()) return false;
+		SessionKey that = (SessionKey) o;
+		return botId == that.botId &&
+				planWidth == that.planWidth &&
+				planHeight == that.planHeight &&
+				Objects.equals(gameId, that.gameId) &&
+				allBotIds.equals(that.allBotIds);
+	}
+
+	@Override
+	public int hashCode()
+	{
+		return Objects.hash(gameId, botId, planWidth, planHeight, allBotIds);
+	}
+
+	@Override
+	public String toString()
+	{
+		if (gameId != null)
+			return "SessionKey{gameId=" + gameId + ", botId=" + botId + '}';
+
+		return "SessionKey{" +
+				"botId=" + botId +
+				", plan=" + planWidth + "x" + planHeight +
+				", allBotIds=" + allBotIds +
+				'}';
+	}
+}
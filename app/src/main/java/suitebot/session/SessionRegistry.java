@@ -0,0 +1,111 @@
+package suitebot.session;
+
+import suitebot.game.GameState;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Keeps one {@link GameSession} per game so that several games can be played by one process
+ * without sharing mutable state.
+ *
+ * Sessions are evicted in least-recently-used order once there are more than {@code maxSessions}
+ * of them or once their estimated total size exceeds {@code maxBytes}. The session of the game
+ * being played right now is never evicted.
+ */
+public class SessionRegistry
+{
+	public static final int DEFAULT_MAX_SESSIONS = 64;
+	public static final long DEFAULT_MAX_BYTES = 256L * 1024 * 1024;
+
+	private final int maxSessions;
+	private final long maxBytes;
+	private final Consumer<GameSession> sessionInitializer;
+	private final Map<SessionKey, GameSession> sessions = new LinkedHashMap<>(16, 0.75f, true);
+
+	public SessionRegistry()
+	{
+		this(DEFAULT_MAX_SESSIONS, DEFAULT_MAX_BYTES);
+	}
+
+	public SessionRegistry(int maxSessions, long maxBytes)
+	{
+		this(maxSessions, maxBytes, session -> {});
+	}
+
+	/**
+	 * @param sessionInitializer prepares every new session before its first use, e.g. with seeded components
+	 */
+	public SessionRegistry(int maxSessions, long maxBytes, Consumer<GameSession> sessionInitializer)
+	{
+		if (maxSessions < 1)
+			throw new IllegalArgumentException("maxSessions must be positive");
+
+		this.maxSessions = maxSessions;
+		this.maxBytes = maxBytes;
+		this.sessionInitializer = sessionInitializer;
+	}
+
+	/**
+	 * Returns the session of the game the given state belongs to and advances it to the state.
+	 * A new session is started if the game is not known yet or if the state cannot follow
+	 * the last one seen for the same key (i.e. a new game has started).
+	 *
+	 * @param botId ID of the bot operated by the AI
+	 * @param gameState current game state
+	 * @param gameId explicit game ID sent by the server or null if there is none
+	 * @return the session of the game
+	 */
+	public synchronized GameSession sessionFor(int botId, GameState gameState, String gameId)
+	{
+		SessionKey key = SessionKey.of(botId, gameState, gameId);
+		GameSession session = sessions.get(key);
+
+		if (session == null || !session.isContinuedBy(gameState))
+		{
+			session = new GameSession(key);
+			sessionInitializer.accept(session);
+			sessions.put(key, session);
+		}
+
+		session.advance(gameState);
+		evict(session);
+		return session;
+	}
+
+	public synchronized void remove(SessionKey key)
+	{
+		sessions.remove(key);
+	}
+
+	public synchronized int size()
+	{
+		return sessions.size();
+	}
+
+	public synchronized long estimatedBytes()
+	{
+		long bytes = 0;
+		for (GameSession session : sessions.values())
+			bytes += session.estimatedBytes();
+		return bytes;
+	}
+
+	private void evict(GameSession current)
+	{
+		long bytes = estimatedBytes();
+		Iterator<GameSession> iterator = sessions.values().iterator();
+
+		while (iterator.hasNext() && (sessions.size() > maxSessions || bytes > maxBytes))
+		{
+			GameSession eldest = iterator.next();
+			if (eldest == current)
+				continue;
+
+			bytes -= eldest.estimatedBytes();
+			iterator.remove();
+		}
+	}
+}
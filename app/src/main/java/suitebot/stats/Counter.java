@@ -0,0 +1,32 @@
+package suitebot.stats;
+
+/**
+ * Events counted by {@link SearchStats}.
+ */
+public enum Counter
+{
+	/** moves decided, with or without a search */
+	MOVES,
+	/** positions searched ahead of time while pondering */
+	PONDERED_POSITIONS,
+	/** moves whose scores were taken from the ponder cache */
+	PONDER_HITS,
+	/** moves that had to be searched because nothing was pondered for the position */
+	PONDER_MISSES,
+	/** Monte Carlo simulations played */
+	ROLLOUTS,
+	/** steps made in all simulations, so that ROLLOUT_STEPS / ROLLOUTS is the average rollout length */
+	ROLLOUT_STEPS,
+	/** nodes taken from the open set of an A* search */
+	NODES_EXPANDED,
+	/** cells reached by flood fills */
+	CELLS_VISITED,
+	/** moves answered by the triage without running a search */
+	TRIAGED,
+	/** nodes added to search trees */
+	TREE_NODES,
+	/** positions visited by alpha-beta searches */
+	SEARCHED_POSITIONS,
+	/** simulations of the decoupled UCT search, each moving every bot; kept apart from the MCTS ROLLOUTS */
+	DUCT_ROLLOUTS
+}
@@ -0,0 +1,16 @@
+package suitebot.stats;
+
+/**
+ * Parts of a move decision timed by {@link SearchStats}.
+ */
+public enum Phase
+{
+	MCTS,
+	A_STAR,
+	FLOOD_FILL,
+	/** adjustment of the search scores for the other bots and the open space around them */
+	ADJUSTMENT,
+	PONDER,
+	ALPHA_BETA,
+	DUCT
+}
@@ -0,0 +1,193 @@
+package suitebot.stats;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters and phase timings of the searches made for one move.
+ *
+ * Each thread collects into its own record, so the searches update plain fields without any
+ * contention; a record is added to the process-wide totals once, when the move is finished.
+ * Searches should add their counts in bulk (e.g. once per batch of rollouts), not per step.
+ *
+ * <pre>
+ * SearchStats stats = SearchStats.begin();
+ * ... searches call SearchStats.current().count(Counter.ROLLOUTS, n) ...
+ * stats.finish();
+ * </pre>
+ */
+public class SearchStats
+{
+	private static final ThreadLocal<SearchStats> CURRENT = ThreadLocal.withInitial(SearchStats::new);
+
+	private static final LongAdder[] TOTAL_COUNTS = adders(Counter.values().length);
+	private static final LongAdder[] TOTAL_NANOS = adders(Phase.values().length);
+
+	private final long[] counts = new long[Counter.values().length];
+	private final long[] nanos = new long[Phase.values().length];
+	private boolean finished;
+
+	/**
+	 * Starts collecting a new record on the calling thread, discarding whatever was not finished.
+	 *
+	 * @return the record of the calling thread
+	 */
+	public static SearchStats begin()
+	{
+		SearchStats stats = CURRENT.get();
+		stats.clear();
+		return stats;
+	}
+
+	/**
+	 * @return the record of the calling thread
+	 */
+	public static SearchStats current()
+	{
+		return CURRENT.get();
+	}
+
+	public void count(Counter counter, long amount)
+	{
+		counts[counter.ordinal()] += amount;
+	}
+
+	public void time(Phase phase, long elapsedNanos)
+	{
+		nanos[phase.ordinal()] += elapsedNanos;
+	}
+
+	public long get(Counter counter)
+	{
+		return counts[counter.ordinal()];
+	}
+
+	public long getNanos(Phase phase)
+	{
+		return nanos[phase.ordinal()];
+	}
+
+	public double getMillis(Phase phase)
+	{
+		return millis(getNanos(phase));
+	}
+
+	public double averageRolloutLength()
+	{
+		return ratio(get(Counter.ROLLOUT_STEPS), get(Counter.ROLLOUTS));
+	}
+
+	/**
+	 * Adds the counts and times of another record, e.g. of a search run on another thread for this move.
+	 */
+	public void add(SearchStats other)
+	{
+		for (int i = 0; i < counts.length; i++)
+			counts[i] += other.counts[i];
+		for (int i = 0; i < nanos.length; i++)
+			nanos[i] += other.nanos[i];
+	}
+
+	/**
+	 * @return a copy of the record that is not bound to the calling thread
+	 */
+	public SearchStats copy()
+	{
+		SearchStats copy = new SearchStats();
+		copy.add(this);
+		return copy;
+	}
+
+	/**
+	 * Adds the record to the totals. The record keeps its values until the next {@link #begin()},
+	 * so that whoever started it can still report them; finishing it again has no effect.
+	 */
+	public void finish()
+	{
+		if (finished)
+			return;
+		finished = true;
+
+		for (int i = 0; i < counts.length; i++)
+		{
+			if (counts[i] != 0)
+				TOTAL_COUNTS[i].add(counts[i]);
+		}
+		for (int i = 0; i < nanos.length; i++)
+		{
+			if (nanos[i] != 0)
+				TOTAL_NANOS[i].add(nanos[i]);
+		}
+	}
+
+	/**
+	 * Returns a snapshot of the totals of all finished records since the start of the process or the last reset.
+	 * The snapshot is not atomic with respect to records being finished concurrently.
+	 *
+	 * @return a new record holding the totals
+	 */
+	public static SearchStats totals()
+	{
+		SearchStats totals = new SearchStats();
+		for (int i = 0; i < totals.counts.length; i++)
+			totals.counts[i] = TOTAL_COUNTS[i].sum();
+		for (int i = 0; i < totals.nanos.length; i++)
+			totals.nanos[i] = TOTAL_NANOS[i].sum();
+		return totals;
+	}
+
+	public static void resetTotals()
+	{
+		for (LongAdder adder : TOTAL_COUNTS)
+			adder.reset();
+		for (LongAdder adder : TOTAL_NANOS)
+			adder.reset();
+	}
+
+	/**
+	 * Formats the counts and phase times of the record together with the derived rates.
+	 * Totals include the searches made while pondering.
+	 */
+	@Override
+	public String toString()
+	{
+		long ponderLookups = get(Counter.PONDER_HITS) + get(Counter.PONDER_MISSES);
+		double mctsSeconds = getNanos(Phase.MCTS) / (double) TimeUnit.SECONDS.toNanos(1);
+
+		return String.format("moves=%d triaged=%d rollouts=%d rolloutsPerSecond=%.0f avgRolloutLength=%.1f nodesExpanded=%d searchedPositions=%d cellsVisited=%d " +
+		                     "ponderedPositions=%d ponderHitRate=%.3f mctsMs=%.1f aStarMs=%.1f floodFillMs=%.1f adjustmentMs=%.1f ponderMs=%.1f alphaBetaMs=%.1f " +
+		                     "ductRollouts=%d ductMs=%.1f",
+		                     get(Counter.MOVES), get(Counter.TRIAGED), get(Counter.ROLLOUTS), ratio(get(Counter.ROLLOUTS), mctsSeconds),
+		                     averageRolloutLength(), get(Counter.NODES_EXPANDED), get(Counter.SEARCHED_POSITIONS), get(Counter.CELLS_VISITED),
+		                     get(Counter.PONDERED_POSITIONS), ratio(get(Counter.PONDER_HITS), ponderLookups),
+		                     getMillis(Phase.MCTS), getMillis(Phase.A_STAR), getMillis(Phase.FLOOD_FILL),
+		                     getMillis(Phase.ADJUSTMENT), getMillis(Phase.PONDER), getMillis(Phase.ALPHA_BETA),
+		                     get(Counter.DUCT_ROLLOUTS), getMillis(Phase.DUCT));
+	}
+
+	private void clear()
+	{
+		finished = false;
+		Arrays.fill(counts, 0);
+		Arrays.fill(nanos, 0);
+	}
+
+	private static double ratio(double dividend, double divisor)
+	{
+		return divisor == 0 ? 0 : dividend / divisor;
+	}
+
+	private static double millis(long nanos)
+	{
+		return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+	}
+
+	private static LongAdder[] adders(int count)
+	{
+		LongAdder[] adders = new LongAdder[count];
+		for (int i = 0; i < count; i++)
+			adders[i] = new LongAdder();
+		return adders;
+	}
+}
@@ -0,0 +1,26 @@
+package suitebot.strategies;
+
+import suitebot.game.Direction;
+
+import java.util.Map;
+
+/**
+ * {@link MoveEvaluator} running {@link AStarHeuristic}: the number of cells reachable within {@code maxDepth} steps.
+ */
+public class AStarEvaluator implements MoveEvaluator {
+    private final int maxDepth;
+
+    public AStarEvaluator(int maxDepth) {
+        this.maxDepth = maxDepth;
+    }
+
+    @Override
+    public String getName() {
+        return "A*";
+    }
+
+    @Override
+    public Map<Direction, Integer> evaluate(TurnContext context, TimeBudget budget) {
+        return AStarHeuristic.evaluateMoves(context.getBotId(), context.getGameState(), maxDepth);
+    }
+}
@@ -42,11 +42,20 @@ package suitebot.strategies;
 import suitebot.game.Direction;
 import suitebot.game.GameState;
 import suitebot.game.Point;
+import suitebot.jfr.StrategyEvent;
+import suitebot.stats.Counter;
+import suitebot.stats.Phase;
+import suitebot.stats.SearchStats;
 
 import java.util.*;
 
 public class AStarHeuristic {
     public static Map<Direction, Integer> evaluateMoves(int botId, GameState gameState, int maxDepth) {
+        StrategyEvent event = new StrategyEvent("A*");
+        event.begin();
+        SearchStats stats = SearchStats.current();
+        long iterationsBefore = stats.get(Counter.NODES_EXPANDED);
+        long startTime = System.nanoTime();
         Map<Direction, Integer> moveScores = new EnumMap<>(Direction.class);
         Point botLocation = gameState.getBotLocation(botId);
         Set<Point> obstacles = gameState.getObstacleLocations();
@@ -64,6 +73,14 @@ public class AStarHeuristic {
             }
         }
 
+        stats.time(Phase.A_STAR, System.nanoTime() - startTime);
+        if (event.shouldCommit()) {
+            event.describe(botId, gameState);
+            event.setMaxDepth(maxDepth);
+            event.setIterations(stats.get(Counter.NODES_EXPANDED) - iterationsBefore);
+            event.setScores(moveScores);
+            event.commit();
+        }
         return moveScores;
     }
 
@@ -91,6 +108,7 @@ public class AStarHeuristic {
             }
         }
 
+        SearchStats.current().count(Counter.NODES_EXPANDED, maxReachable);
         return maxReachable;
     }
 
@@ -0,0 +1,38 @@
+package suitebot.strategies;
+
+import suitebot.game.Direction;
+
+import java.util.Map;
+
+/**
+ * {@link MoveEvaluator} running {@link AlphaBetaSearch} for a duel; deepens until most of the budget is used.
+ *
+ * The search looks at its stop flag only every so many positions, and the {@link PortfolioRunner} stops waiting
+ * at the deadline of the budget, so the search stops early enough to hand in the deepest finished iteration in time.
+ */
+public class AlphaBetaEvaluator implements MoveEvaluator {
+    private static final double SEARCH_SHARE = 0.75; // Of the time left, what the search may spend deepening
+
+    private final int maxDepth;
+    private final int depthLimit;
+
+    /**
+     * @param maxDepth scale of the scores
+     * @param depthLimit turns the search deepens to at most, which bounds searches without a deadline
+     */
+    public AlphaBetaEvaluator(int maxDepth, int depthLimit) {
+        this.maxDepth = maxDepth;
+        this.depthLimit = depthLimit;
+    }
+
+    @Override
+    public String getName() {
+        return "ALPHA_BETA";
+    }
+
+    @Override
+    public Map<Direction, Integer> evaluate(TurnContext context, TimeBudget budget) {
+        return AlphaBetaSearch.evaluateMoves(context.getBotId(), context.getGameState(), context.getGraph(), maxDepth, depthLimit,
+                budget.withShareOfRemaining(SEARCH_SHARE)::isOver);
+    }
+}
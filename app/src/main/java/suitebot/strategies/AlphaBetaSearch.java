@@ -0,0 +1,436 @@
+package suitebot.strategies;
+
+import suitebot.game.Direction;
+import suitebot.game.GameState;
+import suitebot.jfr.StrategyEvent;
+import suitebot.stats.Counter;
+import suitebot.stats.Phase;
+import suitebot.stats.SearchStats;
+
+import java.util.*;
+import java.util.concurrent.CancellationException;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Iterative-deepening alpha-beta search for a duel of two bots in a shared region.
+ *
+ * The simultaneous moves are searched paranoidly: our bot picks its move first and the opponent answers knowing it,
+ * so a move is worth what the opponent's best reply leaves of it. Both moves are then played at once as in
+ * {@link suitebot.game.StateTransition}; moving onto the same cell kills both bots, which is a draw.
+ *
+ * Positions at the depth limit are scored by territory: the cells our bot reaches before the opponent minus
+ * the cells the opponent reaches first, by breadth-first search from both heads.
+ *
+ * The search deepens one turn at a time until it is stopped, keeping the scores of the deepest finished iteration.
+ * Moves are tried in the order of the best move stored in the transposition table, the killer moves of the turn
+ * and the history heuristic, so that most cutoffs come from the first move tried.
+ */
+public class AlphaBetaSearch {
+    private static final int WIN = 1_000_000; // Value of a won position, less the turns it takes
+    private static final int PROVEN = WIN - 1000; // Values beyond this are wins or losses, not territory
+    private static final int INFINITY = Integer.MAX_VALUE;
+    private static final int CHECK_INTERVAL = 1024; // Positions searched between looks at the stop flag
+    private static final int TABLE_BITS = 16;
+    private static final int DIRECTIONS = 4;
+    private static final int NO_MOVE = -1;
+    private static final int US = 0;
+    private static final int THEM = 1;
+    private static final int NOBODY = 2;
+
+    private static final byte EXACT = 0;
+    private static final byte LOWER_BOUND = 1;
+    private static final byte UPPER_BOUND = 2;
+
+    /**
+     * @param maxDepth scale of the scores, the same as the simulation depth of the other evaluators
+     * @param depthLimit turns the search deepens to if it is not stopped earlier
+     * @return the score of each move of the bot: 0 for a move into an obstacle or a bot head, 1 for a lost move,
+     *         {@code 2 * maxDepth} for a won one, {@code maxDepth} plus the territory lead otherwise, clamped between the two
+     * @throws CancellationException if the search was stopped before it finished its first iteration
+     * @throws IllegalArgumentException if the bot does not have exactly one live opponent
+     */
+    public static Map<Direction, Integer> evaluateMoves(int botId, GameState gameState, BoardGraph graph, int maxDepth,
+                                                        int depthLimit, BooleanSupplier stopped) {
+        StrategyEvent event = new StrategyEvent("ALPHA_BETA");
+        event.begin();
+        SearchStats stats = SearchStats.current();
+        long startTime = System.nanoTime();
+        Search search = new Search(botId, gameState, graph, depthLimit, stopped);
+        try {
+            Map<Direction, Integer> moveScores = search.run(maxDepth);
+            if (event.shouldCommit()) {
+                event.describe(botId, gameState);
+                event.setMaxDepth(search.completedDepth);
+                event.setIterations(search.positions);
+                event.setScores(moveScores);
+                event.commit();
+            }
+            return moveScores;
+        } finally {
+            stats.count(Counter.SEARCHED_POSITIONS, search.positions);
+            stats.time(Phase.ALPHA_BETA, System.nanoTime() - startTime);
+        }
+    }
+
+    /**
+     * One search; the heads become blocked cells as soon as the bots move onto them.
+     */
+    private static final class Search {
+        private final BoardGraph graph;
+        private final int depthLimit;
+        private final BooleanSupplier stopped;
+        private final int cellCount;
+        private final boolean[] blocked;
+        private int ourHead;
+        private int theirHead;
+
+        // Zobrist keys of the blocked cells and of the heads; the blocked cells and the heads make the position
+        private final long[] blockedKeys;
+        private final long[] ourHeadKeys;
+        private final long[] theirHeadKeys;
+        private long hash;
+
+        // Transposition table of the positions where our bot is to move
+        private final long[] tableHashes = new long[1 << TABLE_BITS];
+        private final int[] tableValues = new int[1 << TABLE_BITS];
+        private final byte[] tableDepths = new byte[1 << TABLE_BITS];
+        private final byte[] tableBounds = new byte[1 << TABLE_BITS];
+        private final byte[] tableMoves = new byte[1 << TABLE_BITS];
+
+        // Move ordering
+        private final int[][] killers;
+        private final int[][] history;
+        private final int[][][] moveBuffers;
+        private final int[] priorities = new int[DIRECTIONS];
+
+        // Territory evaluation
+        private final int[] reachedMark;
+        private int mark;
+        private final byte[] owner;
+        private final int[] distance;
+        private final int[] queue;
+
+        private long positions;
+        private int completedDepth;
+
+        private Search(int botId, GameState gameState, BoardGraph graph, int depthLimit, BooleanSupplier stopped) {
+            if (gameState.getLiveBotIds().size() != 2 || !gameState.getLiveBotIds().contains(botId)) {
+                throw new IllegalArgumentException("not a duel of bot " + botId + ": " + gameState.getLiveBotIds());
+            }
+            int enemyId = gameState.getLiveBotIds().stream().filter(id -> id != botId).findFirst().get();
+
+            this.graph = graph;
+            this.depthLimit = depthLimit;
+            this.stopped = stopped;
+            this.cellCount = graph.getCellCount();
+            this.blocked = new boolean[cellCount];
+            for (int cell = 0; cell < cellCount; cell++) {
+                blocked[cell] = !graph.isFree(cell);
+            }
+            ourHead = graph.cellOf(gameState.getBotLocation(botId));
+            theirHead = graph.cellOf(gameState.getBotLocation(enemyId));
+            blocked[ourHead] = true;
+            blocked[theirHead] = true;
+
+            Random keys = new Random(cellCount); // the same keys for every search, so that the search is reproducible
+            blockedKeys = new long[cellCount];
+            ourHeadKeys = new long[cellCount];
+            theirHeadKeys = new long[cellCount];
+            for (int cell = 0; cell < cellCount; cell++) {
+                blockedKeys[cell] = keys.nextLong();
+                ourHeadKeys[cell] = keys.nextLong();
+                theirHeadKeys[cell] = keys.nextLong();
+                if (blocked[cell]) hash ^= blockedKeys[cell];
+            }
+            hash ^= ourHeadKeys[ourHead] ^ theirHeadKeys[theirHead];
+
+            killers = new int[2][(depthLimit + 1) * 2];
+            history = new int[2][cellCount * DIRECTIONS];
+            moveBuffers = new int[depthLimit + 1][2][DIRECTIONS];
+            Arrays.fill(killers[US], NO_MOVE);
+            Arrays.fill(killers[THEM], NO_MOVE);
+            reachedMark = new int[cellCount];
+            owner = new byte[cellCount];
+            distance = new int[cellCount];
+            queue = new int[cellCount];
+        }
+
+        private Map<Direction, Integer> run(int maxDepth) {
+            int[] values = new int[DIRECTIONS];
+            int[] rootMoves = new int[DIRECTIONS];
+            int rootMoveCount = 0;
+            for (int d = 0; d < DIRECTIONS; d++) {
+                if (!blocked[graph.neighbor(ourHead, d)]) rootMoves[rootMoveCount++] = d;
+            }
+
+            for (int depth = 1; depth <= depthLimit; depth++) {
+                int[] iterationValues = new int[DIRECTIONS];
+                try {
+                    for (int i = 0; i < rootMoveCount; i++) {
+                        iterationValues[rootMoves[i]] = theirTurn(depth, 0, rootMoves[i], -INFINITY, INFINITY);
+                    }
+                } catch (CancellationException e) {
+                    if (completedDepth == 0) throw e;
+                    break;
+                }
+                values = iterationValues;
+                completedDepth = depth;
+                sortByValue(rootMoves, rootMoveCount, values);
+                if (isProven(values, rootMoves, rootMoveCount)) break;
+            }
+            return scores(values, rootMoves, rootMoveCount, maxDepth);
+        }
+
+        /**
+         * Our bot is to move: the best of our moves against the opponent's best reply.
+         */
+        private int ourTurn(int depth, int ply, int alpha, int beta) {
+            countPosition();
+            if (depth == 0) return territory();
+
+            int index = (int) (hash & ((1 << TABLE_BITS) - 1));
+            int tableMove = NO_MOVE;
+            if (tableHashes[index] == hash) {
+                tableMove = tableMoves[index];
+                int value = fromTable(tableValues[index], ply);
+                if (tableDepths[index] >= depth) {
+                    byte bound = tableBounds[index];
+                    if (bound == EXACT) return value;
+                    if (bound == LOWER_BOUND) alpha = Math.max(alpha, value);
+                    if (bound == UPPER_BOUND) beta = Math.min(beta, value);
+                    if (alpha >= beta) return value;
+                }
+            }
+
+            int[] moves = moveBuffers[ply][US];
+            int moveCount = orderedMoves(US, ourHead, ply, tableMove, moves);
+            if (moveCount == 0) {
+                return hasMove(theirHead) ? -(WIN - ply) : 0;
+            }
+
+            int originalAlpha = alpha;
+            int best = -INFINITY;
+            int bestMove = moves[0];
+            for (int i = 0; i < moveCount; i++) {
+                int value = theirTurn(depth, ply, moves[i], alpha, beta);
+                if (value > best) {
+                    best = value;
+                    bestMove = moves[i];
+                }
+                alpha = Math.max(alpha, value);
+                if (alpha >= beta) {
+                    rememberCutoff(US, ourHead, ply, depth, moves[i]);
+                    break;
+                }
+            }
+
+            tableHashes[index] = hash;
+            tableValues[index] = toTable(best, ply);
+            tableDepths[index] = (byte) depth;
+            tableBounds[index] = best <= originalAlpha ? UPPER_BOUND : best >= beta ? LOWER_BOUND : EXACT;
+            tableMoves[index] = (byte) bestMove;
+            return best;
+        }
+
+        /**
+         * The opponent answers our move; then both moves are played at once.
+         */
+        private int theirTurn(int depth, int ply, int ourMove, int alpha, int beta) {
+            int ourDestination = graph.neighbor(ourHead, ourMove);
+            int[] moves = moveBuffers[ply][THEM];
+            int moveCount = orderedMoves(THEM, theirHead, ply, NO_MOVE, moves);
+            if (moveCount == 0) {
+                return WIN - ply; // the opponent crashes whatever it does, our move is safe
+            }
+
+            int best = INFINITY;
+            for (int i = 0; i < moveCount; i++) {
+                int theirDestination = graph.neighbor(theirHead, moves[i]);
+                int value;
+                if (theirDestination == ourDestination) {
+                    value = 0; // head-on collision, both bots die
+                } else {
+                    int ourPrevious = ourHead;
+                    int theirPrevious = theirHead;
+                    play(ourDestination, theirDestination);
+                    value = ourTurn(depth - 1, ply + 1, alpha, beta);
+                    undo(ourPrevious, theirPrevious);
+                }
+                best = Math.min(best, value);
+                beta = Math.min(beta, value);
+                if (alpha >= beta) {
+                    rememberCutoff(THEM, theirHead, ply, depth, moves[i]);
+                    break;
+                }
+            }
+            return best;
+        }
+
+        private void play(int ourDestination, int theirDestination) {
+            hash ^= ourHeadKeys[ourHead] ^ theirHeadKeys[theirHead];
+            ourHead = ourDestination;
+            theirHead = theirDestination;
+            blocked[ourHead] = true;
+            blocked[theirHead] = true;
+            hash ^= blockedKeys[ourHead] ^ blockedKeys[theirHead] ^ ourHeadKeys[ourHead] ^ theirHeadKeys[theirHead];
+        }
+
+        private void undo(int ourPrevious, int theirPrevious) {
+            hash ^= blockedKeys[ourHead] ^ blockedKeys[theirHead] ^ ourHeadKeys[ourHead] ^ theirHeadKeys[theirHead];
+            blocked[ourHead] = false;
+            blocked[theirHead] = false;
+            ourHead = ourPrevious;
+            theirHead = theirPrevious;
+            hash ^= ourHeadKeys[ourHead] ^ theirHeadKeys[theirHead];
+        }
+
+        /**
+         * Fill the buffer with the free moves from the head, best first: the move from the table, the killers
+         * of the turn, then by history.
+         */
+        private int orderedMoves(int side, int head, int ply, int tableMove, int[] moves) {
+            int count = 0;
+            for (int d = 0; d < DIRECTIONS; d++) {
+                if (blocked[graph.neighbor(head, d)]) continue;
+                int priority = history[side][head * DIRECTIONS + d];
+                if (d == killers[side][ply * 2 + 1]) priority = Integer.MAX_VALUE - 2;
+                if (d == killers[side][ply * 2]) priority = Integer.MAX_VALUE - 1;
+                if (d == tableMove) priority = Integer.MAX_VALUE;
+
+                // insertion sort, the list has at most four moves
+                int i = count++;
+                while (i > 0 && priorities[i - 1] < priority) {
+                    moves[i] = moves[i - 1];
+                    priorities[i] = priorities[i - 1];
+                    i--;
+                }
+                moves[i] = d;
+                priorities[i] = priority;
+            }
+            return count;
+        }
+
+        private void rememberCutoff(int side, int head, int ply, int depth, int move) {
+            int[] sideKillers = killers[side];
+            if (sideKillers[ply * 2] != move) {
+                sideKillers[ply * 2 + 1] = sideKillers[ply * 2];
+                sideKillers[ply * 2] = move;
+            }
+            history[side][head * DIRECTIONS + move] += depth * depth;
+        }
+
+        private boolean hasMove(int head) {
+            for (int d = 0; d < DIRECTIONS; d++) {
+                if (!blocked[graph.neighbor(head, d)]) return true;
+            }
+            return false;
+        }
+
+        /**
+         * Cells our bot reaches strictly before the opponent minus the cells the opponent reaches strictly first,
+         * by one breadth-first search from both heads; a cell reached by both at once is nobody's and stops the search
+         */
+        private int territory() {
+            mark++;
+            reachedMark[ourHead] = mark;
+            reachedMark[theirHead] = mark;
+            owner[ourHead] = US;
+            owner[theirHead] = THEM;
+            distance[ourHead] = 0;
+            distance[theirHead] = 0;
+            queue[0] = ourHead;
+            queue[1] = theirHead;
+            int size = 2;
+            int territory = 0;
+            for (int next = 0; next < size; next++) {
+                int cell = queue[next];
+                byte side = owner[cell];
+                if (side == NOBODY) continue;
+                for (int d = 0; d < DIRECTIONS; d++) {
+                    int neighbor = graph.neighbor(cell, d);
+                    if (blocked[neighbor]) continue;
+                    if (reachedMark[neighbor] != mark) {
+                        reachedMark[neighbor] = mark;
+                        owner[neighbor] = side;
+                        distance[neighbor] = distance[cell] + 1;
+                        queue[size++] = neighbor;
+                        territory += side == US ? 1 : -1;
+                    } else if (owner[neighbor] != side && owner[neighbor] != NOBODY && distance[neighbor] == distance[cell] + 1) {
+                        territory -= owner[neighbor] == US ? 1 : -1;
+                        owner[neighbor] = NOBODY;
+                    }
+                }
+            }
+            return territory;
+        }
+
+        private void countPosition() {
+            if (positions++ % CHECK_INTERVAL == 0 && stopped.getAsBoolean()) {
+                throw new CancellationException("evaluation cancelled");
+            }
+        }
+
+        /**
+         * Wins and losses are stored relative to the position, so that they can be reused at another ply
+         */
+        private static int toTable(int value, int ply) {
+            if (value > PROVEN) return value + ply;
+            if (value < -PROVEN) return value - ply;
+            return value;
+        }
+
+        private static int fromTable(int value, int ply) {
+            if (value > PROVEN) return value - ply;
+            if (value < -PROVEN) return value + ply;
+            return value;
+        }
+
+        private static void sortByValue(int[] moves, int count, int[] values) {
+            for (int i = 1; i < count; i++) {
+                int move = moves[i];
+                int j = i;
+                while (j > 0 && values[moves[j - 1]] < values[move]) {
+                    moves[j] = moves[j - 1];
+                    j--;
+                }
+                moves[j] = move;
+            }
+        }
+
+        /**
+         * Whether searching deeper cannot change the decision: the best move wins, or every move loses
+         * (the moves are sorted best first)
+         */
+        private static boolean isProven(int[] values, int[] moves, int count) {
+            if (count == 0 || values[moves[0]] > PROVEN) return true;
+            for (int i = 0; i < count; i++) {
+                if (values[moves[i]] >= -PROVEN) return false;
+            }
+            return true;
+        }
+
+        /**
+         * Territory leads are clamped between 2 and {@code 2 * maxDepth - 1}, so that they stay apart from
+         * proven results; the board may be left in the middle of a stopped iteration, so only the root moves count
+         */
+        private static Map<Direction, Integer> scores(int[] values, int[] rootMoves, int rootMoveCount, int maxDepth) {
+            Map<Direction, Integer> moveScores = new EnumMap<>(Direction.class);
+            for (Direction direction : Direction.values()) {
+                moveScores.put(direction, 0);
+            }
+            for (int i = 0; i < rootMoveCount; i++) {
+                int value = values[rootMoves[i]];
+                int score;
+                if (value > PROVEN) {
+                    score = 2 * maxDepth;
+                } else if (value < -PROVEN) {
+                    score = 1;
+                } else {
+                    score = maxDepth + Math.max(2 - maxDepth, Math.min(maxDepth - 1, value));
+                }
+                moveScores.put(Direction.values()[rootMoves[i]], score);
+            }
+            return moveScores;
+        }
+    }
+}
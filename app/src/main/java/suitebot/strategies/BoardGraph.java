@@ -0,0 +1,902 @@
+package suitebot.strategies;
+
+import suitebot.game.Direction;
+import suitebot.game.GameState;
+import suitebot.game.Point;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Free cells of the plan compressed into a graph of junctions.
+ *
+ * A cell is free if it is not an obstacle, as in the cell-by-cell searches. Free cells with exactly two free
+ * neighbours are corridor cells; all other free cells are junctions. A maximal chain of corridor cells becomes
+ * one edge between the junctions at its ends (both ends are the same junction for a loop; a ring of corridor cells
+ * has no ends at all). Junctions next to each other are connected directly, without an edge.
+ *
+ * A walk entering a corridor has no choice until it leaves it at the other end, so a {@link Walker} moves along
+ * a whole corridor in one step. Late in the game, when the plan is mostly corridors, this cuts the cost of
+ * a rollout by about the average corridor length.
+ *
+ * The graph is kept up to date as trails grow by {@link #advance(GameState)}, which only re-traces the corridors
+ * around the new obstacles. A graph is not thread-safe while it is being advanced; walking it is.
+ */
+public class BoardGraph {
+    private static final int NONE = -1;
+    private static final int DIRECTIONS = 4;
+    private static final int INFINITY = Integer.MAX_VALUE / 2;
+
+    private final int width;
+    private final int height;
+    private final int[] neighbors; // cell * 4 + direction -> neighbouring cell; shared by copies, never changed
+    private final boolean tiny; // on plans narrower than 3 cells the neighbours of a cell are not distinct
+
+    private final boolean[] free;
+    private final boolean[] junction;
+    private final int[] exits; // junction * 4 + direction -> edge << 1 | side, NONE if the neighbour is no corridor cell
+    private final int[] edgeOf; // corridor cell -> edge
+    private final int[] offsetOf; // corridor cell -> position in the cells of its edge
+    private int blockedCount;
+    private int junctionCount;
+
+    private int[] endA; // NONE for a ring
+    private int[] endB;
+    private int[][] edgeCells; // from end A to end B; null for an unused edge slot
+    private int[] unusedEdges;
+    private int unusedEdgeCount;
+    private int edgeSlots;
+    private int edgeCount;
+
+    private int[] touched = new int[16]; // cells whose corridors have to be re-traced
+    private int touchedCount;
+
+    private BoardGraph(int width, int height) {
+        int cells = width * height;
+        this.width = width;
+        this.height = height;
+        this.neighbors = new int[cells * DIRECTIONS];
+        this.tiny = width < 3 || height < 3;
+        this.free = new boolean[cells];
+        this.junction = new boolean[cells];
+        this.exits = new int[cells * DIRECTIONS];
+        this.edgeOf = new int[cells];
+        this.offsetOf = new int[cells];
+        this.endA = new int[16];
+        this.endB = new int[16];
+        this.edgeCells = new int[16][];
+        this.unusedEdges = new int[16];
+
+        Direction[] directions = Direction.values();
+        for (int cell = 0; cell < cells; cell++) {
+            for (int d = 0; d < DIRECTIONS; d++) {
+                int x = Math.floorMod(cell % width + directions[d].dx, width);
+                int y = Math.floorMod(cell / width + directions[d].dy, height);
+                neighbors[cell * DIRECTIONS + d] = y * width + x;
+            }
+        }
+    }
+
+    private BoardGraph(BoardGraph other) {
+        this.width = other.width;
+        this.height = other.height;
+        this.neighbors = other.neighbors;
+        this.tiny = other.tiny;
+        this.free = other.free.clone();
+        this.junction = other.junction.clone();
+        this.exits = other.exits.clone();
+        this.edgeOf = other.edgeOf.clone();
+        this.offsetOf = other.offsetOf.clone();
+        this.blockedCount = other.blockedCount;
+        this.junctionCount = other.junctionCount;
+        this.endA = other.endA.clone();
+        this.endB = other.endB.clone();
+        this.edgeCells = other.edgeCells.clone(); // the cell arrays of an edge are never changed
+        this.unusedEdges = other.unusedEdges.clone();
+        this.unusedEdgeCount = other.unusedEdgeCount;
+        this.edgeSlots = other.edgeSlots;
+        this.edgeCount = other.edgeCount;
+    }
+
+    /**
+     * Builds the graph of the free cells of the given state.
+     */
+    public static BoardGraph of(GameState gameState) {
+        BoardGraph graph = new BoardGraph(gameState.getPlanWidth(), gameState.getPlanHeight());
+        Arrays.fill(graph.free, true);
+        Arrays.fill(graph.exits, NONE);
+        Arrays.fill(graph.edgeOf, NONE);
+        for (Point location : gameState.getObstacleLocations()) {
+            graph.markBlocked(graph.cellOf(location));
+        }
+
+        for (int cell = 0; cell < graph.free.length; cell++) {
+            graph.updateJunction(cell);
+        }
+        for (int cell = 0; cell < graph.free.length; cell++) {
+            graph.touch(cell);
+        }
+        graph.retrace();
+        return graph;
+    }
+
+    /**
+     * Returns an independent copy, e.g. to advance it to a state that may not be played.
+     */
+    public BoardGraph copy() {
+        return new BoardGraph(this);
+    }
+
+    /**
+     * Blocks the cells that became obstacles since the state the graph was built or last advanced for.
+     *
+     * @return false if the state cannot follow the one of the graph, i.e. the plan differs or an obstacle
+     *         has disappeared; the graph has to be rebuilt then
+     */
+    public boolean advance(GameState gameState) {
+        if (gameState.getPlanWidth() != width || gameState.getPlanHeight() != height) return false;
+
+        Set<Point> obstacles = gameState.getObstacleLocations();
+        for (Point location : obstacles) {
+            block(cellOf(location));
+        }
+        return obstacles.size() == blockedCount;
+    }
+
+    public int getPlanWidth() {
+        return width;
+    }
+
+    public int getPlanHeight() {
+        return height;
+    }
+
+    public int cellOf(Point location) {
+        return location.y * width + location.x;
+    }
+
+    public int getCellCount() {
+        return free.length;
+    }
+
+    /**
+     * Returns the cell next to the given one in the direction with the given {@link Direction#ordinal()},
+     * wrapping around the edges of the plan.
+     */
+    public int neighbor(int cell, int direction) {
+        return neighbors[cell * DIRECTIONS + direction];
+    }
+
+    public boolean isFree(int cell) {
+        return free[cell];
+    }
+
+    public int getJunctionCount() {
+        return junctionCount;
+    }
+
+    public int getEdgeCount() {
+        return edgeCount;
+    }
+
+    /**
+     * Returns the number of corridor cells collapsed into edges.
+     */
+    public int getCorridorCellCount() {
+        return free.length - blockedCount - junctionCount;
+    }
+
+    public long estimatedBytes() {
+        return free.length * 30L + edgeSlots * 32L + (long) getCorridorCellCount() * Integer.BYTES;
+    }
+
+    /**
+     * Returns a walker for rollouts and distance queries; every thread needs its own.
+     */
+    public Walker newWalker() {
+        return new Walker();
+    }
+
+    /**
+     * Returns an engine playing {@link RolloutBatch#LANES} rollouts at once; every thread needs its own.
+     */
+    public RolloutBatch newRolloutBatch() {
+        return new RolloutBatch();
+    }
+
+    private void markBlocked(int cell) {
+        if (free[cell]) {
+            free[cell] = false;
+            blockedCount++;
+        }
+    }
+
+    private void block(int cell) {
+        if (!free[cell]) return;
+
+        removeEdgesAround(cell);
+        for (int d = 0; d < DIRECTIONS; d++) {
+            removeEdgesAround(neighbors[cell * DIRECTIONS + d]);
+        }
+
+        markBlocked(cell);
+        updateJunction(cell);
+        for (int d = 0; d < DIRECTIONS; d++) {
+            int neighbor = neighbors[cell * DIRECTIONS + d];
+            updateJunction(neighbor);
+            touch(neighbor);
+        }
+        retrace();
+    }
+
+    private void updateJunction(int cell) {
+        boolean isJunction = free[cell] && (tiny || freeNeighborCount(cell) != 2);
+        if (isJunction != junction[cell]) {
+            junction[cell] = isJunction;
+            junctionCount += isJunction ? 1 : -1;
+        }
+    }
+
+    private int freeNeighborCount(int cell) {
+        int count = 0;
+        for (int d = 0; d < DIRECTIONS; d++) {
+            if (free[neighbors[cell * DIRECTIONS + d]]) count++;
+        }
+        return count;
+    }
+
+    private void removeEdgesAround(int cell) {
+        if (junction[cell]) {
+            for (int d = 0; d < DIRECTIONS; d++) {
+                int exit = exits[cell * DIRECTIONS + d];
+                if (exit != NONE) removeEdge(exit >> 1);
+            }
+        } else if (free[cell] && edgeOf[cell] != NONE) {
+            removeEdge(edgeOf[cell]);
+        }
+    }
+
+    private void removeEdge(int edge) {
+        for (int cell : edgeCells[edge]) {
+            edgeOf[cell] = NONE;
+            touch(cell);
+        }
+        clearExits(endA[edge], edge);
+        clearExits(endB[edge], edge);
+        edgeCells[edge] = null;
+        if (unusedEdgeCount == unusedEdges.length) unusedEdges = Arrays.copyOf(unusedEdges, unusedEdgeCount * 2);
+        unusedEdges[unusedEdgeCount++] = edge;
+        edgeCount--;
+    }
+
+    private void clearExits(int end, int edge) {
+        if (end == NONE) return;
+        touch(end);
+        for (int d = 0; d < DIRECTIONS; d++) {
+            int exit = exits[end * DIRECTIONS + d];
+            if (exit != NONE && exit >> 1 == edge) exits[end * DIRECTIONS + d] = NONE;
+        }
+    }
+
+    private void touch(int cell) {
+        if (touchedCount == touched.length) touched = Arrays.copyOf(touched, touchedCount * 2);
+        touched[touchedCount++] = cell;
+    }
+
+    /**
+     * Traces the corridors leaving the touched junctions first, then the ones of the touched corridor cells still
+     * without an edge: a junction next to a cell that has just become a corridor cell is not touched itself.
+     */
+    private void retrace() {
+        for (int i = 0; i < touchedCount; i++) {
+            int cell = touched[i];
+            if (!junction[cell]) continue;
+            for (int d = 0; d < DIRECTIONS; d++) {
+                int neighbor = neighbors[cell * DIRECTIONS + d];
+                if (free[neighbor] && !junction[neighbor] && exits[cell * DIRECTIONS + d] == NONE) {
+                    traceCorridor(cell, d);
+                }
+            }
+        }
+        for (int i = 0; i < touchedCount; i++) {
+            int cell = touched[i];
+            if (free[cell] && !junction[cell] && edgeOf[cell] == NONE) {
+                traceCorridorOf(cell);
+            }
+        }
+        touchedCount = 0;
+    }
+
+    private void traceCorridor(int start, int direction) {
+        int[] cells = new int[8];
+        int length = 0;
+        int previous = start;
+        int current = neighbors[start * DIRECTIONS + direction];
+        while (!junction[current]) {
+            if (length == cells.length) cells = Arrays.copyOf(cells, length * 2);
+            cells[length++] = current;
+            int next = otherFreeNeighbor(current, previous);
+            previous = current;
+            current = next;
+        }
+
+        int edge = addEdge(start, current, Arrays.copyOf(cells, length));
+        exits[start * DIRECTIONS + direction] = edge << 1;
+        int last = cells[length - 1];
+        for (int d = 0; d < DIRECTIONS; d++) {
+            if (neighbors[current * DIRECTIONS + d] == last && exits[current * DIRECTIONS + d] == NONE) {
+                exits[current * DIRECTIONS + d] = edge << 1 | 1;
+                break;
+            }
+        }
+    }
+
+    /**
+     * Traces the corridor the cell is part of from the junction at one of its ends, or the ring if it has none.
+     */
+    private void traceCorridorOf(int start) {
+        int[] cells = new int[8];
+        int length = 0;
+        int previous = NONE;
+        int current = start;
+        do {
+            if (length == cells.length) cells = Arrays.copyOf(cells, length * 2);
+            cells[length++] = current;
+            int next = otherFreeNeighbor(current, previous);
+            if (junction[next]) {
+                for (int d = 0; d < DIRECTIONS; d++) {
+                    if (neighbors[next * DIRECTIONS + d] == current && exits[next * DIRECTIONS + d] == NONE) {
+                        traceCorridor(next, d);
+                        return;
+                    }
+                }
+                throw new IllegalStateException("corridor of cell " + start + " is traced already");
+            }
+            previous = current;
+            current = next;
+        } while (current != start);
+
+        addEdge(NONE, NONE, Arrays.copyOf(cells, length));
+    }
+
+    private int otherFreeNeighbor(int cell, int previous) {
+        for (int d = 0; d < DIRECTIONS; d++) {
+            int neighbor = neighbors[cell * DIRECTIONS + d];
+            if (free[neighbor] && neighbor != previous) return neighbor;
+        }
+        throw new IllegalStateException("corridor cell " + cell + " has no way on");
+    }
+
+    private int addEdge(int a, int b, int[] cells) {
+        int edge;
+        if (unusedEdgeCount > 0) {
+            edge = unusedEdges[--unusedEdgeCount];
+        } else {
+            if (edgeSlots == edgeCells.length) {
+                endA = Arrays.copyOf(endA, edgeSlots * 2);
+                endB = Arrays.copyOf(endB, edgeSlots * 2);
+                edgeCells = Arrays.copyOf(edgeCells, edgeSlots * 2);
+            }
+            edge = edgeSlots++;
+        }
+
+        endA[edge] = a;
+        endB[edge] = b;
+        edgeCells[edge] = cells;
+        for (int i = 0; i < cells.length; i++) {
+            edgeOf[cells[i]] = edge;
+            offsetOf[cells[i]] = i;
+        }
+        edgeCount++;
+        return edge;
+    }
+
+    /**
+     * Walks the graph of its {@link BoardGraph}. Keeps the scratch state of the walks, so that they allocate nothing.
+     */
+    public final class Walker {
+        private final int[] junctionMark = new int[free.length];
+        private final int[] edgeMark = new int[edgeCells.length];
+        private final int[] distance = new int[free.length];
+        private final int[] options = new int[DIRECTIONS];
+        private final int[] junctionRegion = new int[free.length];
+        private final int[] edgeRegion = new int[edgeCells.length];
+        private final int[] stack = new int[free.length];
+        private long[] heap = new long[64];
+        private int heapSize;
+        private int mark;
+        private int regionMark;
+        private int cellsReached;
+        private int walkedSteps;
+
+        // The corridor of the start cell of the last walk and how many of its cells are left on either side
+        private int startEdge;
+        private int remainingA;
+        private int remainingB;
+
+        private Walker() {
+        }
+
+        /**
+         * Plays a random walk from the start cell: every step goes to a free cell the walk has not been to yet,
+         * chosen uniformly, until there is none or the walk has made {@code maxDepth} steps.
+         *
+         * @return the number of cells the walk has been to, the start cell included
+         */
+        public int rollout(int start, int maxDepth, Random random) {
+            return rollout(start, maxDepth, maxDepth, random);
+        }
+
+        /**
+         * Same as {@link #rollout(int, int, Random)}, but stops walking after {@code prefix} steps. The rest of the value
+         * is estimated statically: the free cells still reachable from where the walk stopped, up to {@code maxDepth}
+         * steps in all.
+         *
+         * @return the number of cells the walk has been to, the start cell included, plus the estimate
+         */
+        public int rollout(int start, int maxDepth, int prefix, Random random) {
+            int limit = maxDepth + 1;
+            int walkLimit = Math.min(limit, prefix + 1);
+            walkedSteps = 0;
+            if (!free[start]) return 1;
+            mark++;
+
+            int score = 1;
+            int current = start;
+            startEdge = NONE;
+            remainingA = 0;
+            remainingB = 0;
+            if (!junction[start]) {
+                // Leave the corridor of the start cell at one of its ends; the other part of it stays open
+                startEdge = edgeOf[start];
+                int[] cells = edgeCells[startEdge];
+                int offset = offsetOf[start];
+                if (endA[startEdge] == NONE) {
+                    walkedSteps = Math.min(cells.length, limit) - 1;
+                    return walkedSteps + 1;
+                }
+
+                // Pick the side by direction order, whatever way the corridor was traced
+                int firstNeighbor = otherFreeNeighbor(start, NONE);
+                boolean firstTowardA = offset > 0 ? cells[offset - 1] == firstNeighbor : endA[startEdge] == firstNeighbor;
+                if (random.nextBoolean() == firstTowardA) {
+                    score += offset + 1;
+                    current = endA[startEdge];
+                    remainingB = cells.length - 1 - offset;
+                } else {
+                    score += cells.length - offset;
+                    current = endB[startEdge];
+                    remainingA = offset;
+                }
+                if (score >= limit) {
+                    walkedSteps = limit - 1;
+                    return limit;
+                }
+            }
+            junctionMark[current] = mark;
+
+            boolean alive = true;
+            while (score < walkLimit) {
+                int optionCount = 0;
+                for (int d = 0; d < DIRECTIONS; d++) {
+                    int neighbor = neighbors[current * DIRECTIONS + d];
+                    if (!free[neighbor]) continue;
+                    if (junction[neighbor]) {
+                        if (junctionMark[neighbor] != mark) options[optionCount++] = d;
+                    } else {
+                        int exit = exits[current * DIRECTIONS + d];
+                        int edge = exit >> 1;
+                        boolean open = edge == startEdge
+                                ? ((exit & 1) == 0 ? remainingA : remainingB) > 0
+                                : edgeMark[edge] != mark;
+                        if (open) options[optionCount++] = d;
+                    }
+                }
+                if (optionCount == 0) {
+                    alive = false;
+                    break;
+                }
+
+                int d = options[optionCount == 1 ? 0 : random.nextInt(optionCount)];
+                int neighbor = neighbors[current * DIRECTIONS + d];
+                if (junction[neighbor]) {
+                    current = neighbor;
+                    junctionMark[current] = mark;
+                    score++;
+                    continue;
+                }
+
+                int exit = exits[current * DIRECTIONS + d];
+                int edge = exit >> 1;
+                if (edge == startEdge) {
+                    // Back into the corridor of the start cell, up to the cell before it
+                    score += (exit & 1) == 0 ? remainingA : remainingB;
+                    alive = false;
+                    break;
+                }
+                edgeMark[edge] = mark;
+                score += edgeCells[edge].length;
+                int next = (exit & 1) == 0 ? endB[edge] : endA[edge];
+                if (score >= limit || junctionMark[next] == mark) {
+                    alive = false;
+                    break;
+                }
+                current = next;
+                junctionMark[current] = mark;
+                score++;
+            }
+
+            score = Math.min(score, limit);
+            walkedSteps = score - 1;
+            if (alive && score < limit) {
+                regionMark++;
+                stack[0] = current;
+                score += spread(1, 0, limit - score);
+            }
+            return score;
+        }
+
+        /**
+         * Returns the number of steps actually walked by the last rollout, i.e. without the estimate.
+         */
+        public int getWalkedSteps() {
+            return walkedSteps;
+        }
+
+        /**
+         * Counts the free cells reachable from the start cell, the start cell included, up to {@code limit}.
+         * Below the limit, {@link #isInLastSpace(int)} then tells which cells were counted.
+         */
+        public int space(int start, int limit) {
+            if (!free[start]) return 0;
+            mark++;
+            regionMark++;
+            startEdge = NONE;
+            remainingA = 0;
+            remainingB = 0;
+
+            if (junction[start]) {
+                junctionMark[start] = mark;
+                stack[0] = start;
+                return 1 + spread(1, 0, limit - 1);
+            }
+
+            // The whole corridor of the start cell is reachable, then the junctions at its ends
+            int edge = edgeOf[start];
+            edgeRegion[edge] = regionMark;
+            int count = edgeCells[edge].length;
+            int seeds = 0;
+            for (int end : new int[] {endA[edge], endB[edge]}) {
+                if (end != NONE && junctionRegion[end] != regionMark) {
+                    junctionRegion[end] = regionMark;
+                    stack[seeds++] = end;
+                    count++;
+                }
+            }
+            return Math.min(count + spread(seeds, 0, limit - count), limit);
+        }
+
+        /**
+         * Whether the cell was counted by the last {@link #space(int, int)}.
+         */
+        public boolean isInLastSpace(int cell) {
+            if (!free[cell]) return false;
+            if (junction[cell]) return junctionRegion[cell] == regionMark || junctionMark[cell] == mark;
+            return edgeRegion[edgeOf[cell]] == regionMark;
+        }
+
+        /**
+         * Counts the cells reachable from the junctions on the stack without crossing the current walk, up to {@code limit}.
+         * The junctions on the stack are counted by the caller.
+         */
+        private int spread(int stackSize, int count, int limit) {
+            while (stackSize > 0 && count < limit) {
+                int cell = stack[--stackSize];
+                for (int d = 0; d < DIRECTIONS; d++) {
+                    int neighbor = neighbors[cell * DIRECTIONS + d];
+                    if (!free[neighbor]) continue;
+                    if (junction[neighbor]) {
+                        if (junctionMark[neighbor] != mark && junctionRegion[neighbor] != regionMark) {
+                            junctionRegion[neighbor] = regionMark;
+                            stack[stackSize++] = neighbor;
+                            count++;
+                        }
+                        continue;
+                    }
+
+                    int exit = exits[cell * DIRECTIONS + d];
+                    int edge = exit >> 1;
+                    if (edge == startEdge) {
+                        // Only the part of the corridor between this end and the start cell is left
+                        count += (exit & 1) == 0 ? remainingA : remainingB;
+                    } else if (edgeMark[edge] != mark && edgeRegion[edge] != regionMark) {
+                        edgeRegion[edge] = regionMark;
+                        count += edgeCells[edge].length;
+                        int next = (exit & 1) == 0 ? endB[edge] : endA[edge];
+                        if (junctionMark[next] != mark && junctionRegion[next] != regionMark) {
+                            junctionRegion[next] = regionMark;
+                            stack[stackSize++] = next;
+                            count++;
+                        }
+                    }
+                }
+            }
+            return Math.min(count, limit);
+        }
+
+        /**
+         * Returns the distance, counted in steps, to the farthest free cell reachable from the start cell,
+         * or {@code limit} if it is farther.
+         */
+        public int farthestDistance(int start, int limit) {
+            cellsReached = 0;
+            if (!free[start]) return 0;
+            mark++;
+            heapSize = 0;
+
+            int startEdge = NONE;
+            if (junction[start]) {
+                push(0, start);
+            } else {
+                startEdge = edgeOf[start];
+                int length = edgeCells[startEdge].length;
+                if (endA[startEdge] == NONE) {
+                    cellsReached = length;
+                    return Math.min(length / 2, limit);
+                }
+                push(offsetOf[start] + 1, endA[startEdge]);
+                push(length - offsetOf[start], endB[startEdge]);
+            }
+
+            int farthest = 0;
+            while (heapSize > 0) {
+                long entry = pop();
+                int dist = (int) (entry >>> 32);
+                int cell = (int) entry;
+                if (junctionMark[cell] == mark) continue;
+                if (dist > limit) break;
+                junctionMark[cell] = mark;
+                distance[cell] = dist;
+                farthest = Math.max(farthest, dist);
+                cellsReached++;
+
+                for (int d = 0; d < DIRECTIONS; d++) {
+                    int neighbor = neighbors[cell * DIRECTIONS + d];
+                    if (!free[neighbor]) continue;
+                    if (junction[neighbor]) {
+                        if (junctionMark[neighbor] != mark) push(dist + 1, neighbor);
+                    } else {
+                        int exit = exits[cell * DIRECTIONS + d];
+                        int edge = exit >> 1;
+                        if (edge == startEdge) continue; // its ends are reached from the start cell directly
+                        int next = (exit & 1) == 0 ? endB[edge] : endA[edge];
+                        if (junctionMark[next] != mark) push(dist + edgeCells[edge].length + 1, next);
+                    }
+                }
+            }
+
+            for (int edge = 0; edge < edgeSlots; edge++) {
+                if (edgeCells[edge] == null || endA[edge] == NONE) continue;
+                int length = edgeCells[edge].length;
+                int distA = distanceTo(endA[edge]);
+                int distB = distanceTo(endB[edge]);
+                if (edge == startEdge) {
+                    int offset = offsetOf[start];
+                    farthest = Math.max(farthest, farthestInSegment(distA, 0, offset));
+                    farthest = Math.max(farthest, farthestInSegment(0, distB, length - 1 - offset));
+                    cellsReached += length;
+                } else if (distA < INFINITY || distB < INFINITY) {
+                    farthest = Math.max(farthest, farthestInSegment(distA, distB, length));
+                    cellsReached += length;
+                }
+            }
+            return Math.min(farthest, limit);
+        }
+
+        /**
+         * Returns the number of cells reached by the last {@link #farthestDistance(int, int)}, counting every corridor
+         * with a reached end as a whole.
+         */
+        public int getCellsReached() {
+            return cellsReached;
+        }
+
+        private int distanceTo(int cell) {
+            return junctionMark[cell] == mark ? distance[cell] : INFINITY;
+        }
+
+        /**
+         * The farthest of {@code length} cells in a row whose ends are next to cells at the given distances.
+         */
+        private int farthestInSegment(int distA, int distB, int length) {
+            if (length == 0) return 0;
+            int crossing = Math.floorDiv(distB + length + 1 - distA, 2);
+            int farthest = 0;
+            for (int i = crossing; i <= crossing + 1; i++) {
+                int position = Math.max(1, Math.min(length, i));
+                farthest = Math.max(farthest, Math.min(distA + position, distB + length + 1 - position));
+            }
+            return farthest;
+        }
+
+        private void push(int dist, int cell) {
+            if (heapSize == heap.length) heap = Arrays.copyOf(heap, heapSize * 2);
+            long entry = (long) dist << 32 | cell;
+            int i = heapSize++;
+            while (i > 0 && heap[(i - 1) / 2] > entry) {
+                heap[i] = heap[(i - 1) / 2];
+                i = (i - 1) / 2;
+            }
+            heap[i] = entry;
+        }
+
+        private long pop() {
+            long top = heap[0];
+            long last = heap[--heapSize];
+            int i = 0;
+            while (2 * i + 1 < heapSize) {
+                int child = 2 * i + 1;
+                if (child + 1 < heapSize && heap[child + 1] < heap[child]) child++;
+                if (heap[child] >= last) break;
+                heap[i] = heap[child];
+                i = child;
+            }
+            heap[i] = last;
+            return top;
+        }
+    }
+
+    /**
+     * Random walks cell by cell as in {@link Walker#rollout(int, int, int, Random)}, {@link #LANES} of them in lockstep.
+     *
+     * Every step advances all walks still going before the next step starts. The state of the walks is kept in arrays
+     * indexed by lane, and the cells a walk has been to in one bitset per cell, a bit per lane, so that the walks of
+     * a batch share the rows of the neighbour table and of the bitsets they touch. An obstacle has all bits set, so
+     * that whether a lane may enter a cell is a single bit test without branches. The random numbers come from
+     * a xorshift generator seeded once per batch.
+     *
+     * The obstacles are taken from the graph when the batch is created; a batch is not updated by {@link #advance}.
+     */
+    public final class RolloutBatch {
+        public static final int LANES = 64;
+
+        // open directions as a bit mask << 2 | n -> the direction of the n-th open one
+        private static final byte[] NTH_OPEN_DIRECTION = new byte[16 * DIRECTIONS];
+
+        static {
+            for (int open = 0; open < 16; open++) {
+                int n = 0;
+                for (int d = 0; d < DIRECTIONS; d++) {
+                    if ((open & 1 << d) != 0) NTH_OPEN_DIRECTION[open << 2 | n++] = (byte) d;
+                }
+            }
+        }
+
+        private final long[] closed = new long[free.length]; // cell -> lanes that have been to it, all for an obstacle
+        private final int[] heads = new int[LANES];
+        private final int[] lengths = new int[LANES];
+        private int[] trail = new int[0]; // step * LANES + lane -> cell
+
+        // Scratch space of the estimates of truncated walks
+        private final int[] searchMarks = new int[free.length];
+        private final int[] queue = new int[free.length];
+        private int searchMark;
+
+        private RolloutBatch() {
+            for (int cell = 0; cell < free.length; cell++) {
+                closed[cell] = free[cell] ? 0 : -1L;
+            }
+        }
+
+        /**
+         * Plays {@code lanes} random walks from the start cell, each of at most {@code maxDepth} steps.
+         *
+         * @param lanes number of walks, at most {@link #LANES}
+         * @param scores receives the score of every walk: the number of cells it has been to, the start cell included
+         * @return the number of steps made by all walks together
+         */
+        public long rollout(int start, int maxDepth, int lanes, Random random, int[] scores) {
+            return rollout(start, maxDepth, maxDepth, lanes, random, scores);
+        }
+
+        /**
+         * Same as {@link #rollout(int, int, int, Random, int[])}, but stops walking after {@code prefix} steps.
+         * The rest of the score of a walk still going is estimated as in {@link Walker#rollout(int, int, int, Random)}:
+         * the free cells still reachable from where it stopped, up to {@code maxDepth} steps in all.
+         *
+         * @return the number of steps made by all walks together, without the estimates
+         */
+        public long rollout(int start, int maxDepth, int prefix, int lanes, Random random, int[] scores) {
+            if (closed[start] == -1L) {
+                Arrays.fill(scores, 0, lanes, 1);
+                return 0;
+            }
+            int walkSteps = Math.min(maxDepth, prefix);
+            if (trail.length < (walkSteps + 1) * LANES) trail = new int[(walkSteps + 1) * LANES];
+
+            Arrays.fill(heads, start);
+            Arrays.fill(trail, 0, LANES, start);
+            closed[start] = -1L;
+
+            // locals, so that the compiler keeps them in registers across the loop
+            int[] neighbors = BoardGraph.this.neighbors;
+            long[] closed = this.closed;
+            int[] heads = this.heads;
+            int[] trail = this.trail;
+            long state = random.nextLong() | 1; // of the xorshift generator, which must not be 0
+            long walking = lanes == LANES ? -1L : (1L << lanes) - 1;
+            int step = 0;
+            while (walking != 0 && step < walkSteps) {
+                step++;
+                int row = step * LANES;
+                for (long pending = walking; pending != 0; pending &= pending - 1) {
+                    int lane = Long.numberOfTrailingZeros(pending);
+                    long bit = 1L << lane;
+                    int base = heads[lane] * DIRECTIONS;
+                    int open = (int) (~closed[neighbors[base]] >>> lane) & 1
+                            | ((int) (~closed[neighbors[base + 1]] >>> lane) & 1) << 1
+                            | ((int) (~closed[neighbors[base + 2]] >>> lane) & 1) << 2
+                            | ((int) (~closed[neighbors[base + 3]] >>> lane) & 1) << 3;
+                    int count = Integer.bitCount(open);
+                    if (count == 0) {
+                        walking &= ~bit;
+                        lengths[lane] = step - 1;
+                        continue;
+                    }
+
+                    state ^= state << 13;
+                    state ^= state >>> 7;
+                    state ^= state << 17;
+                    int choice = (int) (((state >>> 32) * count) >>> 32);
+                    int next = neighbors[base + NTH_OPEN_DIRECTION[open << 2 | choice]];
+                    closed[next] |= bit;
+                    heads[lane] = next;
+                    trail[row + lane] = next;
+                }
+            }
+
+            long steps = 0;
+            for (int lane = 0; lane < lanes; lane++) {
+                boolean going = (walking & 1L << lane) != 0;
+                int length = going ? step : lengths[lane];
+                scores[lane] = length + 1;
+                steps += length;
+                if (going && length < maxDepth) {
+                    scores[lane] += reachable(heads[lane], lane, maxDepth - length);
+                }
+            }
+            for (int lane = 0; lane < lanes; lane++) {
+                int length = (walking & 1L << lane) != 0 ? step : lengths[lane];
+                for (int i = 0; i <= length; i++) {
+                    closed[trail[i * LANES + lane]] = 0;
+                }
+            }
+            return steps;
+        }
+
+        /**
+         * Counts the free cells reachable from the head of the lane that the lane has not been to, up to {@code limit}.
+         */
+        private int reachable(int head, int lane, int limit) {
+            long bit = 1L << lane;
+            searchMark++;
+            searchMarks[head] = searchMark;
+            queue[0] = head;
+            int size = 1;
+            int count = 0;
+            for (int i = 0; i < size && count < limit; i++) {
+                int base = queue[i] * DIRECTIONS;
+                for (int d = 0; d < DIRECTIONS && count < limit; d++) {
+                    int next = neighbors[base + d];
+                    if ((closed[next] & bit) == 0 && searchMarks[next] != searchMark) {
+                        searchMarks[next] = searchMark;
+                        queue[size++] = next;
+                        count++;
+                    }
+                }
+            }
+            return count;
+        }
+    }
+}
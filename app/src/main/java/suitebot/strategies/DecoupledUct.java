@@ -0,0 +1,311 @@
+package suitebot.strategies;
+
+import suitebot.game.Direction;
+import suitebot.game.GameState;
+import suitebot.jfr.StrategyEvent;
+import suitebot.stats.Counter;
+import suitebot.stats.Phase;
+import suitebot.stats.SearchStats;
+
+import java.util.*;
+import java.util.concurrent.CancellationException;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Decoupled UCT search over the simultaneous moves of all live bots.
+ *
+ * Every node of the tree keeps separate move statistics for each bot instead of statistics per joint move.
+ * At a node, each bot picks its own move by UCB1 on its own statistics, and the picks together form the joint
+ * move that leads to the child. The choices grow linearly with the number of bots instead of 4^n, so the tree
+ * gets deeper in the same time.
+ *
+ * The simulations follow the rules of {@link suitebot.game.StateTransition}: the bots move at once from
+ * the heads they have in the game state, a bot dies when it moves onto an obstacle or a trail or when two bots
+ * move onto the same cell. Below the tree, the bots move randomly among their free neighbouring cells.
+ * The reward of a bot is the share of the {@code maxDepth} turns it survived.
+ *
+ * The tree is kept in a {@link NodeArena}. Given the arena of the previous search, a search of the position that
+ * followed it starts from the subtree of the joint move that was actually played instead of from scratch.
+ */
+public class DecoupledUct {
+    static final double EXPLORATION = 0.7; // UCB1 exploration constant for rewards between 0 and 1
+
+    private static final int NO_MOVE = -1;
+    private static final int DIRECTIONS = 4;
+
+    /**
+     * Same as {@link #evaluateMoves(int, GameState, BoardGraph, int, int, Random, BooleanSupplier, NodeArena)},
+     * with a tree of its own.
+     */
+    public static Map<Direction, Integer> evaluateMoves(int botId, GameState gameState, BoardGraph graph, int maxDepth,
+                                                        int iterations, Random random, BooleanSupplier cancelled) {
+        NodeArena arena = new NodeArena((long) (iterations + 1) * NodeArena.bytesPerNode(gameState.getLiveBotIds().size()));
+        return evaluateMoves(botId, gameState, graph, maxDepth, iterations, random, cancelled, arena);
+    }
+
+    /**
+     * @param arena the tree of the previous search, reused if this position follows it; the tree of this search
+     *              is left in it
+     * @return the score of each move of the bot: {@code maxDepth} plus the mean number of turns survived after it,
+     *         0 for a move into an obstacle or a bot head
+     * @throws CancellationException if the search was cancelled before it finished
+     */
+    public static Map<Direction, Integer> evaluateMoves(int botId, GameState gameState, BoardGraph graph, int maxDepth,
+                                                        int iterations, Random random, BooleanSupplier cancelled,
+                                                        NodeArena arena) {
+        StrategyEvent event = new StrategyEvent("DUCT");
+        event.begin();
+        SearchStats stats = SearchStats.current();
+        long rolloutsBefore = stats.get(Counter.DUCT_ROLLOUTS);
+        long startTime = System.nanoTime();
+        try {
+            Map<Direction, Integer> moveScores;
+            synchronized (arena) { // a search abandoned after its deadline may not have noticed yet
+                moveScores = new Search(botId, gameState, graph, maxDepth, random, arena).run(iterations, cancelled);
+            }
+            if (event.shouldCommit()) {
+                event.describe(botId, gameState);
+                event.setMaxDepth(maxDepth);
+                event.setIterations(stats.get(Counter.DUCT_ROLLOUTS) - rolloutsBefore);
+                event.setScores(moveScores);
+                event.commit();
+            }
+            return moveScores;
+        } finally {
+            stats.time(Phase.DUCT, System.nanoTime() - startTime);
+        }
+    }
+
+    /**
+     * One search; the bots are indexed by their position in the live bot IDs, our bot first.
+     */
+    private static final class Search {
+        private final BoardGraph graph;
+        private final int maxDepth;
+        private final Random random;
+        private final int botCount;
+        private final int[] rootHeads;
+        private final boolean[] rootBlocked;
+        private final NodeArena tree;
+
+        // State of the current simulation
+        private final int[] blockedMark;
+        private int mark;
+        private final int[] heads;
+        private final int[] deathTurn; // maxDepth for a bot still alive
+        private final int[] moves;
+        private final int[] destinations;
+        private final int[] options = new int[DIRECTIONS];
+        private final int[] path; // nodes selected in the tree
+        private final int[] pathMoves; // moves of every bot at those nodes
+        private int pathLength;
+
+        private Search(int botId, GameState gameState, BoardGraph graph, int maxDepth, Random random, NodeArena tree) {
+            this.graph = graph;
+            this.maxDepth = maxDepth;
+            this.random = random;
+
+            List<Integer> botIds = new ArrayList<>(gameState.getLiveBotIds());
+            botIds.remove(Integer.valueOf(botId));
+            Collections.sort(botIds);
+            botIds.add(0, botId);
+            botCount = botIds.size();
+
+            rootHeads = new int[botCount];
+            rootBlocked = new boolean[graph.getCellCount()];
+            for (int cell = 0; cell < rootBlocked.length; cell++) {
+                rootBlocked[cell] = !graph.isFree(cell);
+            }
+            for (int i = 0; i < botCount; i++) {
+                rootHeads[i] = graph.cellOf(gameState.getBotLocation(botIds.get(i)));
+                rootBlocked[rootHeads[i]] = true;
+            }
+
+            this.tree = tree;
+            int[] ids = botIds.stream().mapToInt(Integer::intValue).toArray();
+            int successor = successorOf(ids);
+            if (successor == NodeArena.NONE) {
+                tree.reset(botCount);
+            } else {
+                tree.reroot(successor);
+            }
+            tree.setRootPosition(ids, rootHeads);
+
+            path = new int[maxDepth];
+            pathMoves = new int[maxDepth * botCount];
+            blockedMark = new int[rootBlocked.length];
+            heads = new int[botCount];
+            deathTurn = new int[botCount];
+            moves = new int[botCount];
+            destinations = new int[botCount];
+        }
+
+        private Map<Direction, Integer> run(int iterations, BooleanSupplier cancelled) {
+            SearchStats stats = SearchStats.current();
+            int rollouts = 0;
+            try {
+                for (int i = 0; i < iterations; i++) {
+                    if (cancelled.getAsBoolean()) {
+                        throw new CancellationException("evaluation cancelled");
+                    }
+                    iterate(stats);
+                    rollouts++;
+                }
+            } finally {
+                stats.count(Counter.DUCT_ROLLOUTS, rollouts);
+            }
+            return rootScores();
+        }
+
+        private void iterate(SearchStats stats) {
+            mark++;
+            System.arraycopy(rootHeads, 0, heads, 0, botCount);
+            Arrays.fill(deathTurn, maxDepth);
+            pathLength = 0;
+
+            // Selection and expansion: descend while the joint move has been seen, add one node for a new one
+            int node = NodeArena.ROOT;
+            int turn = 0;
+            while (turn < maxDepth && deathTurn[0] == maxDepth) {
+                for (int i = 0; i < botCount; i++) {
+                    moves[i] = deathTurn[i] == maxDepth ? selectMove(node, i) : NO_MOVE;
+                }
+                path[pathLength] = node;
+                System.arraycopy(moves, 0, pathMoves, pathLength * botCount, botCount);
+                pathLength++;
+                play(turn++);
+
+                int jointMove = jointMove(moves);
+                int child = tree.child(node, jointMove);
+                if (child == NodeArena.NONE) {
+                    if (turn < maxDepth && deathTurn[0] == maxDepth && tree.addChild(node, jointMove) != NodeArena.NONE) {
+                        stats.count(Counter.TREE_NODES, 1);
+                    }
+                    break;
+                }
+                node = child;
+            }
+
+            // Simulation: random moves until our bot dies or the depth is reached
+            while (turn < maxDepth && deathTurn[0] == maxDepth) {
+                for (int i = 0; i < botCount; i++) {
+                    moves[i] = deathTurn[i] == maxDepth ? randomMove(heads[i]) : NO_MOVE;
+                }
+                play(turn++);
+            }
+
+            // Backpropagation: every bot learns from the reward of its own moves
+            for (int p = 0; p < pathLength; p++) {
+                tree.addVisit(path[p]);
+                for (int i = 0; i < botCount; i++) {
+                    int move = pathMoves[p * botCount + i];
+                    if (move != NO_MOVE) tree.addMoveReward(path[p], i, move, deathTurn[i] / (double) maxDepth);
+                }
+            }
+        }
+
+        /**
+         * UCB1 on the bot's own statistics at the node; moves not tried yet come first, in random order.
+         */
+        private int selectMove(int node, int bot) {
+            int untried = 0;
+            int best = NO_MOVE;
+            double bestValue = Double.NEGATIVE_INFINITY;
+            double logVisits = Math.log(Math.max(1, tree.getVisits(node)));
+            for (int d = 0; d < DIRECTIONS; d++) {
+                if (isBlocked(graph.neighbor(heads[bot], d))) continue;
+                int visits = tree.getMoveVisits(node, bot, d);
+                if (visits == 0) {
+                    options[untried++] = d;
+                    continue;
+                }
+                double value = tree.getMoveRewards(node, bot, d) / visits + EXPLORATION * Math.sqrt(logVisits / visits);
+                if (value > bestValue) {
+                    bestValue = value;
+                    best = d;
+                }
+            }
+            if (untried > 0) return options[random.nextInt(untried)];
+            return best == NO_MOVE ? 0 : best; // no way out; the bot dies whatever it does
+        }
+
+        private int randomMove(int head) {
+            int count = 0;
+            for (int d = 0; d < DIRECTIONS; d++) {
+                if (!isBlocked(graph.neighbor(head, d))) options[count++] = d;
+            }
+            return count == 0 ? 0 : options[random.nextInt(count)];
+        }
+
+        /**
+         * Move all live bots at once; the new heads are blocked right away, as they become trails on the next move.
+         */
+        private void play(int turn) {
+            for (int i = 0; i < botCount; i++) {
+                destinations[i] = moves[i] == NO_MOVE ? NO_MOVE : graph.neighbor(heads[i], moves[i]);
+            }
+            for (int i = 0; i < botCount; i++) {
+                if (destinations[i] == NO_MOVE) continue;
+                boolean dies = isBlocked(destinations[i]);
+                for (int j = 0; j < botCount && !dies; j++) {
+                    dies = j != i && destinations[j] == destinations[i];
+                }
+                if (dies) {
+                    deathTurn[i] = turn;
+                } else {
+                    heads[i] = destinations[i];
+                }
+            }
+            for (int i = 0; i < botCount; i++) {
+                if (destinations[i] != NO_MOVE && deathTurn[i] == maxDepth) blockedMark[heads[i]] = mark;
+            }
+        }
+
+        /**
+         * The node of the tree left in the arena that this position follows, reached by the move every bot made
+         * from its head in the root position of the arena; {@link NodeArena#NONE} if there is none
+         */
+        private int successorOf(int[] botIds) {
+            if (!Arrays.equals(tree.getRootBotIds(), botIds) || tree.getBotCount() != botCount) return NodeArena.NONE;
+            int[] previousHeads = tree.getRootHeads();
+            int[] playedMoves = new int[botCount];
+            for (int i = 0; i < botCount; i++) {
+                // the previous head has to be part of the trail now
+                if (previousHeads[i] >= graph.getCellCount() || graph.isFree(previousHeads[i])) return NodeArena.NONE;
+                playedMoves[i] = NO_MOVE;
+                for (int d = 0; d < DIRECTIONS; d++) {
+                    if (graph.neighbor(previousHeads[i], d) == rootHeads[i]) playedMoves[i] = d;
+                }
+                if (playedMoves[i] == NO_MOVE) return NodeArena.NONE;
+            }
+            return tree.child(NodeArena.ROOT, jointMove(playedMoves));
+        }
+
+        private int jointMove(int[] moves) {
+            int jointMove = 0;
+            for (int i = botCount - 1; i >= 0; i--) {
+                jointMove = jointMove * (DIRECTIONS + 1) + moves[i] + 1;
+            }
+            return jointMove;
+        }
+
+        private boolean isBlocked(int cell) {
+            return rootBlocked[cell] || blockedMark[cell] == mark;
+        }
+
+        private Map<Direction, Integer> rootScores() {
+            Map<Direction, Integer> moveScores = new EnumMap<>(Direction.class);
+            for (Direction direction : Direction.values()) {
+                int d = direction.ordinal();
+                if (rootBlocked[graph.neighbor(rootHeads[0], d)]) {
+                    moveScores.put(direction, 0);
+                    continue;
+                }
+                int visits = tree.getMoveVisits(NodeArena.ROOT, 0, d);
+                double meanTurns = visits == 0 ? 0 : tree.getMoveRewards(NodeArena.ROOT, 0, d) / visits * maxDepth;
+                moveScores.put(direction, maxDepth + (int) Math.round(meanTurns));
+            }
+            return moveScores;
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package suitebot.strategies;
+
+import suitebot.game.Direction;
+
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * {@link MoveEvaluator} running {@link DecoupledUct}; gives up when the budget is over.
+ */
+public class DecoupledUctEvaluator implements MoveEvaluator {
+    private final int maxDepth;
+    private final int iterations;
+    private final Random random;
+    private final NodeArena tree;
+
+    public DecoupledUctEvaluator(int maxDepth, int iterations, Random random) {
+        this(maxDepth, iterations, random, null);
+    }
+
+    /**
+     * @param tree arena holding the tree of the previous search, or null to search with a new tree
+     */
+    public DecoupledUctEvaluator(int maxDepth, int iterations, Random random, NodeArena tree) {
+        this.maxDepth = maxDepth;
+        this.iterations = iterations;
+        this.random = random;
+        this.tree = tree;
+    }
+
+    @Override
+    public String getName() {
+        return "DUCT";
+    }
+
+    @Override
+    public Map<Direction, Integer> evaluate(TurnContext context, TimeBudget budget) {
+        int botId = context.getBotId();
+        if (tree == null) {
+            return DecoupledUct.evaluateMoves(botId, context.getGameState(), context.getGraph(), maxDepth, iterations, random,
+                    budget::isOver);
+        }
+        return DecoupledUct.evaluateMoves(botId, context.getGameState(), context.getGraph(), maxDepth, iterations, random,
+                budget::isOver, tree);
+    }
+}
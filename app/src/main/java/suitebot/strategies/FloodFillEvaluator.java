@@ -0,0 +1,26 @@
+package suitebot.strategies;
+
+import suitebot.game.Direction;
+
+import java.util.Map;
+
+/**
+ * {@link MoveEvaluator} running {@link FloodFillHeuristic}: how far, up to {@code maxDepth}, the free space extends.
+ */
+public class FloodFillEvaluator implements MoveEvaluator {
+    private final int maxDepth;
+
+    public FloodFillEvaluator(int maxDepth) {
+        this.maxDepth = maxDepth;
+    }
+
+    @Override
+    public String getName() {
+        return "FloodFill";
+    }
+
+    @Override
+    public Map<Direction, Integer> evaluate(TurnContext context, TimeBudget budget) {
+        return FloodFillHeuristic.evaluateMoves(context, maxDepth);
+    }
+}
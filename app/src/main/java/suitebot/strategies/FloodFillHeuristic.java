@@ -2,7 +2,10 @@ package suitebot.strategies;
 
 import suitebot.game.Direction;
 import suitebot.game.GameState;
-import suitebot.game.Point;
+import suitebot.jfr.StrategyEvent;
+import suitebot.stats.Counter;
+import suitebot.stats.Phase;
+import suitebot.stats.SearchStats;
 
 import java.util.*;
 
@@ -39,48 +42,49 @@ import java.util.*;
 
 public class FloodFillHeuristic {
     public static Map<Direction, Integer> evaluateMoves(int botId, GameState gameState, int maxDepth) {
+        return evaluateMoves(botId, gameState, BoardGraph.of(gameState), maxDepth);
+    }
+
+    /**
+     * Same as {@link #evaluateMoves(int, GameState, int)}, but measures the free space on the given graph of the state:
+     * the distances are found between junctions, a corridor counts as one weighted step.
+     */
+    public static Map<Direction, Integer> evaluateMoves(int botId, GameState gameState, BoardGraph graph, int maxDepth) {
+        return evaluateMoves(TurnContext.of(botId, gameState, graph), maxDepth);
+    }
+
+    /**
+     * Same as {@link #evaluateMoves(int, GameState, BoardGraph, int)}, taking the moves and the graph from the context
+     * of the turn.
+     */
+    public static Map<Direction, Integer> evaluateMoves(TurnContext context, int maxDepth) {
+        StrategyEvent event = new StrategyEvent("FloodFill");
+        event.begin();
+        SearchStats stats = SearchStats.current();
+        long iterationsBefore = stats.get(Counter.CELLS_VISITED);
+        long startTime = System.nanoTime();
         Map<Direction, Integer> moveScores = new EnumMap<>(Direction.class);
-        Point botLocation = gameState.getBotLocation(botId);
-        Set<Point> obstacles = gameState.getObstacleLocations();
-        int width = gameState.getPlanWidth();
-        int height = gameState.getPlanHeight();
+        List<Direction> validMoves = context.getValidMoves();
+        BoardGraph.Walker walker = context.getGraph().newWalker();
 
         for (Direction direction : Direction.values()) {
-            Point nextPosition = wrapAround(direction.from(botLocation), width, height);
-            if (!obstacles.contains(nextPosition)) {
-                moveScores.put(direction, floodFillForMaxDepth(nextPosition, obstacles, width, height, maxDepth));
+            if (validMoves.contains(direction)) {
+                // BFS levels from the start cell, the last one included
+                int farthest = walker.farthestDistance(context.destination(direction), maxDepth);
+                stats.count(Counter.CELLS_VISITED, walker.getCellsReached());
+                moveScores.put(direction, Math.min(farthest + 1, maxDepth));
             } else {
                 moveScores.put(direction, 0);
             }
         }
-        return moveScores;
-    }
-
-    private static Point wrapAround(Point point, int width, int height) {
-        return new Point((point.x + width) % width, (point.y + height) % height);
-    }
-
-    private static int floodFillForMaxDepth(Point start, Set<Point> obstacles, int width, int height, int maxDepth) {
-        Set<Point> visited = new HashSet<>();
-        Queue<Point> queue = new LinkedList<>();
-        queue.add(start);
-        visited.add(start);
-
-        int depth = 0;
-        while (!queue.isEmpty() && depth < maxDepth) {
-            int size = queue.size();
-            for (int i = 0; i < size; i++) {
-                Point p = queue.poll();
-                for (Direction direction : Direction.values()) {
-                    Point next = wrapAround(direction.from(p), width, height);
-                    if (!visited.contains(next) && !obstacles.contains(next)) {
-                        queue.add(next);
-                        visited.add(next);
-                    }
-                }
-            }
-            depth++; // Increment depth after exploring all points at this level
+        stats.time(Phase.FLOOD_FILL, System.nanoTime() - startTime);
+        if (event.shouldCommit()) {
+            event.describe(context.getBotId(), context.getGameState());
+            event.setMaxDepth(maxDepth);
+            event.setIterations(stats.get(Counter.CELLS_VISITED) - iterationsBefore);
+            event.setScores(moveScores);
+            event.commit();
         }
-        return depth; // Return the maximum depth reached
+        return moveScores;
     }
 }
@@ -0,0 +1,40 @@
+package suitebot.strategies;
+
+import suitebot.game.Direction;
+
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * {@link MoveEvaluator} running {@link MonteCarloTreeSearch}; gives up when the budget is over.
+ */
+public class MonteCarloEvaluator implements MoveEvaluator {
+    private final int maxDepth;
+    private final int iterations;
+    private final Random random;
+    private final int rolloutPrefix;
+
+    public MonteCarloEvaluator(int maxDepth, int iterations, Random random) {
+        this(maxDepth, iterations, random, maxDepth);
+    }
+
+    /**
+     * @param rolloutPrefix steps a simulation walks before the rest of its value is estimated from the free space
+     */
+    public MonteCarloEvaluator(int maxDepth, int iterations, Random random, int rolloutPrefix) {
+        this.maxDepth = maxDepth;
+        this.iterations = iterations;
+        this.random = random;
+        this.rolloutPrefix = rolloutPrefix;
+    }
+
+    @Override
+    public String getName() {
+        return "MCTS";
+    }
+
+    @Override
+    public Map<Direction, Integer> evaluate(TurnContext context, TimeBudget budget) {
+        return MonteCarloTreeSearch.evaluateMoves(context, maxDepth, rolloutPrefix, iterations, random, budget::isOver);
+    }
+}
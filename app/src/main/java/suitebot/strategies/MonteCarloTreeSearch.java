@@ -2,9 +2,14 @@ package suitebot.strategies;
 
 import suitebot.game.Direction;
 import suitebot.game.GameState;
-import suitebot.game.Point;
+import suitebot.jfr.StrategyEvent;
+import suitebot.stats.Counter;
+import suitebot.stats.Phase;
+import suitebot.stats.SearchStats;
 
 import java.util.*;
+import java.util.concurrent.CancellationException;
+import java.util.function.BooleanSupplier;
 
 /**
  * Monte Carlo Tree Search (MCTS) Heuristic for Tron-like game.
@@ -53,73 +58,253 @@ import java.util.*;
 
 public class MonteCarloTreeSearch {
     private static final Random random = new Random(123);
+    private static final int NOT_SEALED = -1;
+    private static final int CONTESTED_SCORE = 1; // Below every simulated move, above a move into an obstacle
+    private static final int OPEN_CORRIDOR_FACTOR = 4; // On an open plan, junctions outnumber corridor cells this many times
 
     public static Map<Direction, Integer> evaluateMoves(int botId, GameState gameState, int maxDepth, int iterations) {
+        return evaluateMoves(botId, gameState, maxDepth, iterations, random);
+    }
+
+    /**
+     * Same as {@link #evaluateMoves(int, GameState, int, int)}, but draws the random moves of the simulations
+     * from the given generator, so that concurrent games do not share one.
+     */
+    public static Map<Direction, Integer> evaluateMoves(int botId, GameState gameState, int maxDepth, int iterations, Random random) {
+        return evaluateMoves(botId, gameState, maxDepth, iterations, random, () -> false);
+    }
+
+    /**
+     * Same as {@link #evaluateMoves(int, GameState, int, int, Random)}, but gives up as soon as {@code cancelled}
+     * returns true. The flag is checked before every simulation.
+     *
+     * @throws CancellationException if the evaluation was cancelled before it finished
+     */
+    public static Map<Direction, Integer> evaluateMoves(int botId, GameState gameState, int maxDepth, int iterations,
+                                                        Random random, BooleanSupplier cancelled) {
+        return evaluateMoves(botId, gameState, BoardGraph.of(gameState), maxDepth, iterations, random, cancelled);
+    }
+
+    /**
+     * Same as {@link #evaluateMoves(int, GameState, int, int, Random, BooleanSupplier)}, but runs the simulations
+     * on the given graph of the state instead of building one.
+     */
+    public static Map<Direction, Integer> evaluateMoves(int botId, GameState gameState, BoardGraph graph, int maxDepth,
+                                                        int iterations, Random random, BooleanSupplier cancelled) {
+        return evaluateMoves(botId, gameState, graph, maxDepth, maxDepth, iterations, random, cancelled);
+    }
+
+    /**
+     * Same as {@link #evaluateMoves(int, GameState, BoardGraph, int, int, Random, BooleanSupplier)}, but truncates
+     * the simulations: a simulation walks at most {@code rolloutPrefix} steps, the rest of its value is the free space
+     * still reachable from where it stopped. A move into a region that no other bot can reach is not simulated at all;
+     * its value is the size of the region, which ends at the heads of the bots.
+     */
+    public static Map<Direction, Integer> evaluateMoves(int botId, GameState gameState, BoardGraph graph, int maxDepth,
+                                                        int rolloutPrefix, int iterations, Random random,
+                                                        BooleanSupplier cancelled) {
+        return evaluateMoves(TurnContext.of(botId, gameState, graph), maxDepth, rolloutPrefix, iterations, random, cancelled);
+    }
+
+    /**
+     * Same as {@link #evaluateMoves(int, GameState, BoardGraph, int, int, int, Random, BooleanSupplier)}, taking
+     * the moves and the graph from the context of the turn. A move an opponent could meet head-on, by the danger map
+     * of the context, is not simulated if a move no opponent can meet leads into at least as much open space;
+     * it scores just above a move into an obstacle then.
+     */
+    public static Map<Direction, Integer> evaluateMoves(TurnContext context, int maxDepth, int rolloutPrefix, int iterations,
+                                                        Random random, BooleanSupplier cancelled) {
+        StrategyEvent event = new StrategyEvent("MCTS");
+        event.begin();
+        SearchStats stats = SearchStats.current();
+        long rolloutsBefore = stats.get(Counter.ROLLOUTS);
+        long startTime = System.nanoTime();
+        try {
+            Map<Direction, Integer> moveScores = evaluateMovesInternal(context, maxDepth, rolloutPrefix, iterations, random,
+                    cancelled);
+            if (event.shouldCommit()) {
+                event.describe(context.getBotId(), context.getGameState());
+                event.setMaxDepth(maxDepth);
+                event.setIterations(stats.get(Counter.ROLLOUTS) - rolloutsBefore);
+                event.setScores(moveScores);
+                event.commit();
+            }
+            return moveScores;
+        } finally {
+            stats.time(Phase.MCTS, System.nanoTime() - startTime);
+        }
+    }
+
+    private static Map<Direction, Integer> evaluateMovesInternal(TurnContext context, int maxDepth, int rolloutPrefix,
+                                                                 int iterations, Random random, BooleanSupplier cancelled) {
         Map<Direction, Integer> moveScores = new EnumMap<>(Direction.class);
-        Point botLocation = gameState.getBotLocation(botId);
-        Set<Point> obstacles = gameState.getObstacleLocations();
-        int width = gameState.getPlanWidth();
-        int height = gameState.getPlanHeight();
+        BoardGraph graph = context.getGraph();
+        List<Direction> validMoves = context.getValidMoves();
+        int safeOpenSpace = validMoves.stream()
+                .filter(direction -> !context.isContested(direction))
+                .mapToInt(context::getOpenSpace)
+                .max().orElse(-1);
+        BoardGraph.Walker walker = graph.newWalker();
+        BoardGraph.RolloutBatch batch = isOpen(graph) ? graph.newRolloutBatch() : null;
+        List<Candidate> candidates = new ArrayList<>();
 
         for (Direction direction : Direction.values()) {
-            Point nextPosition = direction.from(botLocation);
-            nextPosition = wrapAround(nextPosition, width, height);
-            if (!obstacles.contains(nextPosition)) {
-                moveScores.put(direction, maxDepth);
-
-                int simulationScore = runSimulations(nextPosition, obstacles, width, height, maxDepth, iterations);
-                moveScores.put(direction, moveScores.get(direction) + simulationScore);
+            if (validMoves.contains(direction) && context.isContested(direction)
+                    && context.getOpenSpace(direction) <= safeOpenSpace) {
+                moveScores.put(direction, CONTESTED_SCORE);
+            } else if (validMoves.contains(direction)) {
+                int start = context.destination(direction);
+                int sealedScore = NOT_SEALED;
+                if (rolloutPrefix < maxDepth) {
+                    sealedScore = sealedSpace(context, direction, maxDepth);
+                }
+                if (sealedScore == NOT_SEALED) {
+                    candidates.add(new Candidate(direction, start));
+                } else {
+                    moveScores.put(direction, maxDepth + sealedScore);
+                }
             } else {
                 moveScores.put(direction, 0);
             }
         }
 
+        allocateSimulations(candidates, walker, batch, maxDepth, rolloutPrefix, iterations * candidates.size(), random, cancelled);
+        for (Candidate candidate : candidates) {
+            moveScores.put(candidate.direction, maxDepth + candidate.bestScore);
+        }
         return moveScores;
     }
 
-    private static int runSimulations(Point start, Set<Point> obstacles, int width, int height, int maxDepth, int iterations) {
-        int bestScore = 0;
-        for (int i = 0; i < iterations; i++) {
-            int simulationScore = simulateGame(start, new HashSet<>(obstacles), width, height, maxDepth);
-            if (simulationScore > bestScore) {
-                bestScore = simulationScore;
+    /**
+     * Share the simulations among the candidate moves by successive halving: every round spends an equal part of
+     * what is left on the moves still in the race, then the worse half of them drops out. The moves that stay longest
+     * get the most simulations, the total stays the same.
+     */
+    private static void allocateSimulations(List<Candidate> candidates, BoardGraph.Walker walker, BoardGraph.RolloutBatch batch,
+                                            int maxDepth, int rolloutPrefix, int totalSimulations, Random random,
+                                            BooleanSupplier cancelled) {
+        List<Candidate> racing = new ArrayList<>(candidates);
+        int remaining = totalSimulations;
+        while (!racing.isEmpty() && remaining > 0) {
+            int rounds = Math.max(1, 32 - Integer.numberOfLeadingZeros(racing.size() - 1)); // ceil(log2(size))
+            int roundSimulations = remaining / rounds;
+            for (int i = 0; i < racing.size(); i++) {
+                int simulations = roundSimulations / (racing.size() - i);
+                if (batch != null) {
+                    runBatchedSimulations(racing.get(i), batch, maxDepth, rolloutPrefix, simulations, random, cancelled);
+                } else {
+                    runSimulations(racing.get(i), walker, maxDepth, rolloutPrefix, simulations, random, cancelled);
+                }
+                roundSimulations -= simulations;
+                remaining -= simulations;
             }
+            if (rounds == 1) break;
+
+            racing.sort(Comparator.comparingInt((Candidate candidate) -> candidate.bestScore)
+                    .thenComparingDouble(Candidate::averageScore)
+                    .reversed());
+            racing = new ArrayList<>(racing.subList(0, (racing.size() + 1) / 2));
         }
-        return bestScore;
     }
 
-    private static int simulateGame(Point start, Set<Point> obstacles, int width, int height, int maxDepth) {
-        Set<Point> visited = new HashSet<>(obstacles);
-        Point current = start;
-        visited.add(current);
-        int score = 1;
+    /**
+     * The size of the region the move leads into, the heads of the bots being walls, if no other bot can reach it
+     * and it is no larger than {@code maxDepth}, like a simulation; {@link #NOT_SEALED} otherwise
+     */
+    private static int sealedSpace(TurnContext context, Direction direction, int maxDepth) {
+        if (context.getEnemyArrival(context.destination(direction)) != TurnContext.UNREACHABLE) {
+            return NOT_SEALED;
+        }
+        int space = context.getRegionSize(direction);
+        if (space > maxDepth || space >= TurnContext.OPEN_REGION) {
+            return NOT_SEALED; // counting stopped early, or a simulation could not walk all of it
+        }
+        return space;
+    }
 
-        for (int depth = 0; depth < maxDepth; depth++) {
-            List<Direction> possibleMoves = new ArrayList<>();
+    /**
+     * Play random games from the start cell of the candidate on the junction graph; a corridor is walked in a single step.
+     */
+    private static void runSimulations(Candidate candidate, BoardGraph.Walker walker, int maxDepth, int rolloutPrefix,
+                                       int iterations, Random random, BooleanSupplier cancelled) {
+        int rollouts = 0;
+        long steps = 0;
+        try {
+            for (int i = 0; i < iterations; i++) {
+                if (cancelled.getAsBoolean()) {
+                    throw new CancellationException("evaluation cancelled");
+                }
+                int simulationScore = walker.rollout(candidate.start, maxDepth, rolloutPrefix, random);
+                rollouts++;
+                steps += walker.getWalkedSteps();
+                candidate.record(simulationScore);
+            }
+        } finally {
+            SearchStats stats = SearchStats.current();
+            stats.count(Counter.ROLLOUTS, rollouts);
+            stats.count(Counter.ROLLOUT_STEPS, steps);
+        }
+    }
 
-            for (Direction direction : Direction.values()) {
-                Point next = direction.from(current);
-                next = wrapAround(next, width, height);
-                if (!visited.contains(next)) {
-                    possibleMoves.add(direction);
+    /**
+     * Whether few enough of the free cells are corridor cells for simulations played cell by cell in lockstep
+     * to outrun the walks on the junction graph, which cross a corridor in one step
+     */
+    private static boolean isOpen(BoardGraph graph) {
+        return graph.getCorridorCellCount() * OPEN_CORRIDOR_FACTOR < graph.getJunctionCount();
+    }
+
+    /**
+     * Same as {@link #runSimulations}, for simulations on an open plan: they are played cell by cell,
+     * {@link BoardGraph.RolloutBatch#LANES} at a time in lockstep.
+     */
+    private static void runBatchedSimulations(Candidate candidate, BoardGraph.RolloutBatch batch, int maxDepth,
+                                              int rolloutPrefix, int iterations, Random random, BooleanSupplier cancelled) {
+        int[] scores = new int[BoardGraph.RolloutBatch.LANES];
+        int rollouts = 0;
+        long steps = 0;
+        try {
+            while (rollouts < iterations) {
+                if (cancelled.getAsBoolean()) {
+                    throw new CancellationException("evaluation cancelled");
+                }
+                int lanes = Math.min(BoardGraph.RolloutBatch.LANES, iterations - rollouts);
+                steps += batch.rollout(candidate.start, maxDepth, rolloutPrefix, lanes, random, scores);
+                rollouts += lanes;
+                for (int lane = 0; lane < lanes; lane++) {
+                    candidate.record(scores[lane]);
                 }
             }
+        } finally {
+            SearchStats stats = SearchStats.current();
+            stats.count(Counter.ROLLOUTS, rollouts);
+            stats.count(Counter.ROLLOUT_STEPS, steps);
+        }
+    }
 
-            if (possibleMoves.isEmpty()) break;
+    /**
+     * A move at the root and the results of its simulations so far.
+     */
+    private static final class Candidate {
+        private final Direction direction;
+        private final int start;
+        private int simulations;
+        private long totalScore;
+        private int bestScore;
 
-            Direction chosenMove = possibleMoves.get(random.nextInt(possibleMoves.size()));
-            current = chosenMove.from(current);
-            current = wrapAround(current, width, height);
-            visited.add(current);
-            score++;
+        private Candidate(Direction direction, int start) {
+            this.direction = direction;
+            this.start = start;
         }
 
-        return score;
-    }
+        private void record(int score) {
+            simulations++;
+            totalScore += score;
+            bestScore = Math.max(bestScore, score);
+        }
 
-    private static Point wrapAround(Point point, int width, int height) {
-        int x = (point.x + width) % width;
-        int y = (point.y + height) % height;
-        return new Point(x, y);
+        private double averageScore() {
+            return simulations == 0 ? 0 : totalScore / (double) simulations;
+        }
     }
 }
\ No newline at end of file
@@ -0,0 +1,25 @@
+package suitebot.strategies;
+
+import suitebot.game.Direction;
+
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+
+/**
+ * A strategy scoring the possible moves of a bot. Higher scores are better; a move that hits an obstacle scores 0.
+ * The scales of different evaluators differ, which the weights of a {@link PortfolioRunner} have to account for.
+ */
+public interface MoveEvaluator {
+
+    String getName();
+
+    /**
+     * Scores every direction.
+     *
+     * @param context current game state and bot to move, with the views derived from them this turn
+     * @param budget time the evaluation may take; evaluators that can stop early check it
+     * @return the score of every direction
+     * @throws CancellationException if the evaluator gave up because the budget was over
+     */
+    Map<Direction, Integer> evaluate(TurnContext context, TimeBudget budget);
+}
@@ -0,0 +1,201 @@
+package suitebot.strategies;
+
+import java.util.Arrays;
+
+/**
+ * Storage of the nodes of a {@link DecoupledUct} tree in parallel primitive arrays, addressed by int handles.
+ *
+ * A node is a slot in every array: its visit count, the joint move that leads to it, its parent, first child and
+ * next sibling, and the move statistics of every bot. The tree costs no objects per node, so discarding it leaves
+ * nothing for the garbage collector, and an arena kept between searches is reused as it is. The arrays grow up to
+ * the capacity the byte limit allows; a full arena adds no more nodes, and the searches go on with the ones it has.
+ *
+ * Between turns, {@link #reroot(int)} keeps the subtree of the position actually reached and compacts it to the front
+ * of the arrays. Children are always added after their parents, so a single pass in the order of the handles finds
+ * the surviving nodes and slides them down without overwriting any it has not moved yet.
+ *
+ * An arena is used by one search at a time.
+ */
+public final class NodeArena {
+    static final int NONE = -1;
+    static final int ROOT = 0;
+
+    private static final int DIRECTIONS = 4;
+    private static final int INITIAL_NODES = 1024;
+    private static final int BYTES_PER_NODE = 6 * Integer.BYTES;
+    private static final int BYTES_PER_MOVE_STATISTIC = Integer.BYTES + Float.BYTES;
+
+    private final long maxBytes;
+    private int capacity;
+    private int statisticsPerNode;
+    private int size;
+
+    private int[] visits = new int[0];
+    private int[] jointMoves = new int[0];
+    private int[] parents = new int[0];
+    private int[] firstChildren = new int[0];
+    private int[] nextSiblings = new int[0];
+    private int[] moveVisits = new int[0]; // node * statisticsPerNode + bot * 4 + direction
+    private float[] moveRewards = new float[0];
+    private int[] newHandles = new int[0]; // scratch space of the compaction
+
+    // Position of the root, so that the next search can find its successor in the tree
+    private int[] rootBotIds = new int[0];
+    private int[] rootHeads = new int[0];
+
+    /**
+     * @param maxBytes upper bound of the memory taken by the arrays
+     */
+    public NodeArena(long maxBytes) {
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * Discards all nodes and adds an empty root for a search of the given number of bots.
+     */
+    void reset(int botCount) {
+        statisticsPerNode = botCount * DIRECTIONS;
+        capacity = (int) Math.max(1, Math.min(Integer.MAX_VALUE / statisticsPerNode, maxBytes / bytesPerNode(botCount)));
+        if (visits.length > capacity || moveVisits.length != visits.length * statisticsPerNode) {
+            resize(Math.min(visits.length, capacity));
+        }
+        size = 0;
+        addNode(NONE, NONE);
+    }
+
+    /**
+     * Makes the node the root, discarding all nodes outside of its subtree, and compacts the rest.
+     */
+    void reroot(int node) {
+        int keptCount = 0;
+        for (int old = node; old < size; old++) {
+            int parent = parents[old];
+            boolean kept = old == node || parent >= node && newHandles[parent] != NONE;
+            if (!kept) {
+                newHandles[old] = NONE;
+                continue;
+            }
+            int handle = keptCount++;
+            newHandles[old] = handle;
+            visits[handle] = visits[old];
+            jointMoves[handle] = jointMoves[old];
+            parents[handle] = old == node ? NONE : newHandles[parent];
+            System.arraycopy(moveVisits, old * statisticsPerNode, moveVisits, handle * statisticsPerNode, statisticsPerNode);
+            System.arraycopy(moveRewards, old * statisticsPerNode, moveRewards, handle * statisticsPerNode, statisticsPerNode);
+        }
+        size = keptCount;
+
+        // Relink the children; the order of siblings does not matter
+        Arrays.fill(firstChildren, 0, size, NONE);
+        for (int child = size - 1; child > ROOT; child--) {
+            nextSiblings[child] = firstChildren[parents[child]];
+            firstChildren[parents[child]] = child;
+        }
+        nextSiblings[ROOT] = NONE;
+    }
+
+    /**
+     * @return the child reached by the joint move, or {@link #NONE} if it has not been added
+     */
+    int child(int node, int jointMove) {
+        for (int child = firstChildren[node]; child != NONE; child = nextSiblings[child]) {
+            if (jointMoves[child] == jointMove) return child;
+        }
+        return NONE;
+    }
+
+    /**
+     * @return the new child, or {@link #NONE} if the arena is full
+     */
+    int addChild(int node, int jointMove) {
+        int child = addNode(node, jointMove);
+        if (child != NONE) {
+            nextSiblings[child] = firstChildren[node];
+            firstChildren[node] = child;
+        }
+        return child;
+    }
+
+    int getVisits(int node) {
+        return visits[node];
+    }
+
+    int getMoveVisits(int node, int bot, int direction) {
+        return moveVisits[node * statisticsPerNode + bot * DIRECTIONS + direction];
+    }
+
+    double getMoveRewards(int node, int bot, int direction) {
+        return moveRewards[node * statisticsPerNode + bot * DIRECTIONS + direction];
+    }
+
+    void addVisit(int node) {
+        visits[node]++;
+    }
+
+    void addMoveReward(int node, int bot, int direction, double reward) {
+        int index = node * statisticsPerNode + bot * DIRECTIONS + direction;
+        moveVisits[index]++;
+        moveRewards[index] += (float) reward;
+    }
+
+    int[] getRootBotIds() {
+        return rootBotIds;
+    }
+
+    int[] getRootHeads() {
+        return rootHeads;
+    }
+
+    void setRootPosition(int[] botIds, int[] heads) {
+        rootBotIds = botIds.clone();
+        rootHeads = heads.clone();
+    }
+
+    /**
+     * @return the memory one node of a search of the given number of bots takes
+     */
+    static long bytesPerNode(int botCount) {
+        return BYTES_PER_NODE + (long) botCount * DIRECTIONS * BYTES_PER_MOVE_STATISTIC;
+    }
+
+    int getBotCount() {
+        return statisticsPerNode / DIRECTIONS;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public long estimatedBytes() {
+        return (long) visits.length * BYTES_PER_NODE + (long) moveVisits.length * BYTES_PER_MOVE_STATISTIC;
+    }
+
+    private int addNode(int parent, int jointMove) {
+        if (size == capacity) return NONE;
+        if (size == visits.length) resize((int) Math.min(capacity, Math.max(INITIAL_NODES, 2L * visits.length)));
+        int node = size++;
+        visits[node] = 0;
+        jointMoves[node] = jointMove;
+        parents[node] = parent;
+        firstChildren[node] = NONE;
+        nextSiblings[node] = NONE;
+        Arrays.fill(moveVisits, node * statisticsPerNode, (node + 1) * statisticsPerNode, 0);
+        Arrays.fill(moveRewards, node * statisticsPerNode, (node + 1) * statisticsPerNode, 0);
+        return node;
+    }
+
+    private void resize(int nodes) {
+        visits = Arrays.copyOf(visits, nodes);
+        jointMoves = Arrays.copyOf(jointMoves, nodes);
+        parents = Arrays.copyOf(parents, nodes);
+        firstChildren = Arrays.copyOf(firstChildren, nodes);
+        nextSiblings = Arrays.copyOf(nextSiblings, nodes);
+        newHandles = Arrays.copyOf(newHandles, nodes);
+        moveVisits = Arrays.copyOf(moveVisits, nodes * statisticsPerNode);
+        moveRewards = Arrays.copyOf(moveRewards, nodes * statisticsPerNode);
+    }
+}
@@ -0,0 +1,112 @@
+package suitebot.strategies;
+
+import suitebot.game.Direction;
+import suitebot.log.Log;
+import suitebot.stats.SearchStats;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Runs several {@link MoveEvaluator}s concurrently on a shared executor and combines their scores.
+ *
+ * The combined score of a direction is the weighted sum of the scores of the evaluators that finished
+ * before the deadline; the others are cancelled and left out. Cheap evaluators therefore always contribute,
+ * while expensive ones use whatever time and cores there are. The search statistics collected by the
+ * evaluators on the executor threads are added to the record of the calling thread. All evaluators share the
+ * {@link TurnContext} of the position, so what one of them derives from it the others reuse.
+ */
+public class PortfolioRunner {
+    private final ExecutorService executor;
+    private final List<MoveEvaluator> evaluators = new ArrayList<>();
+    private final List<Double> weights = new ArrayList<>();
+
+    public PortfolioRunner(ExecutorService executor) {
+        this.executor = executor;
+    }
+
+    public PortfolioRunner add(MoveEvaluator evaluator, double weight) {
+        evaluators.add(evaluator);
+        weights.add(weight);
+        return this;
+    }
+
+    /**
+     * @return the combined scores, empty if no evaluator finished in time
+     * @throws CancellationException if the budget was cancelled
+     */
+    public Map<Direction, Integer> evaluate(TurnContext context, TimeBudget budget) {
+        AtomicBoolean abandoned = new AtomicBoolean();
+        TimeBudget evaluatorBudget = budget.withCancellation(abandoned::get);
+
+        List<Future<Outcome>> futures = new ArrayList<>();
+        for (MoveEvaluator evaluator : evaluators) {
+            futures.add(executor.submit(() -> {
+                SearchStats stats = SearchStats.begin();
+                Map<Direction, Integer> scores = evaluator.evaluate(context, evaluatorBudget);
+                return new Outcome(scores, stats.copy());
+            }));
+        }
+
+        Map<Direction, Double> combined = new EnumMap<>(Direction.class);
+        try {
+            for (int i = 0; i < futures.size(); i++) {
+                Outcome outcome = await(futures.get(i), budget, evaluators.get(i));
+                if (outcome == null) continue;
+
+                double weight = weights.get(i);
+                outcome.scores.forEach((direction, score) -> combined.merge(direction, weight * score, Double::sum));
+                SearchStats.current().add(outcome.stats);
+            }
+        } finally {
+            abandoned.set(true);
+            futures.forEach(future -> future.cancel(false));
+        }
+
+        if (budget.isCancelled()) {
+            throw new CancellationException("evaluation cancelled");
+        }
+
+        Map<Direction, Integer> scores = new EnumMap<>(Direction.class);
+        combined.forEach((direction, score) -> scores.put(direction, (int) Math.round(score)));
+        return scores;
+    }
+
+    /**
+     * @return the outcome of the evaluator, or null if it did not finish in time or failed
+     */
+    private static Outcome await(Future<Outcome> future, TimeBudget budget, MoveEvaluator evaluator) {
+        try {
+            return budget.isUnlimited() ? future.get() : future.get(budget.remainingNanos(), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException | CancellationException e) {
+            return null;
+        } catch (ExecutionException e) {
+            if (!(e.getCause() instanceof CancellationException)) {
+                Log.warn("evaluator.failed").with("evaluator", evaluator.getName()).error(e.getCause()).log();
+            }
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CancellationException("interrupted");
+        }
+    }
+
+    private static class Outcome {
+        final Map<Direction, Integer> scores;
+        final SearchStats stats;
+
+        Outcome(Map<Direction, Integer> scores, SearchStats stats) {
+            this.scores = scores;
+            this.stats = stats;
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package suitebot.strategies;
+
+import java.util.function.BooleanSupplier;
+
+/**
+ * Time a {@link MoveEvaluator} may spend: a deadline on the {@link System#nanoTime()} clock and an optional
+ * cancellation flag raised when the result is not needed any more.
+ */
+public final class TimeBudget {
+    private static final BooleanSupplier NEVER = () -> false;
+
+    private final long deadlineNanos;
+    private final boolean unlimited;
+    private final BooleanSupplier cancelled;
+
+    private TimeBudget(long deadlineNanos, boolean unlimited, BooleanSupplier cancelled) {
+        this.deadlineNanos = deadlineNanos;
+        this.unlimited = unlimited;
+        this.cancelled = cancelled;
+    }
+
+    /**
+     * @return a budget that expires the given time from now
+     */
+    public static TimeBudget ofNanos(long nanos) {
+        return new TimeBudget(System.nanoTime() + nanos, false, NEVER);
+    }
+
+    /**
+     * @return a budget that never expires, but can still be cancelled
+     */
+    public static TimeBudget unlimited() {
+        return new TimeBudget(0, true, NEVER);
+    }
+
+    /**
+     * @return the same deadline, additionally cancelled when the given flag is raised
+     */
+    public TimeBudget withCancellation(BooleanSupplier flag) {
+        BooleanSupplier previous = cancelled;
+        return new TimeBudget(deadlineNanos, unlimited, previous == NEVER ? flag : () -> previous.getAsBoolean() || flag.getAsBoolean());
+    }
+
+    /**
+     * @return the same cancellation, with a deadline after the given share of the time left; an unlimited budget
+     *         stays unlimited
+     */
+    public TimeBudget withShareOfRemaining(double share) {
+        if (unlimited) return this;
+        return new TimeBudget(System.nanoTime() + (long) (remainingNanos() * share), false, cancelled);
+    }
+
+    public boolean isUnlimited() {
+        return unlimited;
+    }
+
+    public boolean isCancelled() {
+        return cancelled.getAsBoolean();
+    }
+
+    public boolean isExpired() {
+        return !unlimited && System.nanoTime() - deadlineNanos >= 0;
+    }
+
+    /**
+     * @return true if the evaluation should stop: the budget has expired or has been cancelled
+     */
+    public boolean isOver() {
+        return isExpired() || isCancelled();
+    }
+
+    /**
+     * @return the time left until the deadline, 0 if it has passed, or {@link Long#MAX_VALUE} if there is none
+     */
+    public long remainingNanos() {
+        return unlimited ? Long.MAX_VALUE : Math.max(0, deadlineNanos - System.nanoTime());
+    }
+}
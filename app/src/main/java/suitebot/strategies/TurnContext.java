@@ -0,0 +1,264 @@
+package suitebot.strategies;
+
+import suitebot.game.Direction;
+import suitebot.game.GameState;
+import suitebot.game.Point;
+import suitebot.stats.Counter;
+import suitebot.stats.SearchStats;
+
+import java.util.*;
+
+/**
+ * The position a bot has to move in, together with the facts derived from it that several stages of the decision use.
+ *
+ * A context is built once per request and handed to every {@link MoveEvaluator} and to the adjustments that follow
+ * them. Each view is computed the first time it is asked for and kept, so no analysis of the position is done twice
+ * in a turn: the junction graph, the cells next to the head and which of them are free, the open space and
+ * the region behind every move and the danger map of the opponents. Cells are numbered as in the {@link BoardGraph}.
+ *
+ * The danger map holds, for every cell, the earliest turn an opponent could arrive there, found by one breadth-first
+ * search from all opponent heads at once. Our bot reaches the cell of its move on turn 1, so a move onto a cell
+ * an opponent could also reach on turn 1 risks a head-on collision.
+ *
+ * The evaluators run side by side on one context, so the views are built under its lock; a view, once built, is
+ * only read.
+ */
+public final class TurnContext {
+    public static final int OPEN_SPACE_DEPTH = 8; // Steps the open space behind a move is counted up to
+    public static final int UNREACHABLE = Integer.MAX_VALUE; // Arrival turn of a cell no opponent can reach
+    public static final int OPEN_REGION = 64; // Region size from which a move counts as leading into open space
+
+    private static final int DIRECTIONS = 4;
+    private static final int NOT_COMPUTED = -1;
+
+    private final int botId;
+    private final GameState gameState;
+    private BoardGraph graph;
+
+    private int[] destinations; // direction -> cell the move leads to
+    private List<Direction> validMoves;
+    private int[] headCells;
+    private final int[] openSpaces = {NOT_COMPUTED, NOT_COMPUTED, NOT_COMPUTED, NOT_COMPUTED};
+    private final int[] regionSizes = {NOT_COMPUTED, NOT_COMPUTED, NOT_COMPUTED, NOT_COMPUTED};
+    private int[] enemyArrivals; // cell -> earliest turn an opponent could be there
+
+    // Scratch space of the searches from the destinations of the moves
+    private int[] depths; // cell -> steps from the start, NOT_COMPUTED outside of the region of the last search
+    private int[] queue;
+    private int searchedCount;
+
+    private TurnContext(int botId, GameState gameState, BoardGraph graph) {
+        this.botId = botId;
+        this.gameState = gameState;
+        this.graph = graph;
+    }
+
+    public static TurnContext of(int botId, GameState gameState) {
+        return new TurnContext(botId, gameState, null);
+    }
+
+    /**
+     * @param graph graph of the state, or null to build one when it is first needed
+     */
+    public static TurnContext of(int botId, GameState gameState, BoardGraph graph) {
+        return new TurnContext(botId, gameState, graph);
+    }
+
+    public int getBotId() {
+        return botId;
+    }
+
+    public GameState getGameState() {
+        return gameState;
+    }
+
+    public synchronized BoardGraph getGraph() {
+        if (graph == null) {
+            graph = BoardGraph.of(gameState);
+        }
+        return graph;
+    }
+
+    public int cellOf(Point location) {
+        return location.y * gameState.getPlanWidth() + location.x;
+    }
+
+    public boolean isObstacle(int cell) {
+        return !getGraph().isFree(cell);
+    }
+
+    /**
+     * Returns the cell next to the given one in the direction, wrapping around the edges of the plan.
+     */
+    public int neighbor(int cell, Direction direction) {
+        return getGraph().neighbor(cell, direction.ordinal());
+    }
+
+    /**
+     * Whether the head of a bot, ours included, is on the cell
+     */
+    public synchronized boolean isBotHead(int cell) {
+        if (headCells == null) {
+            headCells = gameState.getBotLocations().stream().mapToInt(this::cellOf).toArray();
+        }
+        for (int head : headCells) {
+            if (head == cell) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Returns the cell the move of our bot leads to.
+     */
+    public synchronized int destination(Direction move) {
+        if (destinations == null) {
+            int head = cellOf(gameState.getBotLocation(botId));
+            destinations = new int[DIRECTIONS];
+            for (Direction direction : Direction.values()) {
+                destinations[direction.ordinal()] = neighbor(head, direction);
+            }
+        }
+        return destinations[move.ordinal()];
+    }
+
+    /**
+     * Returns the moves of our bot that do not run into an obstacle, in the order of {@link Direction#values()}.
+     */
+    public synchronized List<Direction> getValidMoves() {
+        if (validMoves == null) {
+            List<Direction> moves = new ArrayList<>(DIRECTIONS);
+            for (Direction direction : Direction.values()) {
+                if (!isObstacle(destination(direction))) moves.add(direction);
+            }
+            validMoves = Collections.unmodifiableList(moves);
+        }
+        return validMoves;
+    }
+
+    /**
+     * Returns the free cells reachable within {@link #OPEN_SPACE_DEPTH} steps of the cell the move leads to,
+     * less the dead ends among them: the cells with at most one neighbour in the region.
+     */
+    public synchronized int getOpenSpace(Direction move) {
+        if (openSpaces[move.ordinal()] == NOT_COMPUTED) {
+            openSpaces[move.ordinal()] = openSpace(destination(move), OPEN_SPACE_DEPTH);
+        }
+        return openSpaces[move.ordinal()];
+    }
+
+    /**
+     * Returns the number of free cells reachable from the cell the move leads to without passing the head of a bot,
+     * counted up to {@link #OPEN_REGION}.
+     */
+    public synchronized int getRegionSize(Direction move) {
+        if (regionSizes[move.ordinal()] == NOT_COMPUTED) {
+            regionSizes[move.ordinal()] = Math.min(search(destination(move), Integer.MAX_VALUE, OPEN_REGION, false), OPEN_REGION);
+        }
+        return regionSizes[move.ordinal()];
+    }
+
+    /**
+     * Returns the earliest turn an opponent could arrive at the cell, 0 for the cell of its head, or
+     * {@link #UNREACHABLE} if none can. Opponents move around obstacles and do not pass through the heads of bots.
+     */
+    public synchronized int getEnemyArrival(int cell) {
+        if (enemyArrivals == null) {
+            enemyArrivals = enemyArrivals();
+        }
+        return enemyArrivals[cell];
+    }
+
+    /**
+     * Whether an opponent could move onto the cell the move leads to in the same turn, colliding head-on with our bot
+     */
+    public boolean isContested(Direction move) {
+        return getEnemyArrival(destination(move)) <= 1;
+    }
+
+    /**
+     * Multi-source breadth-first search from the heads of the opponents
+     */
+    private int[] enemyArrivals() {
+        BoardGraph boardGraph = getGraph();
+        int[] arrivals = new int[boardGraph.getCellCount()];
+        Arrays.fill(arrivals, UNREACHABLE);
+        int[] queue = new int[boardGraph.getCellCount()];
+        int size = 0;
+        for (int enemyId : gameState.getLiveBotIds()) {
+            if (enemyId == botId) continue;
+            int head = cellOf(gameState.getBotLocation(enemyId));
+            arrivals[head] = 0;
+            queue[size++] = head;
+        }
+
+        for (int head = 0; head < size; head++) {
+            int current = queue[head];
+            for (int d = 0; d < DIRECTIONS; d++) {
+                int next = boardGraph.neighbor(current, d);
+                if (arrivals[next] == UNREACHABLE && boardGraph.isFree(next) && !isBotHead(next)) {
+                    arrivals[next] = arrivals[current] + 1;
+                    queue[size++] = next;
+                }
+            }
+        }
+        SearchStats.current().count(Counter.CELLS_VISITED, size);
+        return arrivals;
+    }
+
+    /**
+     * Breadth-first search from the start up to the given depth, then the count of the region less its dead ends
+     */
+    private int openSpace(int start, int maxDepth) {
+        BoardGraph boardGraph = getGraph();
+        int size = search(start, maxDepth, Integer.MAX_VALUE, true);
+        SearchStats.current().count(Counter.CELLS_VISITED, size);
+
+        int deadEnds = 0;
+        for (int i = 0; i < size; i++) {
+            int freeNeighbors = 0;
+            for (int d = 0; d < DIRECTIONS; d++) {
+                if (depths[boardGraph.neighbor(queue[i], d)] != NOT_COMPUTED) freeNeighbors++;
+            }
+            if (freeNeighbors <= 1) deadEnds++;
+        }
+        return size - deadEnds;
+    }
+
+    /**
+     * Breadth-first search over the free cells from the start, up to the given depth, that stops expanding once
+     * it has reached the given number of cells. The cells reached are left in {@link #queue}, with their depths
+     * in {@link #depths}; the next search resets them.
+     *
+     * @param passHeads whether the search enters the cells of bot heads
+     * @return the number of cells reached
+     */
+    private int search(int start, int maxDepth, int maxCells, boolean passHeads) {
+        BoardGraph boardGraph = getGraph();
+        if (depths == null) {
+            depths = new int[boardGraph.getCellCount()];
+            Arrays.fill(depths, NOT_COMPUTED);
+            queue = new int[boardGraph.getCellCount()];
+        } else {
+            for (int i = 0; i < searchedCount; i++) {
+                depths[queue[i]] = NOT_COMPUTED;
+            }
+        }
+
+        int size = 0;
+        depths[start] = 0;
+        queue[size++] = start;
+        for (int head = 0; head < size && size < maxCells; head++) {
+            int current = queue[head];
+            if (depths[current] >= maxDepth) continue;
+            for (int d = 0; d < DIRECTIONS; d++) {
+                int next = boardGraph.neighbor(current, d);
+                if (depths[next] == NOT_COMPUTED && boardGraph.isFree(next) && (passHeads || !isBotHead(next))) {
+                    depths[next] = depths[current] + 1;
+                    queue[size++] = next;
+                }
+            }
+        }
+        searchedCount = size;
+        return size;
+    }
+}
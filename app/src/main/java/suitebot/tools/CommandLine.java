@@ -0,0 +1,68 @@
+package suitebot.tools;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Command line of the tools: {@code --name=value} options (a bare {@code --name} means {@code true})
+ * followed or interleaved by positional arguments.
+ */
+public class CommandLine
+{
+	private final Map<String, String> options = new HashMap<>();
+	private final List<String> arguments = new ArrayList<>();
+
+	public CommandLine(String[] args)
+	{
+		for (String arg : args)
+		{
+			if (arg.startsWith("--"))
+			{
+				int separator = arg.indexOf('=');
+				if (separator < 0)
+					options.put(arg.substring(2), "true");
+				else
+					options.put(arg.substring(2, separator), arg.substring(separator + 1));
+			}
+			else
+				arguments.add(arg);
+		}
+	}
+
+	public List<String> getArguments()
+	{
+		return arguments;
+	}
+
+	public boolean has(String name)
+	{
+		return options.containsKey(name);
+	}
+
+	public String get(String name, String defaultValue)
+	{
+		return options.getOrDefault(name, defaultValue);
+	}
+
+	public int getInt(String name, int defaultValue)
+	{
+		return options.containsKey(name) ? Integer.parseInt(options.get(name)) : defaultValue;
+	}
+
+	public long getLong(String name, long defaultValue)
+	{
+		return options.containsKey(name) ? Long.parseLong(options.get(name)) : defaultValue;
+	}
+
+	public double getDouble(String name, double defaultValue)
+	{
+		return options.containsKey(name) ? Double.parseDouble(options.get(name)) : defaultValue;
+	}
+
+	public boolean getBoolean(String name, boolean defaultValue)
+	{
+		return options.containsKey(name) ? Boolean.parseBoolean(options.get(name)) : defaultValue;
+	}
+}
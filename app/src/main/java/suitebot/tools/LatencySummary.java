@@ -0,0 +1,63 @@
+package suitebot.tools;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Percentiles of a set of latencies.
+ */
+public class LatencySummary
+{
+	private final long[] sortedNanos;
+
+	public LatencySummary(long[] latencyNanos)
+	{
+		this.sortedNanos = latencyNanos.clone();
+		Arrays.sort(sortedNanos);
+	}
+
+	public int count()
+	{
+		return sortedNanos.length;
+	}
+
+	/**
+	 * @param percentile percentile from 0 to 100, e.g. 99.9
+	 * @return the latency in nanoseconds below which the given percentage of latencies lie
+	 */
+	public long percentileNanos(double percentile)
+	{
+		if (sortedNanos.length == 0)
+			return 0;
+
+		int index = (int) Math.ceil(percentile / 100 * sortedNanos.length) - 1;
+		return sortedNanos[Math.max(0, Math.min(sortedNanos.length - 1, index))];
+	}
+
+	public long maxNanos()
+	{
+		return sortedNanos.length == 0 ? 0 : sortedNanos[sortedNanos.length - 1];
+	}
+
+	public long countAbove(long thresholdNanos)
+	{
+		int index = Arrays.binarySearch(sortedNanos, thresholdNanos + 1);
+		int firstAbove = index >= 0 ? index : -index - 1;
+		while (firstAbove > 0 && sortedNanos[firstAbove - 1] > thresholdNanos)
+			firstAbove--;
+		return sortedNanos.length - firstAbove;
+	}
+
+	@Override
+	public String toString()
+	{
+		return String.format("p50=%.2fms p90=%.2fms p99=%.2fms p999=%.2fms max=%.2fms",
+		                     millis(percentileNanos(50)), millis(percentileNanos(90)), millis(percentileNanos(99)),
+		                     millis(percentileNanos(99.9)), millis(maxNanos()));
+	}
+
+	private static double millis(long nanos)
+	{
+		return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+	}
+}
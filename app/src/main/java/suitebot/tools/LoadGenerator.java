@@ -0,0 +1,218 @@
+package suitebot.tools;
+
+import suitebot.game.GameState;
+import suitebot.game.GameStateGenerator;
+import suitebot.json.JsonUtil;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Load-test client for a bot server speaking the line protocol of {@link suitebot.server.SimpleServer}.
+ *
+ * Sends recorded move requests (JSON lines from files or directories given as arguments) or synthetic ones
+ * (random boards from {@link GameStateGenerator}) from several connections at once and reports throughput,
+ * latency percentiles and the number of responses that missed the deadline. With a target rate, requests are
+ * scheduled at fixed intervals and latency is measured from the scheduled time, so a server that falls behind
+ * is not hidden by the client waiting for it.
+ *
+ * Options: {@code --host --port --concurrency --requests --rate (requests per second, 0 = unlimited)
+ * --deadline (ms) --reuse (keep one connection per client; the server needs -Dsuitebot.keepAlive=true)
+ * --size --fill --bots --seed (synthetic boards)}.
+ *
+ * Note that the server answers a repeated request from its decision cache; synthetic requests are all distinct.
+ */
+public class LoadGenerator
+{
+	private final String host;
+	private final int port;
+	private final int concurrency;
+	private final boolean reuseConnections;
+	private final double rate;
+	private final long deadlineNanos;
+
+	public LoadGenerator(String host, int port, int concurrency, boolean reuseConnections, double rate, long deadlineMillis)
+	{
+		this.host = host;
+		this.port = port;
+		this.concurrency = concurrency;
+		this.reuseConnections = reuseConnections;
+		this.rate = rate;
+		this.deadlineNanos = TimeUnit.MILLISECONDS.toNanos(deadlineMillis);
+	}
+
+	public static void main(String[] args) throws Exception
+	{
+		CommandLine commandLine = new CommandLine(args);
+		int requestCount = commandLine.getInt("requests", 1000);
+
+		List<String> requests = commandLine.getArguments().isEmpty()
+				? syntheticRequests(requestCount, commandLine.getInt("size", 50), commandLine.getDouble("fill", 0.1),
+				                    commandLine.getInt("bots", 4), commandLine.getLong("seed", 1))
+				: RecordedRequests.read(commandLine.getArguments());
+
+		LoadGenerator loadGenerator = new LoadGenerator(
+				commandLine.get("host", "localhost"),
+				commandLine.getInt("port", 9501),
+				commandLine.getInt("concurrency", 1),
+				commandLine.getBoolean("reuse", false),
+				commandLine.getDouble("rate", 0),
+				commandLine.getLong("deadline", 1000));
+
+		System.out.println(loadGenerator.run(requests, requestCount));
+	}
+
+	/**
+	 * Sends {@code requestCount} requests, cycling through the given ones.
+	 */
+	public Report run(List<String> requests, int requestCount) throws InterruptedException
+	{
+		long[] latencies = new long[requestCount];
+		AtomicInteger nextRequest = new AtomicInteger();
+		AtomicLong errors = new AtomicLong();
+		CountDownLatch finished = new CountDownLatch(concurrency);
+		long intervalNanos = rate > 0 ? (long) (TimeUnit.SECONDS.toNanos(1) / rate) : 0;
+
+		long start = System.nanoTime();
+		for (int i = 0; i < concurrency; i++)
+		{
+			Thread client = new Thread(() -> {
+				try (Connection connection = new Connection())
+				{
+					int index;
+					while ((index = nextRequest.getAndIncrement()) < requestCount)
+					{
+						long scheduled = intervalNanos > 0 ? start + index * intervalNanos : System.nanoTime();
+						waitUntil(scheduled);
+
+						String response = connection.send(requests.get(index % requests.size()));
+						latencies[index] = System.nanoTime() - scheduled;
+						if (response == null)
+							errors.incrementAndGet();
+					}
+				}
+				finally
+				{
+					finished.countDown();
+				}
+			}, "load-client-" + i);
+			client.start();
+		}
+
+		finished.await();
+		long elapsedNanos = System.nanoTime() - start;
+		return new Report(new LatencySummary(latencies), elapsedNanos, errors.get(), deadlineNanos);
+	}
+
+	private static void waitUntil(long nanoTime)
+	{
+		long remaining;
+		while ((remaining = nanoTime - System.nanoTime()) > 0)
+			LockSupport.parkNanos(remaining);
+	}
+
+	static List<String> syntheticRequests(int count, int size, double fillRatio, int botCount, long seed)
+	{
+		List<String> requests = new ArrayList<>(count);
+		for (int i = 0; i < count; i++)
+		{
+			GameState gameState = GameStateGenerator.generate(size, size, botCount, fillRatio, seed + i);
+			requests.add(JsonUtil.serializeMoveRequest(1 + i % botCount, gameState));
+		}
+		return requests;
+	}
+
+	/**
+	 * Connection to the server, reused for all requests of a client if connection reuse is on.
+	 */
+	private class Connection implements AutoCloseable
+	{
+		private Socket socket;
+		private PrintWriter outputWriter;
+		private BufferedReader inputReader;
+
+		String send(String request)
+		{
+			try
+			{
+				if (socket == null)
+					open();
+
+				outputWriter.println(request);
+				String response = inputReader.readLine();
+
+				if (!reuseConnections || response == null)
+					close();
+				return response;
+			}
+			catch (IOException e)
+			{
+				close();
+				return null;
+			}
+		}
+
+		private void open() throws IOException
+		{
+			socket = new Socket(host, port);
+			socket.setTcpNoDelay(true);
+			outputWriter = new PrintWriter(socket.getOutputStream(), true);
+			inputReader = new BufferedReader(new InputStreamReader(socket.getInputStream()));
+		}
+
+		@Override
+		public void close()
+		{
+			if (socket == null)
+				return;
+
+			try
+			{
+				socket.close();
+			}
+			catch (IOException e)
+			{
+				// nothing left to clean up
+			}
+			socket = null;
+		}
+	}
+
+	public static class Report
+	{
+		public final LatencySummary latency;
+		public final long elapsedNanos;
+		public final long errors;
+		public final long deadlineMisses;
+
+		Report(LatencySummary latency, long elapsedNanos, long errors, long deadlineNanos)
+		{
+			this.latency = latency;
+			this.elapsedNanos = elapsedNanos;
+			this.errors = errors;
+			this.deadlineMisses = latency.countAbove(deadlineNanos);
+		}
+
+		public double throughput()
+		{
+			return latency.count() / (elapsedNanos / (double) TimeUnit.SECONDS.toNanos(1));
+		}
+
+		@Override
+		public String toString()
+		{
+			return String.format("requests=%d errors=%d throughput=%.1f/s %s deadlineMisses=%d",
+			                     latency.count(), errors, throughput(), latency, deadlineMisses);
+		}
+	}
+}
@@ -0,0 +1,51 @@
+package suitebot.tools;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Move requests captured from games, stored one JSON object per line.
+ */
+public class RecordedRequests
+{
+	/**
+	 * Reads the requests from the given files and from all files in the given directories, in name order.
+	 *
+	 * @param paths files and directories
+	 * @return the non-blank lines in order
+	 */
+	public static List<String> read(List<String> paths) throws IOException
+	{
+		List<String> requests = new ArrayList<>();
+		for (String pathName : paths)
+		{
+			Path path = Paths.get(pathName);
+			List<Path> files;
+			if (Files.isDirectory(path))
+			{
+				try (Stream<Path> listing = Files.list(path))
+				{
+					files = listing.filter(Files::isRegularFile).sorted().collect(Collectors.toList());
+				}
+			}
+			else
+				files = List.of(path);
+
+			for (Path file : files)
+			{
+				for (String line : Files.readAllLines(file))
+				{
+					if (!line.isBlank())
+						requests.add(line.trim());
+				}
+			}
+		}
+		return requests;
+	}
+}
@@ -0,0 +1,181 @@
+package suitebot.tools;
+
+import suitebot.BotRequestHandler;
+import suitebot.ai.BotAi;
+import suitebot.log.Level;
+import suitebot.log.Log;
+import suitebot.session.SessionRegistry;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+
+/**
+ * Replays captured move requests through {@link BotRequestHandler} and compares the chosen moves with a baseline run.
+ *
+ * Every request is replayed on its own, in a fresh session whose random generator is seeded with the fixed seed,
+ * so the moves do not depend on the order or the parallelism of the replay. The decision cache and pondering are off.
+ *
+ * <pre>
+ * ReplayRunner [--ai=suitebot.ai.SampleBotAi] [--seed=1] [--threads=N] [--output=run.tsv] [--baseline=previous.tsv]
+ *              [--slowest=10] &lt;file-or-directory&gt;...
+ * </pre>
+ *
+ * The output has one line per request, in input order: the response and the latency in milliseconds, tab-separated.
+ * The AI is created once and shared by all threads, so it must keep its per-game state in the session.
+ */
+public class ReplayRunner
+{
+	private final BotAi botAi;
+	private final long seed;
+	private final int threadCount;
+
+	public ReplayRunner(BotAi botAi, long seed, int threadCount)
+	{
+		this.botAi = botAi;
+		this.seed = seed;
+		this.threadCount = threadCount;
+	}
+
+	public static void main(String[] args) throws Exception
+	{
+		CommandLine commandLine = new CommandLine(args);
+		if (commandLine.getArguments().isEmpty())
+		{
+			System.err.println("usage: ReplayRunner [--ai=<class>] [--seed=<n>] [--threads=<n>] [--output=<file>] " +
+			                   "[--baseline=<file>] [--slowest=<n>] <file-or-directory>...");
+			System.exit(1);
+		}
+		Log.setLevel(Level.valueOf(commandLine.get("logLevel", Level.WARN.name()).toUpperCase()));
+
+		BotAi botAi = Class.forName(commandLine.get("ai", "suitebot.ai.SampleBotAi"))
+				.asSubclass(BotAi.class).getConstructor().newInstance();
+		ReplayRunner replayRunner = new ReplayRunner(botAi, commandLine.getLong("seed", 1),
+		                                             commandLine.getInt("threads", Runtime.getRuntime().availableProcessors()));
+
+		List<String> requests = RecordedRequests.read(commandLine.getArguments());
+		Result[] results = replayRunner.replay(requests);
+
+		System.out.println(summary(results, commandLine.getInt("slowest", 10)));
+
+		if (commandLine.has("output"))
+			write(results, commandLine.get("output", null));
+
+		if (commandLine.has("baseline"))
+		{
+			List<String> baseline = readResponses(commandLine.get("baseline", null));
+			List<String> differences = diff(results, baseline);
+			System.out.println(differences.size() + " of " + results.length + " responses differ from the baseline");
+			differences.forEach(System.out::println);
+		}
+	}
+
+	/**
+	 * Replays the requests in parallel.
+	 *
+	 * @return the result of every request, in input order
+	 */
+	public Result[] replay(List<String> requests) throws InterruptedException
+	{
+		ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+		try
+		{
+			List<Future<Result>> futures = new ArrayList<>();
+			for (String request : requests)
+				futures.add(executor.submit(() -> replay(request)));
+
+			Result[] results = new Result[requests.size()];
+			for (int i = 0; i < results.length; i++)
+				results[i] = futures.get(i).get();
+			return results;
+		}
+		catch (ExecutionException e)
+		{
+			throw new IllegalStateException("replay failed", e.getCause());
+		}
+		finally
+		{
+			executor.shutdownNow();
+		}
+	}
+
+	private Result replay(String request)
+	{
+		SessionRegistry sessionRegistry = new SessionRegistry(1, Long.MAX_VALUE,
+				session -> session.getComponent(Random.class, () -> new Random(seed)));
+		BotRequestHandler requestHandler = BotRequestHandler.builder(botAi)
+				.setSessionRegistry(sessionRegistry)
+				.setDecisionCache(null)
+				.build();
+
+		long startTime = System.nanoTime();
+		String response = requestHandler.processRequest(request);
+		return new Result(response, System.nanoTime() - startTime);
+	}
+
+	static String summary(Result[] results, int slowestCount)
+	{
+		LatencySummary latency = new LatencySummary(Arrays.stream(results).mapToLong(result -> result.latencyNanos).toArray());
+		StringBuilder summary = new StringBuilder("requests=" + results.length + " " + latency);
+
+		IntStream.range(0, results.length)
+				.boxed()
+				.sorted(Comparator.comparingLong((Integer i) -> results[i].latencyNanos).reversed())
+				.limit(slowestCount)
+				.forEach(i -> summary.append(String.format("%n  #%d %.2fms %s", i, results[i].latencyNanos / 1e6, results[i].response)));
+		return summary.toString();
+	}
+
+	/**
+	 * @return a line for every request whose response differs from the baseline, or that has no baseline
+	 */
+	static List<String> diff(Result[] results, List<String> baseline)
+	{
+		List<String> differences = new ArrayList<>();
+		for (int i = 0; i < results.length; i++)
+		{
+			String expected = i < baseline.size() ? baseline.get(i) : "<missing>";
+			if (!expected.equals(String.valueOf(results[i].response)))
+				differences.add("  #" + i + " " + expected + " -> " + results[i].response);
+		}
+		return differences;
+	}
+
+	private static void write(Result[] results, String fileName) throws IOException
+	{
+		List<String> lines = new ArrayList<>(results.length);
+		for (Result result : results)
+			lines.add(result.response + "\t" + String.format("%.3f", result.latencyNanos / 1e6));
+		Files.write(Paths.get(fileName), lines);
+	}
+
+	private static List<String> readResponses(String fileName) throws IOException
+	{
+		List<String> responses = new ArrayList<>();
+		for (String line : Files.readAllLines(Paths.get(fileName)))
+			responses.add(line.split("\t", 2)[0]);
+		return responses;
+	}
+
+	public static class Result
+	{
+		public final String response;
+		public final long latencyNanos;
+
+		Result(String response, long latencyNanos)
+		{
+			this.response = response;
+			this.latencyNanos = latencyNanos;
+		}
+	}
+}
@@ -0,0 +1,103 @@
+package suitebot;
+
+import com.sun.management.ThreadMXBean;
+import org.junit.jupiter.api.Test;
+import suitebot.ai.SampleBotAi;
+import suitebot.game.GameState;
+import suitebot.game.GameStateGenerator;
+import suitebot.json.JsonUtil;
+import suitebot.strategies.AStarHeuristic;
+import suitebot.strategies.FloodFillHeuristic;
+import suitebot.strategies.MonteCarloTreeSearch;
+
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Fails when a hot path allocates more per call than its budget, measured over all threads
+ * after warm-up so that the JIT has had a chance to eliminate what it can.
+ *
+ * The budgets are the allocations of the current implementations with some headroom.
+ * Lower a budget when a kernel stops allocating, so that it cannot silently regress.
+ */
+class AllocationBudgetTest
+{
+	private static final long MCTS_BUDGET = 200_000;
+	private static final long A_STAR_BUDGET = 1_200_000;
+	private static final long FLOOD_FILL_BUDGET = 110_000;
+	private static final long MOVE_REQUEST_BUDGET = 650_000;
+
+	private static final int WARM_UP_CALLS = 100;
+	private static final int MEASURED_CALLS = 15;
+
+	private static final GameState GAME_STATE = GameStateGenerator.generate(30, 30, 4, 0.2, 7);
+
+	private static final ThreadMXBean THREAD_MX_BEAN = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+	@Test
+	void monteCarloTreeSearch_shouldStayWithinBudget()
+	{
+		assertThat(allocatedBytesPerCall(() -> MonteCarloTreeSearch.evaluateMoves(1, GAME_STATE, 30, 20, new Random(1))))
+				.isLessThanOrEqualTo(MCTS_BUDGET);
+	}
+
+	@Test
+	void aStarHeuristic_shouldStayWithinBudget()
+	{
+		assertThat(allocatedBytesPerCall(() -> AStarHeuristic.evaluateMoves(1, GAME_STATE, 20)))
+				.isLessThanOrEqualTo(A_STAR_BUDGET);
+	}
+
+	@Test
+	void floodFillHeuristic_shouldStayWithinBudget()
+	{
+		assertThat(allocatedBytesPerCall(() -> FloodFillHeuristic.evaluateMoves(1, GAME_STATE, 20)))
+				.isLessThanOrEqualTo(FLOOD_FILL_BUDGET);
+	}
+
+	@Test
+	void moveRequest_shouldStayWithinBudget()
+	{
+		String request = JsonUtil.serializeMoveRequest(1, GAME_STATE);
+
+		// a new handler for every request, so that each is the first move of its game and gets the same search effort;
+		// without a decision cache, so that every request is searched
+		assertThat(allocatedBytesPerCall(() -> BotRequestHandler.builder(new SampleBotAi())
+				.setDecisionCache(null)
+				.build()
+				.processRequest(request)))
+				.isLessThanOrEqualTo(MOVE_REQUEST_BUDGET);
+	}
+
+	/**
+	 * @return the median of the bytes allocated per call by all threads, as searches run on pool threads as well
+	 */
+	private static long allocatedBytesPerCall(Runnable call)
+	{
+		for (int i = 0; i < WARM_UP_CALLS; i++)
+			call.run();
+
+		long[] allocatedBytes = new long[MEASURED_CALLS];
+		for (int i = 0; i < MEASURED_CALLS; i++)
+		{
+			long[] threadIds = THREAD_MX_BEAN.getAllThreadIds();
+			long before = totalAllocatedBytes(threadIds);
+			call.run();
+			allocatedBytes[i] = totalAllocatedBytes(threadIds) - before;
+		}
+
+		Arrays.sort(allocatedBytes);
+		return allocatedBytes[MEASURED_CALLS / 2];
+	}
+
+	private static long totalAllocatedBytes(long[] threadIds)
+	{
+		long total = 0;
+		for (long bytes : THREAD_MX_BEAN.getThreadAllocatedBytes(threadIds))
+			total += Math.max(0, bytes); // -1 for threads that have ended
+		return total;
+	}
+}
@@ -12,8 +12,10 @@ class BotAiRequestHandlerTest
 {
 	private static final Direction AI_DIRECTION = Direction.LEFT;
 	private static final String AI_NAME = "My AI";
+	private static final String MOVE_REQUEST = "{\"yourBotId\":1,\"gamePlan\":[\"*1  \",\"   2\"],\"botIds\":[1,2]}";
 
 	private BotRequestHandler REQUEST_HANDLER;
+	private int moveCount;
 
 	@BeforeEach
 	void setUp()
@@ -23,6 +25,7 @@ class BotAiRequestHandlerTest
 			@Override
 			public Direction makeMove(int botId, GameState gameState)
 			{
+				moveCount++;
 				return AI_DIRECTION;
 			}
 
@@ -41,4 +44,39 @@ class BotAiRequestHandlerTest
 	{
 		assertThat(REQUEST_HANDLER.processRequest(BotRequestHandler.NAME_REQUEST)).isEqualTo(AI_NAME);
 	}
-}
\ No newline at end of file
+
+	@Test
+	void testLogLevelRequest() throws Exception
+	{
+		String originalLevel = REQUEST_HANDLER.processRequest(BotRequestHandler.LOG_LEVEL_REQUEST);
+
+		assertThat(REQUEST_HANDLER.processRequest(BotRequestHandler.LOG_LEVEL_REQUEST + " debug")).isEqualTo("DEBUG");
+		assertThat(REQUEST_HANDLER.processRequest(BotRequestHandler.LOG_LEVEL_REQUEST + " " + originalLevel)).isEqualTo(originalLevel);
+	}
+
+	@Test
+	void testMoveRequest() throws Exception
+	{
+		assertThat(REQUEST_HANDLER.processRequest(MOVE_REQUEST)).isEqualTo(AI_DIRECTION.toString());
+	}
+
+	@Test
+	void testRepeatedMoveRequestIsAnsweredFromCache() throws Exception
+	{
+		REQUEST_HANDLER.processRequest(MOVE_REQUEST);
+
+		assertThat(REQUEST_HANDLER.processRequest(MOVE_REQUEST)).isEqualTo(AI_DIRECTION.toString());
+		assertThat(moveCount).isEqualTo(1);
+	}
+
+	@Test
+	void testStatsRequest() throws Exception
+	{
+		REQUEST_HANDLER.processRequest(MOVE_REQUEST);
+		REQUEST_HANDLER.processRequest(MOVE_REQUEST);
+
+		assertThat(REQUEST_HANDLER.processRequest(BotRequestHandler.STATS_REQUEST))
+				.contains("rollouts=")
+				.contains("decisionCacheHits=1 decisionCacheMisses=1");
+	}
+}
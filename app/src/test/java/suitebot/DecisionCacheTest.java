@@ -0,0 +1,35 @@
+package suitebot;
+
+import org.junit.jupiter.api.Test;
+import suitebot.game.Move;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DecisionCacheTest
+{
+	@Test
+	void get_shouldCountHitsAndMisses()
+	{
+		DecisionCache cache = new DecisionCache();
+		cache.put(42, Move.UP);
+
+		assertThat(cache.get(42)).isEqualTo(Move.UP);
+		assertThat(cache.get(43)).isNull();
+		assertThat(cache.getHits()).isEqualTo(1L);
+		assertThat(cache.getMisses()).isEqualTo(1L);
+	}
+
+	@Test
+	void put_overMaxEntries_shouldEvictLeastRecentlyUsed()
+	{
+		DecisionCache cache = new DecisionCache(2);
+		cache.put(1, Move.UP);
+		cache.put(2, Move.DOWN);
+		cache.get(1);
+		cache.put(3, Move.LEFT);
+
+		assertThat(cache.size()).isEqualTo(2);
+		assertThat(cache.get(1)).isEqualTo(Move.UP);
+		assertThat(cache.get(2)).isNull();
+	}
+}
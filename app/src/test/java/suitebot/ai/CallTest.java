@@ -0,0 +1,32 @@
+package suitebot.ai;
+
+import org.junit.jupiter.api.Test;
+import suitebot.game.Direction;
+import suitebot.game.GameState;
+import suitebot.game.GameStateFactory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CallTest
+{
+	@Test
+	void getDirection_withTwoSealedRooms_shouldEnterLargerRoom()
+	{
+		StringBuilder plan = new StringBuilder(
+				"********************\n" +
+				"*****    ***********\n" +
+				"*   *    ***********\n" +
+				"*   1    ***********\n" +
+				"*   *    ***********\n" +
+				"*****    ***********\n" +
+				"*****    ***********\n" +
+				"********************\n" +
+				"*        2         *\n");
+		for (int row = 0; row < 19; row++)
+			plan.append("*                  *\n");
+		plan.append("********************");
+		GameState gameState = GameStateFactory.createFromString(plan.toString());
+
+		assertThat(Call.getDirection(1, gameState)).isEqualTo(Direction.RIGHT);
+	}
+}
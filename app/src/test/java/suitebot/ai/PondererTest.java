@@ -0,0 +1,61 @@
+package suitebot.ai;
+
+import org.junit.jupiter.api.Test;
+import suitebot.game.Direction;
+import suitebot.game.GameState;
+import suitebot.game.GameStateFactory;
+import suitebot.game.GameStateHash;
+import suitebot.game.StateTransition;
+import suitebot.session.GameSession;
+import suitebot.session.SessionKey;
+
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PondererTest
+{
+	@Test
+	void cancel_shouldStopRunningWork() throws Exception
+	{
+		Ponderer ponderer = new Ponderer();
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch stopped = new CountDownLatch(1);
+
+		ponderer.start(cancelled -> {
+			started.countDown();
+			while (!cancelled.getAsBoolean())
+				Thread.onSpinWait();
+			stopped.countDown();
+		});
+
+		assertThat(started.await(1, TimeUnit.SECONDS)).isTrue();
+		ponderer.cancel();
+		assertThat(stopped.await(1, TimeUnit.SECONDS)).isTrue();
+		ponderer.shutdown();
+	}
+
+	@Test
+	void ponder_shouldSearchMostLikelySuccessor()
+	{
+		GameState gameState = GameStateFactory.createFromString(
+				"**********\n" +
+				"*1       *\n" +
+				"*        *\n" +
+				"*        *\n" +
+				"*       2*\n" +
+				"**********");
+		GameSession session = new GameSession(SessionKey.of(1, gameState, null));
+
+		Call.ponder(1, gameState, Direction.RIGHT, session, () -> false);
+
+		Direction opponentMove = OpponentModel.likelyMoves(2, gameState).get(0);
+		GameState successor = StateTransition.apply(gameState, Map.of(1, Direction.RIGHT, 2, opponentMove));
+		Map<Direction, Integer> pondered = session.findComponent(PonderCache.class).take(GameStateHash.of(successor));
+
+		assertThat(pondered).isNotNull();
+		assertThat(pondered.get(Direction.UP)).isEqualTo(0);
+	}
+}
@@ -0,0 +1,71 @@
+package suitebot.ai;
+
+import org.junit.jupiter.api.Test;
+import suitebot.game.GameState;
+import suitebot.game.GameStateGenerator;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SearchBudgetTest
+{
+	private static final long DEADLINE_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+	private static final long TARGET_NANOS = (long) (DEADLINE_NANOS * SearchBudget.TARGET_SHARE);
+
+	@Test
+	void iterations_beforeAnyMeasurement_shouldUseInitialValue()
+	{
+		assertThat(new SearchBudget(DEADLINE_NANOS).iterations(4)).isEqualTo(SearchBudget.INITIAL_ITERATIONS);
+	}
+
+	@Test
+	void iterations_shouldFillTargetAtMeasuredThroughput()
+	{
+		SearchBudget budget = new SearchBudget(DEADLINE_NANOS);
+
+		// 1000 rollouts took 10ms: 100k rollouts per second, 5000 fit into the 50ms target
+		budget.record(TimeUnit.MILLISECONDS.toNanos(10), TimeUnit.MILLISECONDS.toNanos(10), 1000);
+
+		assertThat(budget.iterations(2)).isEqualTo(2500);
+	}
+
+	@Test
+	void iterations_whenMovesKeepMissingTarget_shouldShrink()
+	{
+		SearchBudget budget = new SearchBudget(DEADLINE_NANOS);
+		budget.record(TARGET_NANOS, TARGET_NANOS, 1000);
+		int initial = budget.iterations(1);
+
+		// the throughput looks unchanged, but something else makes every move take twice the target
+		for (int i = 0; i < 8; i++)
+			budget.record(2 * TARGET_NANOS, TARGET_NANOS, 1000);
+
+		assertThat(budget.iterations(1)).isLessThan(initial);
+	}
+
+	@Test
+	void iterations_whenMovesAreFast_shouldGrow()
+	{
+		SearchBudget budget = new SearchBudget(DEADLINE_NANOS);
+		budget.record(TARGET_NANOS / 4, TARGET_NANOS / 4, 250);
+		int initial = budget.iterations(1);
+
+		// the throughput stays the same, but moves take only a quarter of the target
+		for (int i = 0; i < 8; i++)
+			budget.record(TARGET_NANOS / 4, TARGET_NANOS / 4, 250);
+
+		assertThat(budget.iterations(1)).isGreaterThan(initial);
+	}
+
+	@Test
+	void depth_shouldShrinkAsPlanFills()
+	{
+		SearchBudget budget = new SearchBudget(DEADLINE_NANOS);
+		GameState empty = GameStateGenerator.generate(40, 40, 2, 0, 1);
+		GameState filled = GameStateGenerator.generate(40, 40, 2, 0.8, 1);
+
+		assertThat(budget.depth(empty)).isEqualTo(SearchBudget.MAX_DEPTH);
+		assertThat(budget.depth(filled)).isLessThan(budget.depth(empty));
+	}
+}
@@ -0,0 +1,115 @@
+package suitebot.ai;
+
+import org.junit.jupiter.api.Test;
+import suitebot.game.Direction;
+import suitebot.game.GameState;
+import suitebot.game.GameStateFactory;
+import suitebot.session.GameSession;
+import suitebot.session.SessionKey;
+import suitebot.stats.Counter;
+import suitebot.stats.SearchStats;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TriageTest
+{
+	@Test
+	void of_withSingleFreeNeighbor_shouldDecideForcedMove()
+	{
+		GameState gameState = GameStateFactory.createFromString(
+				"*****\n" +
+				"*1  *\n" +
+				"*****");
+
+		Triage triage = Triage.of(1, gameState);
+
+		assertThat(triage.isDecided()).isTrue();
+		assertThat(triage.getDecision()).isEqualTo(Direction.RIGHT);
+	}
+
+	@Test
+	void of_withoutFreeNeighbor_shouldDecideWithoutCandidates()
+	{
+		GameState gameState = GameStateFactory.createFromString(
+				"***\n" +
+				"*1*\n" +
+				"***");
+
+		Triage triage = Triage.of(1, gameState);
+
+		assertThat(triage.isDecided()).isTrue();
+		assertThat(triage.getCandidates()).isEmpty();
+		assertThat(triage.getDecision()).isEqualTo(Direction.DOWN);
+	}
+
+	@Test
+	void of_shouldNotMoveOntoBotHead()
+	{
+		GameState gameState = GameStateFactory.createFromString(
+				"*****\n" +
+				"*21 *\n" +
+				"*****");
+
+		assertThat(Triage.of(1, gameState).getDecision()).isEqualTo(Direction.RIGHT);
+	}
+
+	@Test
+	void of_withPocketNextToOpenSpace_shouldDropPocket()
+	{
+		GameState gameState = GameStateFactory.createFromString(
+				"********\n" +
+				"*      *\n" +
+				"*      *\n" +
+				"* 1    *\n" +
+				"** *****\n" +
+				"********");
+
+		Triage triage = Triage.of(1, gameState);
+
+		assertThat(triage.isDecided()).isFalse();
+		assertThat(triage.getCandidates()).containsExactly(Direction.UP, Direction.LEFT, Direction.RIGHT);
+	}
+
+	@Test
+	void of_whenOnlyOneMoveIsNotDominated_shouldDecideIt()
+	{
+		GameState gameState = GameStateFactory.createFromString(
+				"*******\n" +
+				"*1    *\n" +
+				"* *****\n" +
+				"*******");
+
+		Triage triage = Triage.of(1, gameState);
+
+		assertThat(triage.isDecided()).isTrue();
+		assertThat(triage.getDecision()).isEqualTo(Direction.RIGHT);
+	}
+
+	@Test
+	void of_withComparableRegions_shouldKeepBothMoves()
+	{
+		GameState gameState = GameStateFactory.createFromString(
+				"*****\n" +
+				"*   *\n" +
+				"**1**\n" +
+				"*   *\n" +
+				"*****");
+
+		assertThat(Triage.of(1, gameState).getCandidates()).containsExactly(Direction.UP, Direction.DOWN);
+	}
+
+	@Test
+	void getDirection_onForcedMove_shouldNotSearch()
+	{
+		GameState gameState = GameStateFactory.createFromString(
+				"*****\n" +
+				"*1  *\n" +
+				"*****");
+
+		Direction direction = Call.getDirection(1, gameState, new GameSession(SessionKey.of(1, gameState, null)));
+
+		assertThat(direction).isEqualTo(Direction.RIGHT);
+		assertThat(SearchStats.current().get(Counter.TRIAGED)).isEqualTo(1);
+		assertThat(SearchStats.current().get(Counter.ROLLOUTS)).isZero();
+	}
+}
@@ -0,0 +1,119 @@
+package suitebot.arena;
+
+import org.junit.jupiter.api.Test;
+import suitebot.ai.BotAi;
+import suitebot.game.Direction;
+import suitebot.game.GameState;
+import suitebot.game.GameStateFactory;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RefereeTest
+{
+	@Test
+	void play_whenBotRunsIntoObstacle_shouldLetOtherBotWin()
+	{
+		GameState gameState = GameStateFactory.createFromString(
+				"1*   \n" +
+				"     \n" +
+				"    2");
+
+		GameRecord record = new Referee().play(gameState, Map.of(1, always(Direction.RIGHT), 2, always(Direction.UP)));
+
+		assertThat(record.getWinnerId()).isEqualTo(2);
+		assertThat(record.getTurns()).isEqualTo(1);
+		assertThat(record.getMoveLatencies(1)).hasSize(1);
+	}
+
+	@Test
+	void play_onHeadOnCollision_shouldEndInDraw()
+	{
+		GameState gameState = GameStateFactory.createFromString("1 2 ");
+
+		GameRecord record = new Referee().play(gameState, Map.of(1, always(Direction.RIGHT), 2, always(Direction.LEFT)));
+
+		assertThat(record.getWinnerId()).isEqualTo(Referee.DRAW);
+	}
+
+	@Test
+	void play_shouldWrapAroundThePlanAndTurnTrailsIntoObstacles()
+	{
+		// bot 1 wraps around its row and runs into its own trail with the 4th move, while bot 2 still has room
+		GameState gameState = GameStateFactory.createFromString(
+				"1   \n" +
+				"   2\n" +
+				"    \n" +
+				"    \n" +
+				"    \n" +
+				"    ");
+
+		GameRecord record = new Referee().play(gameState, Map.of(1, always(Direction.LEFT), 2, always(Direction.DOWN)));
+
+		assertThat(record.getWinnerId()).isEqualTo(2);
+		assertThat(record.getTurns()).isEqualTo(4);
+	}
+
+	@Test
+	void play_whenAiThrows_shouldCountErrorAndKillBot()
+	{
+		GameState gameState = GameStateFactory.createFromString("1  2  ");
+		BotAi failing = new FixedBotAi(null)
+		{
+			@Override
+			public Direction makeMove(int botId, GameState gameState)
+			{
+				throw new IllegalStateException("broken");
+			}
+		};
+
+		GameRecord record = new Referee().play(gameState, Map.of(1, failing, 2, always(Direction.RIGHT)));
+
+		assertThat(record.getWinnerId()).isEqualTo(2);
+		assertThat(record.getErrors()).isEqualTo(1);
+	}
+
+	@Test
+	void arena_shouldReportEveryGame() throws Exception
+	{
+		List<Arena.Entrant> entrants = List.of(
+				new Arena.Entrant("right", () -> always(Direction.RIGHT)),
+				new Arena.Entrant("left", () -> always(Direction.LEFT)));
+
+		ArenaReport report = new Arena(10, 10, 2, 0.1, 2).run(entrants, 8, 1);
+
+		assertThat(report.getGames()).isEqualTo(8);
+		assertThat(report.winRateInterval(0)[0]).isLessThanOrEqualTo(report.winRate(0));
+		assertThat(report.winRateInterval(0)[1]).isGreaterThanOrEqualTo(report.winRate(0));
+		assertThat(report.moveLatency(0).count()).isPositive();
+	}
+
+	private static BotAi always(Direction direction)
+	{
+		return new FixedBotAi(direction);
+	}
+
+	private static class FixedBotAi implements BotAi
+	{
+		private final Direction direction;
+
+		FixedBotAi(Direction direction)
+		{
+			this.direction = direction;
+		}
+
+		@Override
+		public Direction makeMove(int botId, GameState gameState)
+		{
+			return direction;
+		}
+
+		@Override
+		public String getName()
+		{
+			return "fixed";
+		}
+	}
+}
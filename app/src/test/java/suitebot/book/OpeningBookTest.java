@@ -0,0 +1,95 @@
+package suitebot.book;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import suitebot.game.Direction;
+import suitebot.game.GameState;
+import suitebot.game.GameStateFactory;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+class OpeningBookTest
+{
+	private static final GameState POSITION = GameStateFactory.createFromString(
+			"*****\n" +
+			"*1  *\n" +
+			"*   *\n" +
+			"*  2*\n" +
+			"*****");
+
+	private static final GameState OTHER_POSITION = GameStateFactory.createFromString(
+			"*****\n" +
+			"* 1 *\n" +
+			"*   *\n" +
+			"*  2*\n" +
+			"*****");
+
+	private Path bookFile;
+
+	@BeforeEach
+	void setUp() throws Exception
+	{
+		bookFile = Files.createTempFile("opening-book", ".bin");
+	}
+
+	@AfterEach
+	void tearDown() throws Exception
+	{
+		Files.deleteIfExists(bookFile);
+	}
+
+	@Test
+	void lookup_shouldReturnBookedMoves() throws Exception
+	{
+		new OpeningBookWriter(3)
+				.add(1, POSITION, Direction.RIGHT)
+				.add(2, POSITION, Direction.UP)
+				.add(1, OTHER_POSITION, Direction.DOWN)
+				.write(bookFile);
+
+		OpeningBook book = OpeningBook.open(bookFile);
+
+		assertThat(book.getPlies()).isEqualTo(3);
+		assertThat(book.size()).isEqualTo(3);
+		assertThat(book.lookup(1, POSITION)).isEqualTo(Direction.RIGHT);
+		assertThat(book.lookup(2, POSITION)).isEqualTo(Direction.UP);
+		assertThat(book.lookup(1, OTHER_POSITION)).isEqualTo(Direction.DOWN);
+	}
+
+	@Test
+	void lookup_onUnknownPosition_shouldReturnNull() throws Exception
+	{
+		new OpeningBookWriter(1).add(1, POSITION, Direction.RIGHT).write(bookFile);
+
+		OpeningBook book = OpeningBook.open(bookFile);
+
+		assertThat(book.lookup(2, POSITION)).isNull();
+		assertThat(book.lookup(1, OTHER_POSITION)).isNull();
+	}
+
+	@Test
+	void open_onOtherFile_shouldThrowException() throws Exception
+	{
+		Files.write(bookFile, new byte[64]);
+
+		assertThatExceptionOfType(OpeningBook.InvalidBookException.class)
+				.isThrownBy(() -> OpeningBook.open(bookFile));
+	}
+
+	@Test
+	void generate_shouldBookEveryBotInStartingPosition() throws Exception
+	{
+		new OpeningBookGenerator(1, 1).generate(List.of(POSITION)).write(bookFile);
+
+		OpeningBook book = OpeningBook.open(bookFile);
+
+		assertThat(book.lookup(1, POSITION)).isIn(Direction.RIGHT, Direction.DOWN);
+		assertThat(book.lookup(2, POSITION)).isIn(Direction.LEFT, Direction.UP);
+	}
+}
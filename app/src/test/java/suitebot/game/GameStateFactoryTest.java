@@ -27,6 +27,19 @@ class GameStateFactoryTest
 				new Point(0, 0), new Point(3, 0), new Point(3, 1));
 	}
 
+	@Test
+	void toPlanRows_shouldReturnOriginalPlan() throws Exception
+	{
+		String gameStateAsString =
+				"*2 *\n" +
+				"4  *\n" +
+				"    ";
+
+		GameState gameState = GameStateFactory.createFromString(gameStateAsString);
+
+		assertThat(String.join("\n", GameStateFactory.toPlanRows(gameState))).isEqualTo(gameStateAsString);
+	}
+
 	@Test
 	void invalidCharacter_shouldThrowException()
 	{
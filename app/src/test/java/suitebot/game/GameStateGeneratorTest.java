@@ -0,0 +1,26 @@
+package suitebot.game;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GameStateGeneratorTest
+{
+	@Test
+	void generate_withSameSeed_shouldReturnSameState()
+	{
+		GameState first = GameStateGenerator.generate(30, 20, 4, 0.3, 7);
+		GameState second = GameStateGenerator.generate(30, 20, 4, 0.3, 7);
+
+		assertThat(GameStateFactory.toPlanRows(second)).isEqualTo(GameStateFactory.toPlanRows(first));
+	}
+
+	@Test
+	void generate_shouldPlaceAllBotsAndRoughlyFillRatioObstacles()
+	{
+		GameState gameState = GameStateGenerator.generate(100, 100, 9, 0.25, 1);
+
+		assertThat(gameState.getLiveBotIds()).containsExactlyInAnyOrder(1, 2, 3, 4, 5, 6, 7, 8, 9);
+		assertThat(gameState.getObstacleLocations().size()).isBetween(2000, 3000);
+	}
+}
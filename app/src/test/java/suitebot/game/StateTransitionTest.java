@@ -0,0 +1,71 @@
+package suitebot.game;
+
+import com.google.common.collect.ImmutableMap;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StateTransitionTest
+{
+	@Test
+	void apply_shouldMoveBotsAndLeaveTrails()
+	{
+		GameState gameState = GameStateFactory.createFromString(
+				"1   \n" +
+				"    \n" +
+				"   2\n");
+
+		GameState next = StateTransition.apply(gameState, ImmutableMap.of(1, Direction.RIGHT, 2, Direction.UP));
+
+		assertThat(next.getLiveBotIds()).containsExactlyInAnyOrder(1, 2);
+		assertThat(next.getBotLocation(1)).isEqualTo(new Point(1, 0));
+		assertThat(next.getBotLocation(2)).isEqualTo(new Point(3, 1));
+		assertThat(next.getObstacleLocations()).containsExactlyInAnyOrder(new Point(0, 0), new Point(3, 2));
+	}
+
+	@Test
+	void apply_shouldWrapAroundEdges()
+	{
+		GameState gameState = GameStateFactory.createFromString(
+				"1  \n" +
+				"   \n");
+
+		GameState next = StateTransition.apply(gameState, ImmutableMap.of(1, Direction.LEFT));
+
+		assertThat(next.getBotLocation(1)).isEqualTo(new Point(2, 0));
+	}
+
+	@Test
+	void apply_onObstacle_shouldKillBot()
+	{
+		GameState gameState = GameStateFactory.createFromString(
+				"1* 2\n");
+
+		GameState next = StateTransition.apply(gameState, ImmutableMap.of(1, Direction.RIGHT, 2, Direction.LEFT));
+
+		assertThat(next.getLiveBotIds()).containsExactlyInAnyOrder(2);
+		assertThat(next.getBotLocation(1)).isNull();
+	}
+
+	@Test
+	void apply_onHeadOnCollision_shouldKillBothBots()
+	{
+		GameState gameState = GameStateFactory.createFromString(
+				"1 2 \n");
+
+		GameState next = StateTransition.apply(gameState, ImmutableMap.of(1, Direction.RIGHT, 2, Direction.LEFT));
+
+		assertThat(next.getLiveBotIds()).isEmpty();
+	}
+
+	@Test
+	void apply_withoutMove_shouldKillBot()
+	{
+		GameState gameState = GameStateFactory.createFromString(
+				"1  2\n");
+
+		GameState next = StateTransition.apply(gameState, ImmutableMap.of(1, Direction.RIGHT));
+
+		assertThat(next.getLiveBotIds()).containsExactlyInAnyOrder(1);
+	}
+}
@@ -0,0 +1,91 @@
+package suitebot.jfr;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import suitebot.BotRequestHandler;
+import suitebot.ai.BotAi;
+import suitebot.game.Direction;
+import suitebot.game.GameState;
+import suitebot.game.GameStateFactory;
+import suitebot.strategies.MonteCarloTreeSearch;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FlightRecorderEventsTest
+{
+	private static final String MOVE_REQUEST = "{\"yourBotId\":1,\"gamePlan\":[\"*1  \",\"   2\"],\"botIds\":[1,2]}";
+
+	@Test
+	void processRequest_shouldRecordMoveRequestEvent() throws Exception
+	{
+		BotRequestHandler requestHandler = new BotRequestHandler(new BotAi()
+		{
+			@Override
+			public Direction makeMove(int botId, GameState gameState)
+			{
+				return Direction.LEFT;
+			}
+
+			@Override
+			public String getName()
+			{
+				return "test";
+			}
+		});
+
+		List<RecordedEvent> events = record("suitebot.MoveRequest", () -> {
+			requestHandler.processRequest(MOVE_REQUEST);
+			requestHandler.processRequest(MOVE_REQUEST);
+		});
+
+		assertThat(events).hasSize(2);
+		RecordedEvent decided = events.get(0);
+		assertThat(decided.getInt("botId")).isEqualTo(1);
+		assertThat(decided.getInt("planWidth")).isEqualTo(4);
+		assertThat(decided.getInt("planHeight")).isEqualTo(2);
+		assertThat(decided.getInt("liveBots")).isEqualTo(2);
+		assertThat(decided.getInt("obstacles")).isEqualTo(1);
+		assertThat(decided.getString("direction")).isEqualTo("LEFT");
+		assertThat(decided.getBoolean("cached")).isFalse();
+		assertThat(events.get(1).getBoolean("cached")).isTrue();
+	}
+
+	@Test
+	void evaluateMoves_shouldRecordStrategyEvent() throws Exception
+	{
+		GameState gameState = GameStateFactory.createFromString("*1  \n   2");
+
+		List<RecordedEvent> events = record("suitebot.Strategy",
+				() -> MonteCarloTreeSearch.evaluateMoves(1, gameState, 5, 10, new Random(1)));
+
+		assertThat(events).hasSize(1);
+		assertThat(events.get(0).getString("strategy")).isEqualTo("MCTS");
+		assertThat(events.get(0).getLong("iterations")).isEqualTo(30);
+	}
+
+	private static List<RecordedEvent> record(String eventName, Runnable action) throws Exception
+	{
+		Path file = Files.createTempFile("suitebot", ".jfr");
+		try (Recording recording = new Recording())
+		{
+			recording.enable(eventName).withThreshold(Duration.ZERO);
+			recording.start();
+			action.run();
+			recording.stop();
+			recording.dump(file);
+			return RecordingFile.readAllEvents(file);
+		}
+		finally
+		{
+			Files.deleteIfExists(file);
+		}
+	}
+}
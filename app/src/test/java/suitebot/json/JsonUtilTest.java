@@ -0,0 +1,39 @@
+package suitebot.json;
+
+import com.google.gson.JsonObject;
+import org.junit.jupiter.api.Test;
+import suitebot.game.GameState;
+import suitebot.game.GameStateFactory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JsonUtilTest
+{
+	@Test
+	void serializeMoveRequest_shouldBeReadBack()
+	{
+		GameState gameState = GameStateFactory.createFromString(
+				"*2 *\n" +
+				"   *\n" +
+				" 1  \n");
+
+		String request = JsonUtil.serializeMoveRequest(2, gameState);
+		GameState deserialized = JsonUtil.deserializeGameState(request);
+
+		assertThat(JsonUtil.deserializeYourBotId(request)).isEqualTo(2);
+		assertThat(JsonUtil.deserializeGameId(request)).isNull();
+		assertThat(GameStateFactory.toPlanRows(deserialized)).isEqualTo(GameStateFactory.toPlanRows(gameState));
+		assertThat(deserialized.getAllBotIds()).containsExactlyInAnyOrder(1, 2);
+	}
+
+	@Test
+	void parseRequest_shouldBeReadWithoutParsingAgain()
+	{
+		JsonObject request = JsonUtil.parseRequest(
+				"{\"yourBotId\": 1, \"gameId\": \"g-7\", \"gamePlan\": [\" 1 \"], \"botIds\": [1]}");
+
+		assertThat(JsonUtil.deserializeYourBotId(request)).isEqualTo(1);
+		assertThat(JsonUtil.deserializeGameId(request)).isEqualTo("g-7");
+		assertThat(JsonUtil.deserializeGameState(request).getAllBotIds()).containsExactly(1);
+	}
+}
@@ -0,0 +1,40 @@
+package suitebot.json;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RequestFingerprintTest
+{
+	private static final String REQUEST = "{\"yourBotId\": 1, \"gamePlan\": [\"*1 \", \"  2\"], \"botIds\": [1, 2]}";
+
+	@Test
+	void of_onSameRequest_shouldReturnSameFingerprint()
+	{
+		assertThat(RequestFingerprint.of(REQUEST)).isEqualTo(RequestFingerprint.of(new String(REQUEST)));
+	}
+
+	@Test
+	void of_shouldIgnoreOtherFields()
+	{
+		String withOtherField = "{\"round\": 7, " + REQUEST.substring(1);
+
+		assertThat(RequestFingerprint.of(withOtherField)).isEqualTo(RequestFingerprint.of(REQUEST));
+	}
+
+	@Test
+	void of_shouldDependOnBotIdPlanAndBotIds()
+	{
+		long fingerprint = RequestFingerprint.of(REQUEST);
+
+		assertThat(RequestFingerprint.of(REQUEST.replace("\"yourBotId\": 1", "\"yourBotId\": 2"))).isNotEqualTo(fingerprint);
+		assertThat(RequestFingerprint.of(REQUEST.replace("\"*1 \"", "\"* 1\""))).isNotEqualTo(fingerprint);
+		assertThat(RequestFingerprint.of(REQUEST.replace("[1, 2]", "[1, 2, 3]"))).isNotEqualTo(fingerprint);
+	}
+
+	@Test
+	void of_onIncompleteRequest_shouldReturnNone()
+	{
+		assertThat(RequestFingerprint.of("{\"yourBotId\": 1}")).isEqualTo(RequestFingerprint.NONE);
+	}
+}
@@ -0,0 +1,87 @@
+package suitebot.log;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.concurrent.CountDownLatch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AsyncLoggerTest
+{
+	@Test
+	void event_shouldBeWrittenWithFields()
+	{
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+		AsyncLogger logger = new AsyncLogger(new PrintStream(output), Level.INFO);
+
+		logger.event(Level.INFO, "move.decided").with("bot", 3).with("direction", "U").log();
+
+		assertThat(logger.flush(1000)).isTrue();
+		assertThat(output.toString()).contains("INFO", "move.decided bot=3 direction=U");
+	}
+
+	@Test
+	void event_belowLevel_shouldNotBeWritten()
+	{
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+		AsyncLogger logger = new AsyncLogger(new PrintStream(output), Level.INFO);
+
+		logger.event(Level.DEBUG, "mcts.scores").with("up", 1).log();
+		logger.setLevel(Level.DEBUG);
+		logger.event(Level.DEBUG, "mcts.scores").with("up", 2).log();
+
+		assertThat(logger.flush(1000)).isTrue();
+		assertThat(output.toString()).doesNotContain("up=1");
+		assertThat(output.toString()).contains("up=2");
+	}
+
+	@Test
+	void event_abandonedByItsThread_shouldNotLeakIntoTheNextEventOfItsSlot()
+	{
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+		AsyncLogger logger = new AsyncLogger(new PrintStream(output), Level.INFO, 2);
+
+		LogEvent late = logger.event(Level.INFO, "late");
+		logger.event(Level.INFO, "first").log();
+		assertThat(logger.flush(5000)).isTrue(); // the writer gives up on the late event
+
+		LogEvent next = logger.event(Level.INFO, "second"); // takes the slot of the late event
+		late.with("stale", 1).log();
+		next.with("bot", 3).log();
+
+		assertThat(logger.flush(5000)).isTrue();
+		assertThat(output.toString()).contains("first", "second bot=3");
+		assertThat(output.toString()).doesNotContain("stale", "late");
+	}
+
+	@Test
+	void event_whenWriterIsStalled_shouldBeDroppedWithoutBlocking() throws Exception
+	{
+		CountDownLatch release = new CountDownLatch(1);
+		OutputStream stalledOutput = new OutputStream()
+		{
+			@Override
+			public void write(int b)
+			{
+				try
+				{
+					release.await();
+				}
+				catch (InterruptedException e)
+				{
+					Thread.currentThread().interrupt();
+				}
+			}
+		};
+		AsyncLogger logger = new AsyncLogger(new PrintStream(stalledOutput), Level.INFO, 4);
+
+		for (int i = 0; i < 100; i++)
+			logger.event(Level.INFO, "move.decided").with("i", i).log();
+
+		assertThat(logger.getDroppedCount()).isGreaterThan(0L);
+		release.countDown();
+	}
+}
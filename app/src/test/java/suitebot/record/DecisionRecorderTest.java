@@ -0,0 +1,135 @@
+package suitebot.record;
+
+import org.junit.jupiter.api.Test;
+import suitebot.stats.Counter;
+import suitebot.stats.Phase;
+import suitebot.stats.SearchStats;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DecisionRecorderTest
+{
+	private static final String REQUEST = "{\"yourBotId\":1,\"gamePlan\":[\"*1  \",\"   2\"],\"botIds\":[1,2]}";
+
+	@Test
+	void record_shouldBeReadBack() throws Exception
+	{
+		Path directory = Files.createTempDirectory("decisions");
+		try
+		{
+			SearchStats stats = SearchStats.begin();
+			stats.count(Counter.ROLLOUTS, 42);
+			stats.time(Phase.MCTS, 3_000_000);
+
+			try (DecisionRecorder recorder = DecisionRecorder.open(directory, 4096))
+			{
+				recorder.record(REQUEST, "L", 5_000_000, stats);
+				recorder.record("garbage", null, 1000, null);
+			}
+
+			List<DecisionRecord> records = readAll(directory);
+			assertThat(records).hasSize(2);
+
+			DecisionRecord first = records.get(0);
+			assertThat(first.request).isEqualTo(REQUEST);
+			assertThat(first.response).isEqualTo("L");
+			assertThat(first.elapsedNanos).isEqualTo(5_000_000);
+			assertThat(first.counts[Counter.ROLLOUTS.ordinal()]).isEqualTo(42);
+			assertThat(first.phaseNanos[Phase.MCTS.ordinal()]).isEqualTo(3_000_000);
+			assertThat(first.toJson().getAsJsonObject("request").get("yourBotId").getAsInt()).isEqualTo(1);
+
+			assertThat(records.get(1).response).isNull();
+			assertThat(records.get(1).toJson().get("request").getAsString()).isEqualTo("garbage");
+		}
+		finally
+		{
+			delete(directory);
+		}
+	}
+
+	@Test
+	void record_fromSeveralThreads_shouldRollOverSegmentsWithoutLosingRecords() throws Exception
+	{
+		Path directory = Files.createTempDirectory("decisions");
+		try
+		{
+			int threadCount = 4;
+			int recordsPerThread = 500;
+			List<Thread> threads = new ArrayList<>();
+
+			try (DecisionRecorder recorder = DecisionRecorder.open(directory, 8192))
+			{
+				for (int t = 0; t < threadCount; t++)
+				{
+					String response = "T" + t;
+					threads.add(new Thread(() -> {
+						for (int i = 0; i < recordsPerThread; i++)
+							recorder.record(REQUEST, response, i, null);
+					}));
+				}
+				threads.forEach(Thread::start);
+				for (Thread thread : threads)
+					thread.join();
+
+				assertThat(recorder.getDroppedCount()).isZero();
+			}
+
+			assertThat(DecisionLogReader.segments(directory).size()).isGreaterThan(1);
+			assertThat(readAll(directory)).hasSize(threadCount * recordsPerThread);
+		}
+		finally
+		{
+			delete(directory);
+		}
+	}
+
+	@Test
+	void open_shouldAppendAfterExistingSegments() throws Exception
+	{
+		Path directory = Files.createTempDirectory("decisions");
+		try
+		{
+			try (DecisionRecorder recorder = DecisionRecorder.open(directory, 4096))
+			{
+				recorder.record(REQUEST, "U", 1, null);
+			}
+			try (DecisionRecorder recorder = DecisionRecorder.open(directory, 4096))
+			{
+				recorder.record(REQUEST, "D", 1, null);
+			}
+
+			List<DecisionRecord> records = readAll(directory);
+			assertThat(records).hasSize(2);
+			assertThat(records.get(0).response).isEqualTo("U");
+			assertThat(records.get(1).response).isEqualTo("D");
+		}
+		finally
+		{
+			delete(directory);
+		}
+	}
+
+	private static List<DecisionRecord> readAll(Path directory) throws Exception
+	{
+		List<DecisionRecord> records = new ArrayList<>();
+		for (Path segment : DecisionLogReader.segments(directory))
+			records.addAll(DecisionLogReader.read(segment));
+		return records;
+	}
+
+	private static void delete(Path directory) throws Exception
+	{
+		try (Stream<Path> files = Files.walk(directory))
+		{
+			for (Path file : (Iterable<Path>) files.sorted(Comparator.reverseOrder())::iterator)
+				Files.delete(file);
+		}
+	}
+}
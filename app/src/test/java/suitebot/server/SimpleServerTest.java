@@ -60,6 +60,30 @@ class SimpleServerTest
 		assertThat(requestServerResponse("NextREQUEST")).isEqualTo("nextrequest");
 	}
 
+	@Test
+	void testKeepAliveConnectionServesSeveralRequests() throws Exception
+	{
+		Thread keepAliveServerThread = new Thread(new SimpleServer(PORT + 1, new ToLowerCaseConverter(), 2, true));
+		keepAliveServerThread.start();
+		Thread.sleep(100);
+
+		try (
+				Socket socket = new Socket("localhost", PORT + 1);
+				PrintWriter outputWriter = new PrintWriter(socket.getOutputStream(), true);
+				BufferedReader inputReader = new BufferedReader(new InputStreamReader(socket.getInputStream()))
+		)
+		{
+			outputWriter.println("FooBar");
+			assertThat(inputReader.readLine()).isEqualTo("foobar");
+			outputWriter.println("NextREQUEST");
+			assertThat(inputReader.readLine()).isEqualTo("nextrequest");
+			outputWriter.println(SimpleServer.SHUTDOWN_REQUEST);
+		}
+
+		keepAliveServerThread.join(1000);
+		assertFalse(keepAliveServerThread.isAlive());
+	}
+
 	private void startServer() throws InterruptedException
 	{
 		serverThread = new Thread(new SimpleServer(PORT, new ToLowerCaseConverter()));
@@ -0,0 +1,109 @@
+package suitebot.session;
+
+import org.junit.jupiter.api.Test;
+import suitebot.game.GameState;
+import suitebot.game.GameStateFactory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SessionRegistryTest
+{
+	private static final GameState TURN_1 = GameStateFactory.createFromString(
+			"*****\n" +
+			"*1  *\n" +
+			"*   *\n" +
+			"*  2*\n" +
+			"*****");
+
+	private static final GameState TURN_2 = GameStateFactory.createFromString(
+			"*****\n" +
+			"** 1*\n" +
+			"*   *\n" +
+			"* 2**\n" +
+			"*****");
+
+	private static final GameState OTHER_BOARD = GameStateFactory.createFromString(
+			"*******\n" +
+			"*1   2*\n" +
+			"*******");
+
+	@Test
+	void sessionFor_onConsecutiveTurns_shouldKeepSession()
+	{
+		SessionRegistry registry = new SessionRegistry();
+
+		GameSession first = registry.sessionFor(1, TURN_1, null);
+		GameSession second = registry.sessionFor(1, TURN_2, null);
+
+		assertThat(second).isSameAs(first);
+		assertThat(second.getTurn()).isEqualTo(2);
+		assertThat(second.getPreviousState()).isSameAs(TURN_1);
+		assertThat(second.getCurrentState()).isSameAs(TURN_2);
+	}
+
+	@Test
+	void sessionFor_onDifferentBots_shouldNotShareSession()
+	{
+		SessionRegistry registry = new SessionRegistry();
+
+		assertThat(registry.sessionFor(1, TURN_1, null)).isNotSameAs(registry.sessionFor(2, TURN_1, null));
+		assertThat(registry.size()).isEqualTo(2);
+	}
+
+	@Test
+	void sessionFor_whenObstaclesDisappear_shouldStartNewSession()
+	{
+		SessionRegistry registry = new SessionRegistry();
+
+		GameSession oldGame = registry.sessionFor(1, TURN_2, null);
+		GameSession newGame = registry.sessionFor(1, TURN_1, null);
+
+		assertThat(newGame).isNotSameAs(oldGame);
+		assertThat(newGame.getTurn()).isEqualTo(1);
+	}
+
+	@Test
+	void sessionFor_withExplicitGameId_shouldSeparateGamesOnSameBoard()
+	{
+		SessionRegistry registry = new SessionRegistry();
+
+		assertThat(registry.sessionFor(1, TURN_1, "game-a")).isNotSameAs(registry.sessionFor(1, TURN_1, "game-b"));
+	}
+
+	@Test
+	void sessionFor_overMaxSessions_shouldEvictLeastRecentlyUsed()
+	{
+		SessionRegistry registry = new SessionRegistry(2, Long.MAX_VALUE);
+
+		GameSession first = registry.sessionFor(1, TURN_1, null);
+		registry.sessionFor(1, OTHER_BOARD, null);
+		registry.sessionFor(1, TURN_2, null);
+		registry.sessionFor(2, TURN_1, null);
+
+		assertThat(registry.size()).isEqualTo(2);
+		assertThat(registry.sessionFor(1, TURN_2, null)).isSameAs(first);
+	}
+
+	@Test
+	void sessionFor_overMemoryCap_shouldKeepOnlyCurrentSession()
+	{
+		SessionRegistry registry = new SessionRegistry(10, 1);
+
+		registry.sessionFor(1, TURN_1, null);
+		GameSession current = registry.sessionFor(1, OTHER_BOARD, null);
+
+		assertThat(registry.size()).isEqualTo(1);
+		assertThat(registry.sessionFor(1, OTHER_BOARD, null)).isSameAs(current);
+	}
+
+	@Test
+	void getComponent_shouldCreateComponentOnce()
+	{
+		GameSession session = new SessionRegistry().sessionFor(1, TURN_1, null);
+
+		StringBuilder component = session.getComponent(StringBuilder.class, StringBuilder::new);
+
+		assertThat(session.getComponent(StringBuilder.class, StringBuilder::new)).isSameAs(component);
+		assertThat(session.findComponent(StringBuilder.class)).isSameAs(component);
+	}
+}
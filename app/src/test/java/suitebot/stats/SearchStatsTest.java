@@ -0,0 +1,57 @@
+package suitebot.stats;
+
+import org.junit.jupiter.api.Test;
+import suitebot.game.GameState;
+import suitebot.game.GameStateFactory;
+import suitebot.strategies.MonteCarloTreeSearch;
+
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SearchStatsTest
+{
+	private static final GameState GAME_STATE = GameStateFactory.createFromString(
+			"*****\n" +
+			"*1  *\n" +
+			"*   *\n" +
+			"*  2*\n" +
+			"*****");
+
+	@Test
+	void evaluateMoves_shouldCountRollouts()
+	{
+		SearchStats stats = SearchStats.begin();
+
+		MonteCarloTreeSearch.evaluateMoves(1, GAME_STATE, 10, 5, new Random(1));
+
+		// two of the four directions are free
+		assertThat(stats.get(Counter.ROLLOUTS)).isEqualTo(10);
+		assertThat(stats.averageRolloutLength()).isBetween(1.0, 8.0);
+		assertThat(stats.getNanos(Phase.MCTS)).isPositive();
+	}
+
+	@Test
+	void finish_shouldAddRecordToTotalsOnce()
+	{
+		long movesBefore = SearchStats.totals().get(Counter.MOVES);
+		SearchStats stats = SearchStats.begin();
+		stats.count(Counter.MOVES, 1);
+		stats.time(Phase.ADJUSTMENT, 1000);
+
+		stats.finish();
+		stats.finish();
+
+		assertThat(SearchStats.totals().get(Counter.MOVES)).isEqualTo(movesBefore + 1);
+		assertThat(stats.get(Counter.MOVES)).isEqualTo(1);
+		assertThat(stats.getNanos(Phase.ADJUSTMENT)).isEqualTo(1000);
+	}
+
+	@Test
+	void begin_shouldDiscardUnfinishedCounts()
+	{
+		SearchStats.current().count(Counter.CELLS_VISITED, 42);
+
+		assertThat(SearchStats.begin().get(Counter.CELLS_VISITED)).isZero();
+	}
+}
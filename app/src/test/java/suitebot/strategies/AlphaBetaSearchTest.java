@@ -0,0 +1,85 @@
+package suitebot.strategies;
+
+import org.junit.jupiter.api.Test;
+import suitebot.game.Direction;
+import suitebot.game.GameState;
+import suitebot.game.GameStateFactory;
+import suitebot.stats.Counter;
+import suitebot.stats.SearchStats;
+
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AlphaBetaSearchTest {
+
+    @Test
+    void testFindsWinByLeavingOpponentTheSmallerPart() {
+        GameState gameState = GameStateFactory.createFromString(
+                "**********\n" +
+                "*2  1    *\n" +
+                "**********");
+
+        Map<Direction, Integer> moveScores = AlphaBetaSearch.evaluateMoves(1, gameState, BoardGraph.of(gameState), 10, 8, () -> false);
+
+        assertEquals(2 * 10, moveScores.get(Direction.RIGHT));
+        assertEquals(10, moveScores.get(Direction.LEFT)); // both bots crash into each other's trail on the next turn
+        assertEquals(0, moveScores.get(Direction.UP));
+        assertEquals(0, moveScores.get(Direction.DOWN));
+    }
+
+    @Test
+    void testPrefersHeadOnCollisionToCertainLoss() {
+        GameState gameState = GameStateFactory.createFromString(
+                "*********\n" +
+                "*2      *\n" +
+                "**1******\n" +
+                "** ******\n" +
+                "** ******\n" +
+                "*********");
+
+        Map<Direction, Integer> moveScores = AlphaBetaSearch.evaluateMoves(1, gameState, BoardGraph.of(gameState), 10, 8, () -> false);
+
+        assertEquals(10, moveScores.get(Direction.UP));
+        assertEquals(1, moveScores.get(Direction.DOWN));
+    }
+
+    @Test
+    void testScoresTerritoryInOpenDuel() {
+        GameState gameState = GameStateFactory.createFromString(
+                "************\n" +
+                "*          *\n" +
+                "*  1       *\n" +
+                "*          *\n" +
+                "*       2  *\n" +
+                "*          *\n" +
+                "************");
+        SearchStats stats = SearchStats.begin();
+
+        Map<Direction, Integer> moveScores = AlphaBetaSearch.evaluateMoves(1, gameState, BoardGraph.of(gameState), 25, 6, () -> false);
+
+        assertTrue(moveScores.get(Direction.RIGHT) > moveScores.get(Direction.LEFT));
+        assertTrue(moveScores.get(Direction.DOWN) > moveScores.get(Direction.UP));
+        assertTrue(stats.get(Counter.SEARCHED_POSITIONS) > 0);
+    }
+
+    @Test
+    void testStoppedSearchThrows() {
+        GameState gameState = GameStateFactory.createFromString(
+                "******\n" +
+                "*1  2*\n" +
+                "******");
+
+        assertThrows(CancellationException.class,
+                () -> AlphaBetaSearch.evaluateMoves(1, gameState, BoardGraph.of(gameState), 10, 8, () -> true));
+    }
+
+    @Test
+    void testRejectsGameWithoutSingleOpponent() {
+        GameState gameState = GameStateFactory.createFromString("*1  *");
+
+        assertThrows(IllegalArgumentException.class,
+                () -> AlphaBetaSearch.evaluateMoves(1, gameState, BoardGraph.of(gameState), 10, 8, () -> false));
+    }
+}
@@ -0,0 +1,276 @@
+package suitebot.strategies;
+
+import org.junit.jupiter.api.Test;
+import suitebot.game.Direction;
+import suitebot.game.GameState;
+import suitebot.game.GameStateFactory;
+import suitebot.game.GameStateGenerator;
+import suitebot.game.Point;
+import suitebot.game.StateTransition;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BoardGraphTest {
+
+    private static final GameState CORRIDOR = GameStateFactory.createFromString(
+            "*******\n" +
+            "*1    *\n" +
+            "*******");
+
+    @Test
+    void testCorridorIsCollapsedIntoOneEdge() {
+        BoardGraph graph = BoardGraph.of(CORRIDOR);
+
+        assertEquals(2, graph.getJunctionCount());
+        assertEquals(1, graph.getEdgeCount());
+        assertEquals(3, graph.getCorridorCellCount());
+    }
+
+    @Test
+    void testRolloutWalksCorridorToItsEnd() {
+        BoardGraph graph = BoardGraph.of(CORRIDOR);
+        BoardGraph.Walker walker = graph.newWalker();
+        int start = graph.cellOf(new Point(1, 1));
+
+        assertEquals(5, walker.rollout(start, 10, new Random(1)));
+        assertEquals(3, walker.rollout(start, 2, new Random(1)));
+        assertEquals(4, walker.farthestDistance(start, 10));
+    }
+
+    @Test
+    void testTruncatedRolloutAddsReachableSpace() {
+        GameState gameState = GameStateFactory.createFromString(
+                "**********\n" +
+                "*1       *\n" +
+                "**********");
+        BoardGraph graph = BoardGraph.of(gameState);
+        BoardGraph.Walker walker = graph.newWalker();
+        int start = graph.cellOf(new Point(1, 1));
+
+        assertEquals(8, walker.rollout(start, 20, 0, new Random(1)));
+        assertEquals(0, walker.getWalkedSteps());
+        assertEquals(6, walker.rollout(start, 5, 0, new Random(1)));
+        assertEquals(8, walker.rollout(start, 20, 3, new Random(1)));
+        assertEquals(7, walker.getWalkedSteps());
+    }
+
+    @Test
+    void testSpaceCountsRegionOfStartCell() {
+        GameState gameState = GameStateFactory.createFromString(
+                "*******\n" +
+                "*1 * 2*\n" +
+                "*******");
+        BoardGraph graph = BoardGraph.of(gameState);
+        BoardGraph.Walker walker = graph.newWalker();
+
+        assertEquals(2, walker.space(graph.cellOf(new Point(2, 1)), 10));
+        assertTrue(walker.isInLastSpace(graph.cellOf(new Point(1, 1))));
+        assertFalse(walker.isInLastSpace(graph.cellOf(new Point(5, 1))));
+        assertEquals(1, walker.space(graph.cellOf(new Point(2, 1)), 1));
+    }
+
+    @Test
+    void testRolloutFromInsideRingWalksAroundIt() {
+        GameState gameState = GameStateFactory.createFromString(
+                "*****\n" +
+                "*   *\n" +
+                "* * *\n" +
+                "*   *\n" +
+                "*****");
+        BoardGraph graph = BoardGraph.of(gameState);
+        int start = graph.cellOf(new Point(1, 1));
+
+        assertEquals(0, graph.getJunctionCount());
+        assertEquals(8, graph.newWalker().rollout(start, 20, new Random(1)));
+        assertEquals(4, graph.newWalker().farthestDistance(start, 20));
+    }
+
+    @Test
+    void testFarthestDistanceMatchesBreadthFirstSearch() {
+        GameState gameState = GameStateGenerator.generate(25, 20, 4, 0.35, 11);
+        BoardGraph graph = BoardGraph.of(gameState);
+        BoardGraph.Walker walker = graph.newWalker();
+
+        for (int cell = 0; cell < 25 * 20; cell++) {
+            if (!graph.isFree(cell)) continue;
+            assertEquals(farthestByBreadthFirstSearch(gameState, cell, 30), walker.farthestDistance(cell, 30), "cell " + cell);
+        }
+    }
+
+    @Test
+    void testRolloutStaysInsideReachableRegion() {
+        GameState gameState = GameStateGenerator.generate(25, 20, 4, 0.35, 5);
+        BoardGraph graph = BoardGraph.of(gameState);
+        BoardGraph.Walker walker = graph.newWalker();
+        Random random = new Random(3);
+
+        for (int cell = 0; cell < 25 * 20; cell++) {
+            if (!graph.isFree(cell)) continue;
+            int region = regionSize(gameState, cell);
+            for (int i = 0; i < 20; i++) {
+                int score = walker.rollout(cell, 40, random);
+                assertTrue(score >= 1 && score <= Math.min(region, 41), "cell " + cell + " scored " + score);
+            }
+        }
+    }
+
+    @Test
+    void testBatchedRolloutsWalkCorridorToItsEnd() {
+        BoardGraph graph = BoardGraph.of(CORRIDOR);
+        BoardGraph.RolloutBatch batch = graph.newRolloutBatch();
+        int start = graph.cellOf(new Point(1, 1));
+        int[] scores = new int[BoardGraph.RolloutBatch.LANES];
+
+        assertEquals(4 * BoardGraph.RolloutBatch.LANES, batch.rollout(start, 10, BoardGraph.RolloutBatch.LANES, new Random(1), scores));
+        assertTrue(Arrays.stream(scores).allMatch(score -> score == 5));
+        assertEquals(2 * 3, batch.rollout(start, 2, 3, new Random(1), scores));
+        assertEquals(List.of(3, 3, 3), Arrays.stream(scores, 0, 3).boxed().toList());
+        assertEquals(2 * 3, batch.rollout(start, 10, 2, 3, new Random(1), scores));
+        assertEquals(List.of(5, 5, 5), Arrays.stream(scores, 0, 3).boxed().toList());
+    }
+
+    @Test
+    void testBatchedRolloutsMatchScalarOnes() {
+        GameState gameState = GameStateGenerator.generate(25, 20, 4, 0.2, 5);
+        BoardGraph graph = BoardGraph.of(gameState);
+        BoardGraph.Walker walker = graph.newWalker();
+        BoardGraph.RolloutBatch batch = graph.newRolloutBatch();
+        Random random = new Random(3);
+        int[] scores = new int[BoardGraph.RolloutBatch.LANES];
+
+        for (int cell = 0; cell < 25 * 20; cell += 3) {
+            if (!graph.isFree(cell)) continue;
+            int region = regionSize(gameState, cell);
+            double scalarTotal = 0;
+            double batchedTotal = 0;
+            for (int i = 0; i < 64; i++) {
+                batch.rollout(cell, 40, BoardGraph.RolloutBatch.LANES, random, scores);
+                for (int lane = 0; lane < BoardGraph.RolloutBatch.LANES; lane++) {
+                    assertTrue(scores[lane] >= 1 && scores[lane] <= Math.min(region, 41), "cell " + cell + " scored " + scores[lane]);
+                    batchedTotal += scores[lane];
+                    scalarTotal += walker.rollout(cell, 40, random);
+                }
+            }
+            double rollouts = 64.0 * BoardGraph.RolloutBatch.LANES;
+            assertEquals(scalarTotal / rollouts, batchedTotal / rollouts, 1.0, "cell " + cell);
+        }
+    }
+
+    @Test
+    void testTruncatedBatchedRolloutsMatchScalarOnes() {
+        GameState gameState = GameStateGenerator.generate(25, 20, 4, 0.2, 5);
+        BoardGraph graph = BoardGraph.of(gameState);
+        BoardGraph.Walker walker = graph.newWalker();
+        BoardGraph.RolloutBatch batch = graph.newRolloutBatch();
+        Random random = new Random(4);
+        int[] scores = new int[BoardGraph.RolloutBatch.LANES];
+
+        for (int cell = 0; cell < 25 * 20; cell += 3) {
+            if (!graph.isFree(cell)) continue;
+            int region = regionSize(gameState, cell);
+            double scalarTotal = 0;
+            double batchedTotal = 0;
+            for (int i = 0; i < 64; i++) {
+                long steps = batch.rollout(cell, 40, 8, BoardGraph.RolloutBatch.LANES, random, scores);
+                assertTrue(steps <= 8L * BoardGraph.RolloutBatch.LANES, "cell " + cell + " walked " + steps);
+                for (int lane = 0; lane < BoardGraph.RolloutBatch.LANES; lane++) {
+                    assertTrue(scores[lane] >= 1 && scores[lane] <= Math.min(region, 41), "cell " + cell + " scored " + scores[lane]);
+                    batchedTotal += scores[lane];
+                    scalarTotal += walker.rollout(cell, 40, 8, random);
+                }
+            }
+            double rollouts = 64.0 * BoardGraph.RolloutBatch.LANES;
+            assertEquals(scalarTotal / rollouts, batchedTotal / rollouts, 1.0, "cell " + cell);
+        }
+    }
+
+    @Test
+    void testAdvancedGraphMatchesRebuiltOne() {
+        GameState gameState = GameStateGenerator.generate(20, 20, 4, 0.2, 7);
+        BoardGraph graph = BoardGraph.of(gameState);
+        Random random = new Random(9);
+
+        for (int turn = 0; turn < 40 && !gameState.getLiveBotIds().isEmpty(); turn++) {
+            gameState = StateTransition.apply(gameState, randomMoves(gameState, random));
+            assertTrue(graph.advance(gameState));
+
+            BoardGraph rebuilt = BoardGraph.of(gameState);
+            assertEquals(rebuilt.getJunctionCount(), graph.getJunctionCount(), "turn " + turn);
+            assertEquals(rebuilt.getEdgeCount(), graph.getEdgeCount(), "turn " + turn);
+            assertEquals(rebuilt.getCorridorCellCount(), graph.getCorridorCellCount(), "turn " + turn);
+
+            BoardGraph.Walker advancedWalker = graph.newWalker();
+            BoardGraph.Walker rebuiltWalker = rebuilt.newWalker();
+            for (int cell = 0; cell < 20 * 20; cell += 7) {
+                assertEquals(rebuiltWalker.farthestDistance(cell, 50), advancedWalker.farthestDistance(cell, 50));
+                assertEquals(rebuiltWalker.rollout(cell, 50, new Random(cell)), advancedWalker.rollout(cell, 50, new Random(cell)));
+            }
+        }
+    }
+
+    @Test
+    void testAdvanceToUnrelatedStateFails() {
+        BoardGraph graph = BoardGraph.of(CORRIDOR);
+
+        assertFalse(graph.advance(GameStateFactory.createFromString(" 1     \n       \n       ")));
+        assertFalse(BoardGraph.of(CORRIDOR).advance(GameStateFactory.createFromString("*1 \n***")));
+    }
+
+    @Test
+    void testCopyIsNotChangedByAdvance() {
+        BoardGraph graph = BoardGraph.of(CORRIDOR);
+        BoardGraph copy = graph.copy();
+
+        graph.advance(GameStateFactory.createFromString(
+                "*******\n" +
+                "**1   *\n" +
+                "*******"));
+
+        assertEquals(2, graph.getCorridorCellCount());
+        assertEquals(3, copy.getCorridorCellCount());
+    }
+
+    private static Map<Integer, Direction> randomMoves(GameState gameState, Random random) {
+        Map<Integer, Direction> moves = new HashMap<>();
+        for (int botId : gameState.getLiveBotIds()) {
+            Point head = gameState.getBotLocation(botId);
+            List<Direction> free = new ArrayList<>();
+            for (Direction direction : Direction.values()) {
+                Point next = StateTransition.wrap(direction.from(head), gameState.getPlanWidth(), gameState.getPlanHeight());
+                if (!gameState.getObstacleLocations().contains(next)) free.add(direction);
+            }
+            moves.put(botId, free.isEmpty() ? Direction.UP : free.get(random.nextInt(free.size())));
+        }
+        return moves;
+    }
+
+    private static int farthestByBreadthFirstSearch(GameState gameState, int start, int limit) {
+        Map<Point, Integer> distances = breadthFirstSearch(gameState, start);
+        return Math.min(Collections.max(distances.values()), limit);
+    }
+
+    private static int regionSize(GameState gameState, int start) {
+        return breadthFirstSearch(gameState, start).size();
+    }
+
+    private static Map<Point, Integer> breadthFirstSearch(GameState gameState, int start) {
+        int width = gameState.getPlanWidth();
+        int height = gameState.getPlanHeight();
+        Point startPoint = new Point(start % width, start / width);
+        Map<Point, Integer> distances = new HashMap<>();
+        Deque<Point> queue = new ArrayDeque<>();
+        distances.put(startPoint, 0);
+        queue.add(startPoint);
+        while (!queue.isEmpty()) {
+            Point current = queue.poll();
+            for (Direction direction : Direction.values()) {
+                Point next = StateTransition.wrap(direction.from(current), width, height);
+                if (gameState.getObstacleLocations().contains(next)) continue;
+                if (distances.putIfAbsent(next, distances.get(current) + 1) == null) queue.add(next);
+            }
+        }
+        return distances;
+    }
+}
@@ -0,0 +1,98 @@
+package suitebot.strategies;
+
+import org.junit.jupiter.api.Test;
+import suitebot.game.Direction;
+import suitebot.game.GameState;
+import suitebot.game.GameStateFactory;
+import suitebot.game.StateTransition;
+import suitebot.stats.Counter;
+import suitebot.stats.SearchStats;
+
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CancellationException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DecoupledUctTest {
+
+    // Bot 2 can only move onto the cell above bot 1; the open row behind it is a trap for bot 1
+    private static final GameState FORCED_OPPONENT = GameStateFactory.createFromString(
+            "*********\n" +
+            "*2      *\n" +
+            "**1******\n" +
+            "** ******\n" +
+            "** ******\n" +
+            "*********");
+
+    @Test
+    void testAvoidsCellTheOpponentIsForcedOnto() {
+        Map<Direction, Integer> moveScores = DecoupledUct.evaluateMoves(
+                1, FORCED_OPPONENT, BoardGraph.of(FORCED_OPPONENT), 10, 500, new Random(1), () -> false);
+
+        assertEquals(10, moveScores.get(Direction.UP));
+        assertEquals(10 + 2, moveScores.get(Direction.DOWN));
+        assertEquals(0, moveScores.get(Direction.LEFT));
+        assertEquals(0, moveScores.get(Direction.RIGHT));
+    }
+
+    @Test
+    void testCountsSimulationsAndTreeNodes() {
+        SearchStats stats = SearchStats.begin();
+
+        DecoupledUct.evaluateMoves(1, FORCED_OPPONENT, BoardGraph.of(FORCED_OPPONENT), 10, 300, new Random(1), () -> false);
+
+        assertEquals(300, stats.get(Counter.DUCT_ROLLOUTS));
+        assertEquals(0, stats.get(Counter.ROLLOUTS));
+        assertTrue(stats.get(Counter.TREE_NODES) > 0);
+    }
+
+    @Test
+    void testScoresMoveIntoOpenSpaceHigherThanDeadEnd() {
+        GameState gameState = GameStateFactory.createFromString(
+                "********\n" +
+                "*      *\n" +
+                "*      *\n" +
+                "* 1    *\n" +
+                "** *****\n" +
+                "********");
+
+        Map<Direction, Integer> moveScores = DecoupledUct.evaluateMoves(
+                1, gameState, BoardGraph.of(gameState), 8, 300, new Random(1), () -> false);
+
+        assertEquals(8 + 1, moveScores.get(Direction.DOWN));
+        assertTrue(moveScores.get(Direction.UP) > moveScores.get(Direction.DOWN));
+    }
+
+    @Test
+    void testSearchOfNextPositionGoesOnWithSubtreeOfPlayedMoves() {
+        GameState gameState = GameStateFactory.createFromString(
+                "**********\n" +
+                "*        *\n" +
+                "* 1      *\n" +
+                "*        *\n" +
+                "*      2 *\n" +
+                "*        *\n" +
+                "**********");
+        NodeArena tree = new NodeArena(1 << 22);
+        DecoupledUct.evaluateMoves(1, gameState, BoardGraph.of(gameState), 10, 2000, new Random(1), () -> false, tree);
+
+        GameState next = StateTransition.apply(gameState, Map.of(1, Direction.RIGHT, 2, Direction.LEFT));
+        DecoupledUct.evaluateMoves(1, next, BoardGraph.of(next), 10, 0, new Random(1), () -> false, tree);
+
+        assertTrue(tree.size() > 1);
+        assertTrue(tree.getVisits(NodeArena.ROOT) > 0);
+
+        // two turns on, the position is no successor of the one in the tree any more
+        GameState skipped = StateTransition.apply(StateTransition.apply(next, Map.of(1, Direction.RIGHT, 2, Direction.LEFT)),
+                Map.of(1, Direction.DOWN, 2, Direction.UP));
+        DecoupledUct.evaluateMoves(1, skipped, BoardGraph.of(skipped), 10, 0, new Random(1), () -> false, tree);
+        assertEquals(1, tree.size());
+    }
+
+    @Test
+    void testCancelledSearchThrows() {
+        assertThrows(CancellationException.class, () -> DecoupledUct.evaluateMoves(
+                1, FORCED_OPPONENT, BoardGraph.of(FORCED_OPPONENT), 10, 300, new Random(1), () -> true));
+    }
+}
@@ -5,8 +5,11 @@ import suitebot.game.Direction;
 import suitebot.game.GameState;
 import suitebot.game.GameStateFactory;
 import suitebot.game.Point;
+import suitebot.stats.Counter;
+import suitebot.stats.SearchStats;
 
 import java.util.Map;
+import java.util.Random;
 import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -361,4 +364,85 @@ class MonteCarloTreeSearchTest {
 
         return bestDirection;
     }
-}
\ No newline at end of file
+
+    @Test
+    void testTruncatedSearchScoresSealedRegionWithoutSimulations() {
+        GameState gameState = GameStateFactory.createFromString(
+                "********\n" +
+                "*1  *2 *\n" +
+                "********");
+        SearchStats stats = SearchStats.begin();
+
+        Map<Direction, Integer> moveScores = MonteCarloTreeSearch.evaluateMoves(
+                1, gameState, BoardGraph.of(gameState), 10, 2, 50, new Random(1), () -> false);
+
+        assertEquals(10 + 2, moveScores.get(Direction.RIGHT));
+        assertEquals(0, stats.get(Counter.ROLLOUTS));
+    }
+
+    @Test
+    void testSealedRegionsEndAtOurHead() {
+        GameState gameState = GameStateFactory.createFromString(
+                "*********\n" +
+                "*****    \n" +
+                "*   *    \n" +
+                "*   1    \n" +
+                "*   *    \n" +
+                "*****    \n" +
+                "*****    \n" +
+                "*********\n" +
+                "*  2    *\n" +
+                "*********");
+
+        Map<Direction, Integer> moveScores = MonteCarloTreeSearch.evaluateMoves(
+                1, gameState, BoardGraph.of(gameState), 40, 16, 50, new Random(1), () -> false);
+
+        assertEquals(40 + 9, moveScores.get(Direction.LEFT));
+        assertEquals(40 + 24, moveScores.get(Direction.RIGHT));
+    }
+
+    @Test
+    void testTruncatedSearchSimulatesSharedRegion() {
+        GameState gameState = GameStateFactory.createFromString(
+                "********\n" +
+                "*1   2 *\n" +
+                "********");
+        SearchStats stats = SearchStats.begin();
+
+        MonteCarloTreeSearch.evaluateMoves(1, gameState, BoardGraph.of(gameState), 10, 2, 50, new Random(1), () -> false);
+
+        assertEquals(50, stats.get(Counter.ROLLOUTS));
+    }
+
+    @Test
+    void testSimulationsAreSharedWithoutChangingTheirTotal() {
+        GameState gameState = GameStateFactory.createFromString(
+                "*******\n" +
+                "** ****\n" +
+                "* 1   *\n" +
+                "*******");
+        SearchStats stats = SearchStats.begin();
+
+        Map<Direction, Integer> moveScores = MonteCarloTreeSearch.evaluateMoves(1, gameState, 10, 100, new Random(1));
+
+        assertEquals(3 * 100, stats.get(Counter.ROLLOUTS));
+        assertEquals(0, moveScores.get(Direction.DOWN));
+        assertTrue(moveScores.get(Direction.RIGHT) > 10);
+    }
+
+    @Test
+    void testHeadOnMoveIsNotSimulatedNextToSaferMove() {
+        GameState gameState = GameStateFactory.createFromString(
+                "*******\n" +
+                "*1 2  *\n" +
+                "*     *\n" +
+                "*******");
+        SearchStats stats = SearchStats.begin();
+
+        Map<Direction, Integer> moveScores = MonteCarloTreeSearch.evaluateMoves(1, gameState, 10, 100, new Random(1));
+
+        assertEquals(1, moveScores.get(Direction.RIGHT));
+        assertTrue(moveScores.get(Direction.DOWN) > 10);
+        assertEquals(100, stats.get(Counter.ROLLOUTS));
+    }
+}
@@ -0,0 +1,58 @@
+package suitebot.strategies;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NodeArenaTest {
+
+    @Test
+    void testRerootKeepsSubtreeWithItsStatistics() {
+        NodeArena arena = new NodeArena(1 << 20);
+        arena.reset(2);
+        int a = arena.addChild(NodeArena.ROOT, 1);
+        int b = arena.addChild(NodeArena.ROOT, 2);
+        int aa = arena.addChild(a, 3);
+        int ba = arena.addChild(b, 4);
+        int aaa = arena.addChild(aa, 5);
+        arena.addVisit(a);
+        arena.addMoveReward(aa, 1, 2, 0.5);
+        arena.addMoveReward(ba, 0, 0, 1);
+
+        arena.reroot(a);
+
+        assertEquals(3, arena.size());
+        assertEquals(1, arena.getVisits(NodeArena.ROOT));
+        int newAa = arena.child(NodeArena.ROOT, 3);
+        assertNotEquals(NodeArena.NONE, newAa);
+        assertEquals(1, arena.getMoveVisits(newAa, 1, 2));
+        assertEquals(0.5, arena.getMoveRewards(newAa, 1, 2), 1e-6);
+        assertNotEquals(NodeArena.NONE, arena.child(newAa, 5));
+        assertEquals(NodeArena.NONE, arena.child(NodeArena.ROOT, 4));
+        assertTrue(aaa > newAa);
+    }
+
+    @Test
+    void testFullArenaAddsNoMoreNodes() {
+        NodeArena arena = new NodeArena(3 * NodeArena.bytesPerNode(2));
+        arena.reset(2);
+
+        assertNotEquals(NodeArena.NONE, arena.addChild(NodeArena.ROOT, 1));
+        assertNotEquals(NodeArena.NONE, arena.addChild(NodeArena.ROOT, 2));
+        assertEquals(NodeArena.NONE, arena.addChild(NodeArena.ROOT, 3));
+        assertEquals(3, arena.getCapacity());
+    }
+
+    @Test
+    void testResetForOtherBotCountClearsStatistics() {
+        NodeArena arena = new NodeArena(1 << 20);
+        arena.reset(2);
+        arena.addMoveReward(NodeArena.ROOT, 1, 3, 1);
+
+        arena.reset(3);
+
+        assertEquals(1, arena.size());
+        assertEquals(0, arena.getMoveVisits(NodeArena.ROOT, 1, 3));
+        assertEquals(0, arena.getMoveVisits(NodeArena.ROOT, 2, 3));
+    }
+}
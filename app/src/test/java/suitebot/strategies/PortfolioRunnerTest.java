@@ -0,0 +1,106 @@
+package suitebot.strategies;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import suitebot.game.Direction;
+import suitebot.game.GameState;
+import suitebot.game.GameStateFactory;
+import suitebot.game.GameStateGenerator;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PortfolioRunnerTest {
+
+    private static final GameState GAME_STATE = GameStateFactory.createFromString("*1  \n   2");
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(2);
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void testScoresAreCombinedWithWeights() {
+        Map<Direction, Integer> scores = new PortfolioRunner(executor)
+                .add(fixed("a", 10), 1)
+                .add(fixed("b", 4), 0.5)
+                .evaluate(TurnContext.of(1, GAME_STATE), TimeBudget.ofNanos(TimeUnit.SECONDS.toNanos(10)));
+
+        assertEquals(12, scores.get(Direction.UP));
+        assertEquals(4, scores.size());
+    }
+
+    @Test
+    void testEvaluatorMissingDeadlineIsLeftOut() {
+        MoveEvaluator slow = new MoveEvaluator() {
+            @Override
+            public String getName() {
+                return "slow";
+            }
+
+            @Override
+            public Map<Direction, Integer> evaluate(TurnContext context, TimeBudget budget) {
+                while (!budget.isOver()) {
+                    Thread.onSpinWait();
+                }
+                throw new CancellationException();
+            }
+        };
+
+        Map<Direction, Integer> scores = new PortfolioRunner(executor)
+                .add(slow, 1)
+                .add(fixed("cheap", 3), 1)
+                .evaluate(TurnContext.of(1, GAME_STATE), TimeBudget.ofNanos(TimeUnit.MILLISECONDS.toNanos(50)));
+
+        assertEquals(3, scores.get(Direction.LEFT));
+    }
+
+    @Test
+    void testCancelledBudgetThrows() {
+        TimeBudget cancelled = TimeBudget.unlimited().withCancellation(() -> true);
+
+        assertThrows(CancellationException.class, () -> new PortfolioRunner(executor)
+                .add(new MonteCarloEvaluator(10, 1000, new Random(1)), 1)
+                .evaluate(TurnContext.of(1, GAME_STATE), cancelled));
+    }
+
+    @Test
+    void testDuelSearchHandsInDeepestIterationBeforeDeadline() {
+        for (long seed = 1; seed <= 3; seed++) {
+            GameState duel = GameStateGenerator.generate(30, 30, 2, 0.1, seed);
+
+            Map<Direction, Integer> scores = new PortfolioRunner(executor)
+                    .add(new AlphaBetaEvaluator(30, 8), 2)
+                    .evaluate(TurnContext.of(1, duel), TimeBudget.ofNanos(TimeUnit.MILLISECONDS.toNanos(400)));
+
+            assertEquals(4, scores.size(), "seed " + seed);
+        }
+    }
+
+    private static MoveEvaluator fixed(String name, int score) {
+        return new MoveEvaluator() {
+            @Override
+            public String getName() {
+                return name;
+            }
+
+            @Override
+            public Map<Direction, Integer> evaluate(TurnContext context, TimeBudget budget) {
+                Map<Direction, Integer> scores = new EnumMap<>(Direction.class);
+                for (Direction direction : Direction.values()) {
+                    scores.put(direction, score);
+                }
+                return scores;
+            }
+        };
+    }
+}
@@ -0,0 +1,83 @@
+package suitebot.strategies;
+
+import org.junit.jupiter.api.Test;
+import suitebot.game.Direction;
+import suitebot.game.GameState;
+import suitebot.game.GameStateFactory;
+import suitebot.game.GameStateGenerator;
+import suitebot.game.Point;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TurnContextTest {
+
+    private static final GameState GAME_STATE = GameStateFactory.createFromString(
+            "*******\n" +
+            "*1    *\n" +
+            "* *** *\n" +
+            "*    2*\n" +
+            "*******");
+
+    @Test
+    void testValidMovesAvoidObstacles() {
+        TurnContext context = TurnContext.of(1, GAME_STATE);
+
+        assertEquals(List.of(Direction.DOWN, Direction.RIGHT), context.getValidMoves());
+        assertSame(context.getValidMoves(), context.getValidMoves());
+        assertEquals(context.cellOf(new Point(2, 1)), context.destination(Direction.RIGHT));
+        assertTrue(context.isObstacle(context.destination(Direction.UP)));
+        assertTrue(context.isBotHead(context.cellOf(new Point(5, 3))));
+        assertFalse(context.isBotHead(context.destination(Direction.RIGHT)));
+    }
+
+    @Test
+    void testRegionStopsAtBotHeadsAndOpenSize() {
+        TurnContext context = TurnContext.of(1, GAME_STATE);
+
+        assertEquals(5, context.getRegionSize(Direction.RIGHT));
+        assertEquals(5, context.getRegionSize(Direction.DOWN));
+        assertEquals(12, context.getOpenSpace(Direction.DOWN)); // the whole ring, searched in between with the same scratch space
+        assertEquals(5, context.getRegionSize(Direction.DOWN));
+
+        TurnContext open = TurnContext.of(1, GameStateGenerator.generate(30, 30, 2, 0.0, 1));
+        assertEquals(TurnContext.OPEN_REGION, open.getRegionSize(open.getValidMoves().get(0)));
+    }
+
+    @Test
+    void testDangerMapCountsTurnsAroundObstacles() {
+        TurnContext context = TurnContext.of(1, GAME_STATE);
+
+        assertEquals(0, context.getEnemyArrival(context.cellOf(new Point(5, 3))));
+        assertEquals(1, context.getEnemyArrival(context.cellOf(new Point(4, 3))));
+        assertEquals(5, context.getEnemyArrival(context.destination(Direction.RIGHT)));
+        assertEquals(5, context.getEnemyArrival(context.destination(Direction.DOWN)));
+        assertEquals(TurnContext.UNREACHABLE, context.getEnemyArrival(context.cellOf(new Point(1, 1))));
+        assertFalse(context.isContested(Direction.RIGHT));
+    }
+
+    @Test
+    void testMoveNextToEnemyHeadIsContested() {
+        TurnContext context = TurnContext.of(1, GameStateFactory.createFromString(
+                "*****\n" +
+                "*1 2*\n" +
+                "*****"));
+
+        assertTrue(context.isContested(Direction.RIGHT));
+        assertEquals(TurnContext.UNREACHABLE, TurnContext.of(1, GameStateFactory.createFromString("1  ")).getEnemyArrival(1));
+    }
+
+    @Test
+    void testOpenSpaceLeavesOutDeadEnds() {
+        GameState gameState = GameStateFactory.createFromString(
+                "******\n" +
+                "*1   *\n" +
+                "******");
+        TurnContext context = TurnContext.of(1, gameState);
+
+        // the corridor with the head, less its two ends
+        assertEquals(2, context.getOpenSpace(Direction.RIGHT));
+        assertEquals(2, context.getOpenSpace(Direction.RIGHT));
+    }
+}
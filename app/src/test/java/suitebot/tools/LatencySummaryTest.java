@@ -0,0 +1,39 @@
+package suitebot.tools;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LatencySummaryTest
+{
+	@Test
+	void percentileNanos_shouldUseNearestRank()
+	{
+		LatencySummary summary = new LatencySummary(new long[] {50, 10, 40, 20, 30, 60, 70, 80, 90, 100});
+
+		assertThat(summary.percentileNanos(50)).isEqualTo(50);
+		assertThat(summary.percentileNanos(99)).isEqualTo(100);
+		assertThat(summary.percentileNanos(0)).isEqualTo(10);
+		assertThat(summary.maxNanos()).isEqualTo(100);
+	}
+
+	@Test
+	void countAbove_shouldCountStrictlyGreaterLatencies()
+	{
+		LatencySummary summary = new LatencySummary(new long[] {5, 10, 10, 11, 11, 20});
+
+		assertThat(summary.countAbove(10)).isEqualTo(3);
+		assertThat(summary.countAbove(4)).isEqualTo(6);
+		assertThat(summary.countAbove(20)).isEqualTo(0);
+	}
+
+	@Test
+	void emptySummary_shouldReportZero()
+	{
+		LatencySummary summary = new LatencySummary(new long[0]);
+
+		assertThat(summary.count()).isZero();
+		assertThat(summary.percentileNanos(99)).isZero();
+		assertThat(summary.countAbove(0)).isZero();
+	}
+}
@@ -0,0 +1,42 @@
+package suitebot.tools;
+
+import org.junit.jupiter.api.Test;
+import suitebot.ai.SampleBotAi;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReplayRunnerTest
+{
+	private static final List<String> REQUESTS = LoadGenerator.syntheticRequests(6, 12, 0.1, 3, 1);
+
+	@Test
+	void replay_withSameSeed_shouldChooseSameMoves() throws Exception
+	{
+		ReplayRunner.Result[] first = new ReplayRunner(new SampleBotAi(), 7, 3).replay(REQUESTS);
+		ReplayRunner.Result[] second = new ReplayRunner(new SampleBotAi(), 7, 1).replay(REQUESTS);
+
+		assertThat(first).hasSize(REQUESTS.size());
+		assertThat(ReplayRunner.diff(second, responses(first))).isEmpty();
+	}
+
+	@Test
+	void diff_shouldReportChangedAndMissingResponses()
+	{
+		ReplayRunner.Result[] results = {
+				new ReplayRunner.Result("UP", 1),
+				new ReplayRunner.Result("LEFT", 1),
+				new ReplayRunner.Result("DOWN", 1)};
+
+		assertThat(ReplayRunner.diff(results, List.of("UP", "RIGHT")))
+				.containsExactly("  #1 RIGHT -> LEFT", "  #2 <missing> -> DOWN");
+	}
+
+	private static List<String> responses(ReplayRunner.Result[] results)
+	{
+		return Arrays.stream(results).map(result -> result.response).collect(Collectors.toList());
+	}
+}